@@ -0,0 +1,132 @@
+package com.bol.games.mancala.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps many clients busy against a running server to compare the request execution modes. Every client
+ * loops over a fresh board, a played hand and a short search, so most of them are waiting on the server at
+ * any time, the way bots and long-poll clients do. Start the server once with
+ * {@code mancala.execution.mode=PLATFORM} and once with {@code VIRTUAL} on a JDK 21 runtime, run this against
+ * each and compare throughput, latency percentiles and refused requests.
+ * <p>
+ * Usage: {@code gradle clientLoadTest -PloadUrl=http://localhost:8888 -PloadClients=10000 -PloadSeconds=60}
+ */
+public class ConcurrentClientsLoadTest {
+    private static final String FRESH_BOARD = "{\"board\":[6,6,6,6,6,6,0,6,6,6,6,6,6,0],\"turnPlayer\":0}";
+    private static final String AFTER_PIT_TWO = "{\"board\":[6,6,0,7,7,7,1,7,7,6,6,6,6,0],\"turnPlayer\":1}";
+    private static final int MAX_MILLIS = 60_000;
+
+    private final HttpClient client;
+    private final URI server;
+    private final long deadline;
+    private final AtomicLongArray latencyMillis = new AtomicLongArray(MAX_MILLIS + 1);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private ConcurrentClientsLoadTest(URI server, long deadline) {
+        this.server = server;
+        this.deadline = deadline;
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI server = URI.create(args.length > 0 ? args[0] : "http://localhost:8888");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        long start = System.nanoTime();
+        ConcurrentClientsLoadTest test = new ConcurrentClientsLoadTest(server, start + TimeUnit.SECONDS.toNanos(seconds));
+
+        CompletableFuture<?>[] running = new CompletableFuture<?>[clients];
+        for (int client = 0; client < clients; client++) {
+            running[client] = new CompletableFuture<>();
+            test.next(0, running[client]);
+        }
+        CompletableFuture.allOf(running).join();
+        test.report(clients, System.nanoTime() - start);
+    }
+
+    /**
+     * Sends the request for {@code step} and, once answered, the next one, until the deadline completes
+     * {@code done}. Chaining by callback keeps every client at one pending future however long it runs.
+     */
+    private void next(int step, CompletableFuture<?> done) {
+        if (System.nanoTime() > deadline) {
+            done.complete(null);
+            return;
+        }
+        HttpRequest request;
+        switch (step % 3) {
+            case 0:
+                request = HttpRequest.newBuilder(server.resolve("/v1/reset")).GET().build();
+                break;
+            case 1:
+                request = post("/v1/play?position=2", FRESH_BOARD);
+                break;
+            default:
+                request = post("/v1/suggest?depth=8&timeMillis=100", AFTER_PIT_TWO);
+        }
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    record(sent, response, failure);
+                    next(step + 1, done);
+                });
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(server.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void record(long sent, HttpResponse<?> response, Throwable failure) {
+        requests.incrementAndGet();
+        if (failure != null || response.statusCode() >= 500 && response.statusCode() != 503) {
+            failed.incrementAndGet();
+            return;
+        }
+        if (response.statusCode() == 503) {
+            refused.incrementAndGet();
+            return;
+        }
+        int millis = (int) Math.min(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent), MAX_MILLIS);
+        latencyMillis.incrementAndGet(millis);
+    }
+
+    private void report(int clients, long elapsedNanos) {
+        long[] counts = new long[latencyMillis.length()];
+        for (int millis = 0; millis < counts.length; millis++) {
+            counts[millis] = latencyMillis.get(millis);
+        }
+        long answered = Arrays.stream(counts).sum();
+        System.out.printf("%d clients, %d requests in %d s: %.0f req/s, %d refused (503), %d failed%n",
+                clients, requests.get(), TimeUnit.NANOSECONDS.toSeconds(elapsedNanos),
+                requests.get() * 1e9 / elapsedNanos, refused.get(), failed.get());
+        System.out.printf("latency ms: p50 %d  p90 %d  p99 %d  p99.9 %d  max %d%n",
+                percentile(counts, answered, 50), percentile(counts, answered, 90), percentile(counts, answered, 99),
+                percentile(counts, answered, 99.9), percentile(counts, answered, 100));
+    }
+
+    private static int percentile(long[] counts, long total, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int millis = 0; millis < counts.length; millis++) {
+            seen += counts[millis];
+            if (seen >= rank) {
+                return millis;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.bol.games.mancala.benchmark;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.search.GameAnalyzer;
+import com.bol.games.mancala.search.TranspositionTable;
+import com.bol.games.mancala.tablebase.EndgameTablebase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to analyse every hand of a seeded random game of {@code hands} hands on the default board, as
+ * {@code /v1/analyze} does, per search pool size. The transposition table is cleared before every
+ * analysis so runs do not reuse each other's subtrees. Nodes searched are reported as an auxiliary counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GameAnalyzerBenchmark {
+
+    @Param({"1", "4"})
+    private int threads;
+
+    @Param({"12"})
+    private int depth;
+
+    @Param({"45"})
+    private int hands;
+
+    private ForkJoinPool pool;
+    private TranspositionTable transpositionTable;
+    private GameAnalyzer gameAnalyzer;
+    private List<PackedPosition> positions;
+    private int[] playedPits;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        transpositionTable = new TranspositionTable(1 << 22);
+        gameAnalyzer = new GameAnalyzer(transpositionTable, EndgameTablebase.empty(), pool);
+        Random random = new Random(42);
+        do {
+            playRandomGame(random);
+        } while (positions.size() < hands);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        transpositionTable.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public long analyzeGame(Nodes counter) throws InterruptedException {
+        long[] nodes = new long[1];
+        gameAnalyzer.analyze(positions, playedPits, depth, TimeUnit.MINUTES.toMillis(1),
+                move -> nodes[0] += move.getNodes());
+        counter.nodes += nodes[0];
+        return nodes[0];
+    }
+
+    private void playRandomGame(Random random) {
+        positions = new ArrayList<>(hands);
+        playedPits = new int[hands];
+        PackedPosition position = PackedPosition.newGame(14, 6);
+        while (positions.size() < hands && !position.isFinished()) {
+            int pit = randomLegalPit(position, random);
+            playedPits[positions.size()] = pit;
+            positions.add(position.copy());
+            position.play(pit);
+        }
+    }
+
+    private static int randomLegalPit(PackedPosition position, Random random) {
+        while (true) {
+            int pit = random.nextInt(position.getBoardSize());
+            if (position.isLegal(pit)) {
+                return pit;
+            }
+        }
+    }
+}
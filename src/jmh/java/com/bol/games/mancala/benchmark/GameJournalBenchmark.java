@@ -0,0 +1,128 @@
+package com.bol.games.mancala.benchmark;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.journal.JournalRecord;
+import com.bol.games.mancala.journal.JournalRecovery;
+import com.bol.games.mancala.journal.MoveJournal;
+import com.bol.games.mancala.rules.MancalaGame;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.session.GameSessionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append throughput of the move journal with and without group-commit fsync, and the time a restart
+ * needs to replay a journal holding {@code games} partially played games.
+ */
+public class GameJournalBenchmark {
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+        @Param({"true", "false"})
+        private boolean fsync;
+
+        private Path directory;
+        private MoveJournal journal;
+        private final String gameId = UUID.randomUUID().toString();
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("journal-append");
+            journal = MoveJournal.open(directory, SEGMENT_BYTES, fsync);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+        @Param({"100000", "1000000"})
+        private int games;
+
+        private Path directory;
+        private MancalaGameEngine engine;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("journal-recovery");
+            engine = new MancalaGameEngine(14, 6);
+            Random random = new Random(42);
+            CompletableFuture<Void> last = CompletableFuture.completedFuture(null);
+            try (MoveJournal journal = MoveJournal.open(directory, SEGMENT_BYTES, false)) {
+                for (int game = 0; game < games; game++) {
+                    String gameId = new UUID(random.nextLong(), random.nextLong()).toString();
+                    journal.append(JournalRecord.created(gameId, game));
+                    MancalaGame mancalaGame = engine.newMancalaGame();
+                    mancalaGame.resetBoard();
+                    int hands = 10 + random.nextInt(50);
+                    for (int hand = 1; hand <= hands && !mancalaGame.isFinished(); hand++) {
+                        int pit = randomLegalPit(mancalaGame, random);
+                        mancalaGame.playHand(pit);
+                        last = journal.append(JournalRecord.played(gameId, hand, pit, game));
+                    }
+                }
+                last.join();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(8)
+    @Fork(1)
+    public void append(AppendState state) {
+        state.journal.append(JournalRecord.played(state.gameId, 1, 2, 0)).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+    public long recover(RecoveryState state) throws IOException {
+        JournalRecovery recovery = new JournalRecovery(state.engine);
+        recovery.recover(state.directory, new GameSessionStore(state.engine, Duration.ofDays(1), Integer.MAX_VALUE));
+        return recovery.getReplayedRecords();
+    }
+
+    private static int randomLegalPit(MancalaGame mancalaGame, Random random) {
+        int firstPit = mancalaGame.nextPlayer() == Constants.PLAYER_ONE_ID ? 0 : mancalaGame.getPlayerTwoFirstPitIndex();
+        int[] board = mancalaGame.getBoard();
+        while (true) {
+            int pit = firstPit + random.nextInt(mancalaGame.getPitsPerPlayer());
+            if (board[pit] > 0) {
+                return pit;
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+}
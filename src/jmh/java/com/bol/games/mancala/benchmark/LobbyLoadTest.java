@@ -0,0 +1,143 @@
+package com.bol.games.mancala.benchmark;
+
+import com.bol.games.mancala.lobby.LobbyBot;
+import com.bol.games.mancala.lobby.LobbyMatch;
+import com.bol.games.mancala.lobby.MatchmakingLobby;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.session.GameSessionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the {@link MatchmakingLobby} in-process at a fixed join rate, spread over the skill buckets and
+ * the joining threads, and reports the pairing latency percentiles, the time spent inside
+ * {@link MatchmakingLobby#join} and how often the joining threads blocked on a monitor. Timed-out players
+ * are swept to the bot as in the server. To see where any contention comes from, add
+ * {@code -XX:StartFlightRecording=filename=lobby.jfr} to the JVM arguments and look at the
+ * {@code jdk.JavaMonitorEnter} and {@code jdk.ThreadPark} events.
+ * <p>
+ * Usage: {@code gradle lobbyLoadTest -PlobbyJoinsPerSecond=10000 -PlobbySeconds=30 -PlobbyThreads=4 -PlobbySkillBuckets=1}
+ */
+public class LobbyLoadTest {
+    private static final int SKILL_BUCKET_WIDTH = 100;
+
+    public static void main(String[] args) throws Exception {
+        int joinsPerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int skillBuckets = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        MancalaGameEngine engine = new MancalaGameEngine(14, 6);
+        GameSessionStore store = new GameSessionStore(engine, Duration.ofMinutes(30), Integer.MAX_VALUE);
+        ExecutorService botExecutor = Executors.newSingleThreadExecutor();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MatchmakingLobby lobby = new MatchmakingLobby(store, new LobbyBot(store, engine, botExecutor), registry,
+                SKILL_BUCKET_WIDTH, Duration.ofSeconds(1));
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor();
+        sweeper.scheduleWithFixedDelay(lobby::matchTimedOutPlayers, 100, 100, TimeUnit.MILLISECONDS);
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean.isThreadContentionMonitoringSupported()) {
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) * threads / joinsPerSecond;
+        int joinsPerThread = joinsPerSecond / threads * seconds;
+        ExecutorService joiners = Executors.newFixedThreadPool(threads);
+        List<Future<JoinerResult>> running = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int thread = 0; thread < threads; thread++) {
+            int offset = thread;
+            running.add(joiners.submit(() -> join(lobby, threadBean, start + offset * intervalNanos / threads,
+                    intervalNanos, joinsPerThread, offset, skillBuckets)));
+        }
+        List<CompletableFuture<LobbyMatch>> matches = new ArrayList<>();
+        long[] joinNanos = new long[joinsPerThread * threads];
+        long blockedCount = 0;
+        long blockedMillis = 0;
+        for (int thread = 0; thread < threads; thread++) {
+            JoinerResult result = running.get(thread).get();
+            matches.addAll(result.matches);
+            System.arraycopy(result.joinNanos, 0, joinNanos, thread * joinsPerThread, joinsPerThread);
+            blockedCount += result.blockedCount;
+            blockedMillis += result.blockedMillis;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        CompletableFuture.allOf(matches.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+        joiners.shutdown();
+        sweeper.shutdownNow();
+        botExecutor.shutdownNow();
+
+        long[] waitedNanos = new long[matches.size()];
+        int botOpponents = 0;
+        for (int match = 0; match < waitedNanos.length; match++) {
+            LobbyMatch lobbyMatch = matches.get(match).join();
+            waitedNanos[match] = lobbyMatch.getWaitedNanos();
+            botOpponents += lobbyMatch.isBotOpponent() ? 1 : 0;
+        }
+        System.out.printf("%d joins on %d threads in %d ms: %.0f joins/s, %d games, %d against the bot%n",
+                matches.size(), threads, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), matches.size() * 1e9 / elapsedNanos,
+                store.size(), botOpponents);
+        System.out.println("pairing latency us: " + percentiles(waitedNanos));
+        System.out.println("join call us:       " + percentiles(joinNanos));
+        System.out.printf("joining threads blocked on monitors: %d times, %d ms%n", blockedCount, blockedMillis);
+    }
+
+    private static JoinerResult join(MatchmakingLobby lobby, ThreadMXBean threadBean, long firstJoin, long intervalNanos,
+                                     int joins, int thread, int skillBuckets) {
+        JoinerResult result = new JoinerResult(joins);
+        ThreadInfo before = threadBean.getThreadInfo(Thread.currentThread().getId());
+        for (int join = 0; join < joins; join++) {
+            long due = firstJoin + join * intervalNanos;
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            int skill = (join + thread) % skillBuckets * SKILL_BUCKET_WIDTH;
+            result.matches.add(lobby.join(skill));
+            result.joinNanos[join] = System.nanoTime() - now;
+        }
+        ThreadInfo after = threadBean.getThreadInfo(Thread.currentThread().getId());
+        result.blockedCount = after.getBlockedCount() - before.getBlockedCount();
+        result.blockedMillis = Math.max(0, after.getBlockedTime() - before.getBlockedTime());
+        return result;
+    }
+
+    private static String percentiles(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("p50 %d  p90 %d  p99 %d  p99.9 %d  max %d",
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 99.9),
+                percentile(sorted, 100));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.max(1, Math.ceil(sorted.length * percentile / 100));
+        return TimeUnit.NANOSECONDS.toMicros(sorted[rank - 1]);
+    }
+
+    private static final class JoinerResult {
+        private final List<CompletableFuture<LobbyMatch>> matches;
+        private final long[] joinNanos;
+        private long blockedCount;
+        private long blockedMillis;
+
+        private JoinerResult(int joins) {
+            this.matches = new ArrayList<>(joins);
+            this.joinNanos = new long[joins];
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bol.games.mancala.benchmark;
+
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.rules.RuleVariant;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MancalaGameEngineBenchmark {
+    private static final int MAX_HANDS = 10_000;
+
+    @Param({"14", "20", "30"})
+    private int boardSize;
+
+    @Param({"4", "6", "12"})
+    private int pebbles;
+
+    @Param({"KALAH", "OWARE"})
+    private RuleVariant variant;
+
+    private MancalaGameEngine engine;
+    private MancalaPosition openingPosition;
+    private int openingPit;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        engine = new MancalaGameEngine(boardSize, pebbles, variant);
+        openingPosition = engine.newGame();
+        openingPit = boardSize / 2 - 2;
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public MancalaPosition singleMove() {
+        return engine.play(openingPosition, openingPit);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public MancalaPosition randomGame() {
+        MancalaPosition position = engine.newGame();
+        for (int hand = 0; hand < MAX_HANDS && !position.isFinished(); hand++) {
+            position = engine.play(position, pickLegalPit(position));
+        }
+        return position;
+    }
+
+    @Benchmark
+    public void invalidMoveRejection(Blackhole blackhole) {
+        try {
+            blackhole.consume(engine.play(openingPosition, boardSize - 1));
+        } catch (RuntimeException ex) {
+            blackhole.consume(ex);
+        }
+    }
+
+    private int pickLegalPit(MancalaPosition position) {
+        int pitsPerPlayer = boardSize / 2 - 1;
+        int firstPit = position.getTurnPlayer() == 0 ? 0 : boardSize / 2;
+        int pit = firstPit + random.nextInt(pitsPerPlayer);
+        while (position.getPebbles(pit) == 0) {
+            pit = pit + 1 == firstPit + pitsPerPlayer ? firstPit : pit + 1;
+        }
+        return pit;
+    }
+}
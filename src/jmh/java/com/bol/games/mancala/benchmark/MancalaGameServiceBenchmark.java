@@ -0,0 +1,72 @@
+package com.bol.games.mancala.benchmark;
+
+import com.bol.games.mancala.metrics.MancalaMetrics;
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.service.MancalaGameServiceImpl;
+import com.bol.games.mancala.service.MoveResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MancalaGameServiceBenchmark {
+
+    @Param({"14", "20", "30"})
+    private int boardSize;
+
+    @Param({"4", "6", "12"})
+    private int pebbles;
+
+    /**
+     * {@code none} is the uninstrumented baseline, {@code prometheus} records into a Prometheus registry.
+     */
+    @Param({"none", "prometheus"})
+    private String metrics;
+
+    /**
+     * {@code on} answers {@link #playHand()} from the move-result cache after the first call.
+     */
+    @Param({"off", "on"})
+    private String cache;
+
+    private MancalaGameServiceImpl mancalaGameService;
+    private MancalaGameState openingState;
+    private int openingPit;
+
+    @Setup
+    public void setUp() {
+        MancalaMetrics mancalaMetrics = metrics.equals("prometheus")
+                ? new MancalaMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT))
+                : MancalaMetrics.disabled();
+        MoveResultCache moveResultCache = cache.equals("on")
+                ? new MoveResultCache(100_000, new SimpleMeterRegistry())
+                : MoveResultCache.disabled();
+        mancalaGameService = new MancalaGameServiceImpl(new MancalaGameEngine(boardSize, pebbles), mancalaMetrics, moveResultCache);
+        openingState = mancalaGameService.resetGame();
+        openingPit = boardSize / 2 - 2;
+    }
+
+    @Benchmark
+    public MancalaGameState resetGameStateMapping() {
+        return mancalaGameService.resetGame();
+    }
+
+    @Benchmark
+    public MancalaGameState playHand() {
+        return mancalaGameService.playHand(openingPit, openingState);
+    }
+
+    @Benchmark
+    public MancalaGameState playHandRejected() {
+        return mancalaGameService.playHand(boardSize - 1, openingState);
+    }
+}
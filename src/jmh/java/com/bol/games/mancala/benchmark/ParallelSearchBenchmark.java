@@ -0,0 +1,69 @@
+package com.bol.games.mancala.benchmark;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.search.ParallelSearch;
+import com.bol.games.mancala.search.SearchResult;
+import com.bol.games.mancala.search.TranspositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to search the default opening to a fixed depth per thread count; the speedup is the 1-thread
+ * score divided by the N-thread score. Nodes searched are reported as an auxiliary counter, which
+ * JMH turns into nodes per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParallelSearchBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    @Param({"LAZY_SMP", "ROOT_SPLIT"})
+    private ParallelSearch.Mode mode;
+
+    @Param({"14"})
+    private int depth;
+
+    private ForkJoinPool pool;
+    private TranspositionTable transpositionTable;
+    private ParallelSearch parallelSearch;
+    private PackedPosition opening;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        transpositionTable = new TranspositionTable(1 << 22);
+        parallelSearch = new ParallelSearch(transpositionTable, pool);
+        opening = PackedPosition.newGame(14, 6);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        transpositionTable.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public SearchResult searchOpening(Nodes counter) {
+        SearchResult result = parallelSearch.search(opening, mode, depth, TimeUnit.MINUTES.toMillis(1));
+        counter.nodes += result.getNodes();
+        return result;
+    }
+}
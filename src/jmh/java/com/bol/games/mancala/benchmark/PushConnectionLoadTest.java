@@ -0,0 +1,116 @@
+package com.bol.games.mancala.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Opens many idle Server-Sent Events subscriptions to one game on a running server, then plays a hand
+ * and reports how long the fan-out to all of them took. A single selector thread drives every connection,
+ * so the client itself stays small; the server's heap is best watched meanwhile with
+ * {@code jcmd <pid> GC.heap_info}. Connections are spread over several loopback addresses to stay clear
+ * of the ephemeral port limit.
+ * <p>
+ * Usage: {@code gradle pushLoadTest -PpushUrl=http://localhost:8888 -PpushConnections=50000}
+ */
+public class PushConnectionLoadTest {
+    private static final int CONNECTIONS_PER_ADDRESS = 20000;
+    private static final Pattern GAME_ID = Pattern.compile("\"gameId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern MOVE_NUMBER = Pattern.compile("\"moveNumber\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        URL server = new URL(args.length > 0 ? args[0] : "http://localhost:8888");
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 50000;
+        String gameId = match(GAME_ID, post(new URL(server, "/v1/games")));
+        byte[] request = ("GET /v1/games/" + gameId + "/updates HTTP/1.1\r\nHost: " + server.getHost()
+                + "\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        int port = server.getPort() > 0 ? server.getPort() : 80;
+
+        try (Selector selector = Selector.open()) {
+            long start = System.nanoTime();
+            for (int connection = 0; connection < connections; connection++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.bind(new InetSocketAddress("127.0.0." + (1 + connection / CONNECTIONS_PER_ADDRESS), 0));
+                channel.connect(new InetSocketAddress(server.getHost(), port));
+                channel.write(ByteBuffer.wrap(request));
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new int[]{-1});
+            }
+            int subscribed = awaitMove(selector, 0, connections);
+            System.out.printf("%d of %d connections subscribed in %d ms%n", subscribed, connections,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            long playedAt = System.nanoTime();
+            post(new URL(server, "/v1/games/" + gameId + "/play?position=2&expectedMove=0"));
+            int notified = awaitMove(selector, 1, connections);
+            System.out.printf("hand pushed to %d connections in %d ms%n", notified,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - playedAt));
+
+            System.out.println("holding the connections idle, press Ctrl+C to stop");
+            while (true) {
+                awaitMove(selector, Integer.MAX_VALUE, connections);
+            }
+        }
+    }
+
+    /**
+     * Reads from all connections until {@code expected} of them have seen {@code moveNumber}, or no data
+     * arrives for ten seconds, and returns how many did.
+     */
+    private static int awaitMove(Selector selector, int moveNumber, int expected) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(16384);
+        int reached = 0;
+        while (reached < expected && selector.select(10000) > 0) {
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                buffer.clear();
+                if (((SocketChannel) key.channel()).read(buffer) < 0) {
+                    key.cancel();
+                    key.channel().close();
+                    continue;
+                }
+                int[] lastMove = (int[]) key.attachment();
+                Matcher matcher = MOVE_NUMBER.matcher(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    int seen = Integer.parseInt(matcher.group(1));
+                    if (lastMove[0] < moveNumber && seen >= moveNumber) {
+                        reached++;
+                    }
+                    lastMove[0] = Math.max(lastMove[0], seen);
+                }
+            }
+        }
+        return reached;
+    }
+
+    private static String post(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        try (InputStream body = connection.getInputStream()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String match(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response " + body);
+        }
+        return matcher.group(1);
+    }
+}
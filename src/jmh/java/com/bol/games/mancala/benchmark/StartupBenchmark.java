@@ -0,0 +1,99 @@
+package com.bol.games.mancala.benchmark;
+
+import com.bol.games.mancala.MancalaGameApplication;
+import com.bol.games.mancala.config.StartupReport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts {@link MancalaGameApplication} in fresh JVMs until it is ready and compares the default
+ * configuration, the {@code lean} profile and the lean profile with the AppCDS archive of
+ * {@code gradle cdsArchive}. Every configuration is started once to warm the file cache and then
+ * {@code runs} times; the report gives the median and best time to ready as measured by the JVM itself, the
+ * wall-clock time until the process exited and the resident memory once ready.
+ * <p>
+ * Usage: {@code gradle startupBenchmark -PstartupRuns=5}
+ */
+public class StartupBenchmark {
+    private static final Pattern REPORT = Pattern.compile(Pattern.quote(StartupReport.PREFIX)
+            + " ready_ms=(\\d+) rss_kb=(-?\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String classpath = args.length > 0 ? args[0] : System.getProperty("java.class.path");
+        Path archive = Path.of(args.length > 1 ? args[1] : "build/cds/mancala.jsa");
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Map<String, List<String>> configurations = new LinkedHashMap<>();
+        configurations.put("default", List.of());
+        configurations.put("lean", List.of("-Dspring.profiles.active=lean"));
+        if (Files.exists(archive)) {
+            configurations.put("lean+cds", List.of("-Dspring.profiles.active=lean", "-XX:SharedArchiveFile=" + archive));
+        } else {
+            System.out.println("No AppCDS archive at " + archive + ", run gradle cdsArchive to include lean+cds");
+        }
+
+        System.out.printf("%-10s%6s%14s%14s%16s%12s%n", "config", "runs", "ready_ms_p50", "ready_ms_min", "process_ms_p50", "rss_mb_p50");
+        for (Map.Entry<String, List<String>> configuration : configurations.entrySet()) {
+            start(classpath, configuration.getValue());
+            long[] readyMillis = new long[runs];
+            long[] processMillis = new long[runs];
+            long[] residentKilobytes = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                long started = System.nanoTime();
+                long[] report = start(classpath, configuration.getValue());
+                processMillis[run] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                readyMillis[run] = report[0];
+                residentKilobytes[run] = report[1];
+            }
+            System.out.printf("%-10s%6d%14d%14d%16d%12d%n", configuration.getKey(), runs, median(readyMillis),
+                    Arrays.stream(readyMillis).min().orElse(0), median(processMillis), median(residentKilobytes) / 1024);
+        }
+    }
+
+    /**
+     * Starts the application once with {@code jvmOptions} and returns its reported time to ready and
+     * resident memory.
+     */
+    private static long[] start(String classpath, List<String> jvmOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classpath, MancalaGameApplication.class.getName(),
+                "--mancala.startup.exit=true", "--server.port=0"));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long[] report = null;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                Matcher matcher = REPORT.matcher(line);
+                if (matcher.find()) {
+                    report = new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))};
+                }
+            }
+        }
+        process.waitFor();
+        if (report == null) {
+            throw new IllegalStateException("The application exited with " + process.exitValue() + " before it was ready");
+        }
+        return report;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,84 @@
+package com.bol.games.mancala.benchmark;
+
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.wire.MancalaBinaryCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes a {@link MancalaGameState} with {@link MancalaBinaryCodec} and with Jackson. The
+ * payload size of each format is reported through the {@link Sizes} counters next to the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"14", "30"})
+    private int boardSize;
+
+    @Param({"false", "true"})
+    private boolean finished;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MancalaGameState state;
+    private byte[] binary;
+    private byte[] json;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long binaryBytes;
+        public long jsonBytes;
+    }
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        int[] board = new int[boardSize];
+        Arrays.fill(board, 6);
+        board[boardSize / 2 - 1] = finished ? 40 : 0;
+        board[boardSize - 1] = finished ? 32 : 0;
+        state = MancalaGameState.builder()
+                .board(board)
+                .turnPlayer(1)
+                .isFinished(finished)
+                .winningPlayer(finished ? 0 : -1)
+                .winningPlayerScore(finished ? 40 : 0)
+                .message(finished ? "Player One won with 40 pebbles" : "")
+                .build();
+        binary = MancalaBinaryCodec.encode(state);
+        json = objectMapper.writeValueAsBytes(state);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(Sizes sizes) {
+        byte[] encoded = MancalaBinaryCodec.encode(state);
+        sizes.binaryBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public byte[] encodeJson(Sizes sizes) throws JsonProcessingException {
+        byte[] encoded = objectMapper.writeValueAsBytes(state);
+        sizes.jsonBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public MancalaGameState decodeBinary() {
+        return MancalaBinaryCodec.decode(binary);
+    }
+
+    @Benchmark
+    public MancalaGameState decodeJson() throws IOException {
+        return objectMapper.readValue(json, MancalaGameState.class);
+    }
+}
@@ -0,0 +1,265 @@
+package com.bol.games.mancala.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays whole games against a running server the way independent clients do: a game starts with
+ * {@code /v1/reset} and then plays random legal hands through {@code /v1/play} until it is finished, with a
+ * configurable share of hands preceded by an illegal one that the server has to refuse. Games arrive
+ * as an open model, Poisson-distributed at a fixed rate whether or not earlier games have been answered,
+ * so a slow server builds up a backlog instead of slowing the generator down. The latency of a game's
+ * first request counts from its scheduled arrival, which keeps the generator's own delays in the numbers.
+ * <p>
+ * The report has the same lines and columns on every run and carries no timestamps, so reports of
+ * different builds can be diffed directly.
+ * <p>
+ * Usage: {@code gradle loadTest -PloadTestUrl=http://localhost:8888 -PloadTestRate=200 -PloadTestSeconds=60
+ * -PloadTestIllegalShare=0.05 -PloadTestSeed=1 -PloadTestReport=build/loadtest/report.txt}
+ */
+public class GameFlowLoadGenerator {
+    static final String FORMAT_VERSION = "mancala-loadtest 1";
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final URI server;
+    private final double illegalShare;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final Endpoint reset = endpoint("reset");
+    private final Endpoint play = endpoint("play");
+    private final Endpoint playIllegal = endpoint("play_illegal");
+    private final AtomicLong flowsFinished = new AtomicLong();
+    private final AtomicLong flowsFailed = new AtomicLong();
+
+    GameFlowLoadGenerator(URI server, double illegalShare) {
+        this.server = server;
+        this.illegalShare = illegalShare;
+        this.client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI server = URI.create(args.length > 0 ? args[0] : "http://localhost:8888");
+        double rate = args.length > 1 ? Double.parseDouble(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        double illegalShare = args.length > 3 ? Double.parseDouble(args[3]) : 0.05;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+        Path report = args.length > 5 && !args[5].equals("-") ? Path.of(args[5]) : null;
+
+        GameFlowLoadGenerator generator = new GameFlowLoadGenerator(server, illegalShare);
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> flows = generator.run(rate, TimeUnit.SECONDS.toNanos(seconds), seed, start);
+        int incomplete = 0;
+        try {
+            CompletableFuture.allOf(flows.toArray(new CompletableFuture<?>[0])).get(DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException ex) {
+            incomplete = (int) flows.stream().filter(flow -> !flow.isDone()).count();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        String result = generator.report(server, rate, seconds, seed, flows.size(), incomplete, elapsedNanos);
+        System.out.print(result);
+        if (report != null) {
+            if (report.getParent() != null) {
+                Files.createDirectories(report.getParent());
+            }
+            Files.writeString(report, result, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Starts games at exponentially distributed intervals averaging {@code 1 / rate} seconds until
+     * {@code durationNanos} have passed, and returns them without waiting for them to finish.
+     */
+    List<CompletableFuture<Void>> run(double rate, long durationNanos, long seed, long start) {
+        SplittableRandom arrivals = new SplittableRandom(seed);
+        List<CompletableFuture<Void>> flows = new ArrayList<>();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long scheduled = start;
+        while (true) {
+            scheduled += (long) (-Math.log(1 - arrivals.nextDouble()) * meanIntervalNanos);
+            if (scheduled - start >= durationNanos) {
+                return flows;
+            }
+            long now;
+            while ((now = System.nanoTime()) < scheduled) {
+                LockSupport.parkNanos(scheduled - now);
+            }
+            CompletableFuture<Void> flow = new CompletableFuture<>();
+            flows.add(flow);
+            startGame(scheduled, arrivals.split(), flow);
+        }
+    }
+
+    private void startGame(long scheduled, SplittableRandom random, CompletableFuture<Void> flow) {
+        send(reset, HttpRequest.newBuilder(server.resolve("/v1/reset")).timeout(REQUEST_TIMEOUT).GET().build(), scheduled)
+                .whenComplete((state, failure) -> next(state, failure, random, flow));
+    }
+
+    /**
+     * Plays the next hand of a game whose last answer was {@code state}, or ends the game.
+     */
+    private void next(JsonNode state, Throwable failure, SplittableRandom random, CompletableFuture<Void> flow) {
+        if (failure != null) {
+            flowsFailed.incrementAndGet();
+            flow.complete(null);
+            return;
+        }
+        if (state.path("finished").asBoolean()) {
+            flowsFinished.incrementAndGet();
+            flow.complete(null);
+            return;
+        }
+        int[] board = objectMapper.convertValue(state.get("board"), int[].class);
+        int turnPlayer = state.path("turnPlayer").asInt();
+        String body = state.toString();
+        if (random.nextDouble() < illegalShare) {
+            playHand(playIllegal, illegalPit(board, turnPlayer, random), body)
+                    .thenAccept(refused -> {
+                        if (refused.path("rejection").isMissingNode() || refused.path("rejection").isNull()) {
+                            playIllegal.errors.incrementAndGet();
+                        }
+                    })
+                    .thenCompose(ignored -> playHand(play, legalPit(board, turnPlayer, random), body))
+                    .whenComplete((played, playFailure) -> next(played, playFailure, random, flow));
+        } else {
+            playHand(play, legalPit(board, turnPlayer, random), body)
+                    .whenComplete((played, playFailure) -> next(played, playFailure, random, flow));
+        }
+    }
+
+    private CompletableFuture<JsonNode> playHand(Endpoint endpoint, int pit, String body) {
+        HttpRequest request = HttpRequest.newBuilder(server.resolve("/v1/play?position=" + pit))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return send(endpoint, request, System.nanoTime());
+    }
+
+    private CompletableFuture<JsonNode> send(Endpoint endpoint, HttpRequest request, long since) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - since);
+                    endpoint.latencyMicros.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+                    if (failure != null || response.statusCode() != 200) {
+                        endpoint.errors.incrementAndGet();
+                        throw new IllegalStateException(failure != null ? failure.toString() : "HTTP " + response.statusCode(), failure);
+                    }
+                    try {
+                        return objectMapper.readTree(response.body());
+                    } catch (IOException ex) {
+                        endpoint.errors.incrementAndGet();
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+
+    /**
+     * A random non-empty pit of the player to move, on the standard layout of two rows of pits each
+     * followed by the player's Mancala.
+     */
+    static int legalPit(int[] board, int turnPlayer, SplittableRandom random) {
+        int pits = board.length / 2 - 1;
+        int first = turnPlayer * (pits + 1);
+        int candidates = 0;
+        for (int pit = first; pit < first + pits; pit++) {
+            if (board[pit] > 0) {
+                candidates++;
+            }
+        }
+        int chosen = random.nextInt(candidates);
+        for (int pit = first; ; pit++) {
+            if (board[pit] > 0 && chosen-- == 0) {
+                return pit;
+            }
+        }
+    }
+
+    /**
+     * An empty pit of the player to move when there is one, otherwise a pit of the opponent.
+     */
+    static int illegalPit(int[] board, int turnPlayer, SplittableRandom random) {
+        int pits = board.length / 2 - 1;
+        int first = turnPlayer * (pits + 1);
+        for (int pit = first; pit < first + pits; pit++) {
+            if (board[pit] == 0) {
+                return pit;
+            }
+        }
+        return (first + pits + 1 + random.nextInt(pits)) % board.length;
+    }
+
+    String report(URI server, double rate, int seconds, long seed, long flowsStarted, int incomplete, long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        Formatter out = new Formatter(new StringBuilder(), Locale.ROOT);
+        out.format("%s%n", FORMAT_VERSION);
+        out.format("%-16s%s%n", "target", server);
+        out.format("%-16s%.1f games/s%n", "arrival_rate", rate);
+        out.format("%-16s%d s%n", "duration", seconds);
+        out.format("%-16s%.3f%n", "illegal_share", illegalShare);
+        out.format("%-16s%d%n", "seed", seed);
+        out.format("%-16sstarted=%d finished=%d failed=%d incomplete=%d%n", "games",
+                flowsStarted, flowsFinished.get(), flowsFailed.get(), incomplete);
+        out.format("%-14s%10s%8s%12s%10s%10s%10s%10s%n",
+                "endpoint", "requests", "errors", "req_per_s", "p50_us", "p99_us", "p999_us", "max_us");
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long allErrors = 0;
+        for (Endpoint endpoint : endpoints) {
+            Histogram histogram = endpoint.latencyMicros.getIntervalHistogram();
+            all.add(histogram);
+            allErrors += endpoint.errors.get();
+            printRow(out, endpoint.name, histogram, endpoint.errors.get(), elapsedSeconds);
+        }
+        printRow(out, "all", all, allErrors, elapsedSeconds);
+        return out.toString();
+    }
+
+    private static void printRow(Formatter out, String name, Histogram histogram, long errors, double elapsedSeconds) {
+        out.format("%-14s%10d%8d%12.1f%10d%10d%10d%10d%n", name, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() / elapsedSeconds, histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+
+    private Endpoint endpoint(String name) {
+        Endpoint endpoint = new Endpoint(name);
+        endpoints.add(endpoint);
+        return endpoint;
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final Recorder latencyMicros = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+
+        private Endpoint(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bol.games.mancala.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ComputeCapacityExceededException extends RuntimeException {
+    public ComputeCapacityExceededException(int queue) {
+        super("All search threads are busy and " + queue + " searches are already waiting");
+    }
+}
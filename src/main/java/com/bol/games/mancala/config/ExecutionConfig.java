@@ -0,0 +1,54 @@
+package com.bol.games.mancala.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request execution. With {@code mancala.execution.mode=VIRTUAL} Tomcat runs every request on its own
+ * virtual thread instead of its bounded worker pool. Virtual threads need a JDK 21 runtime while the build
+ * keeps targeting Java 11 for Spring Boot 2.6, so the executor is looked up reflectively and startup fails
+ * with the reason on an older runtime. In both modes CPU-heavy search runs on the bounded compute executor,
+ * which refuses work once its queue is full rather than letting searches pile up behind the cores.
+ */
+@Configuration
+public class ExecutionConfig {
+    static final int VIRTUAL_THREADS_RELEASE = 21;
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService computeExecutor(@Value("${mancala.execution.compute-threads:0}") int threads,
+                                           @Value("${mancala.execution.compute-queue:256}") int queue) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queue),
+                Executors.defaultThreadFactory(), (task, executor) -> {
+                    throw new ComputeCapacityExceededException(queue);
+                });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mancala.execution.mode", havingValue = "VIRTUAL")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequests() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (Runtime.version().feature() < VIRTUAL_THREADS_RELEASE) {
+            throw new IllegalStateException("mancala.execution.mode=VIRTUAL needs a Java " + VIRTUAL_THREADS_RELEASE
+                    + " runtime, this is " + Runtime.version());
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot create the virtual thread executor", ex);
+        }
+    }
+}
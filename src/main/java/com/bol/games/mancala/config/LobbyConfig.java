@@ -0,0 +1,16 @@
+package com.bol.games.mancala.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class LobbyConfig {
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService botExecutor(@Value("${mancala.lobby.bot-threads:2}") int threads) {
+        return Executors.newFixedThreadPool(threads);
+    }
+}
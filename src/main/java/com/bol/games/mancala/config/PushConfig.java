@@ -0,0 +1,26 @@
+package com.bol.games.mancala.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PushConfig {
+    /**
+     * Sends block while a client's connection is full, for at most the container's write timeout
+     * ({@code server.tomcat.connection-timeout}). The pool therefore allows many more threads than it
+     * normally needs, so a few stalled clients cannot hold up everyone else's pushes, and lets idle
+     * threads go.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService pushExecutor(@Value("${mancala.push.threads:32}") int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bol.games.mancala.config;
+
+import com.bol.games.mancala.search.TranspositionTable;
+import com.bol.games.mancala.tablebase.EndgameTablebase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class SearchConfig {
+    @Bean
+    public TranspositionTable transpositionTable(@Value("${mancala.search.transposition-table-entries:1048576}") int entries) {
+        return new TranspositionTable(entries);
+    }
+
+    @Bean(destroyMethod = "close")
+    public EndgameTablebase endgameTablebase(@Value("${mancala.tablebase.path:}") String path) throws IOException {
+        return path.isBlank() ? EndgameTablebase.empty() : EndgameTablebase.open(Path.of(path));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool searchPool(@Value("${mancala.search.threads:0}") int threads) {
+        return new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,24 @@
+package com.bol.games.mancala.config;
+
+import com.bol.games.mancala.lobby.MatchmakingLobby;
+import com.bol.games.mancala.session.GameSessionJournal;
+import com.bol.games.mancala.session.GameSessionListener;
+import com.bol.games.mancala.session.GameSessionStore;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With {@code spring.main.lazy-initialization=true}, as in the {@code lean} profile, beans are only created
+ * on first use. That holds back the search tables, caches and executors until a request needs them, but
+ * the session store, its journal and its listeners have to exist from the start: they sweep idle games,
+ * recover the journal and must see the very first hand, and nothing else would ever ask for them.
+ */
+@Configuration
+public class StartupConfig {
+    @Bean
+    public static LazyInitializationExcludeFilter eagerGameSessions() {
+        return LazyInitializationExcludeFilter.forBeanTypes(GameSessionStore.class, GameSessionJournal.class,
+                GameSessionListener.class, MatchmakingLobby.class, StartupReport.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.bol.games.mancala.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Logs how long the JVM took to become ready to serve and how much memory it holds at that point. With
+ * {@code mancala.startup.exit=true} the application stops right after, which is how the startup benchmark
+ * and the AppCDS archive task start it.
+ */
+@Component
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+    public static final String PREFIX = "mancala.startup";
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+    private final boolean exit;
+
+    public StartupReport(@Value("${mancala.startup.exit:false}") boolean exit) {
+        this.exit = exit;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("{} ready_ms={} rss_kb={} heap_kb={} classes={}", PREFIX, readyMillis, residentKilobytes(),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1024,
+                ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+        if (exit) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    /**
+     * Resident set size from {@code /proc}, or -1 where there is none.
+     */
+    static long residentKilobytes() {
+        try {
+            List<String> status = Files.readAllLines(PROC_STATUS);
+            for (String line : status) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Not on Linux; the heap figure is all there is.
+        }
+        return -1;
+    }
+}
@@ -1,25 +1,63 @@
 package com.bol.games.mancala.controller;
 
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaBatchResult;
+import com.bol.games.mancala.model.MancalaGameAnalysis;
 import com.bol.games.mancala.model.MancalaGameState;
 import com.bol.games.mancala.service.interfaces.MancalaGameService;
+import com.bol.games.mancala.service.interfaces.MancalaGameSessionService;
+import com.bol.games.mancala.service.interfaces.MancalaSuggestionService;
+import com.bol.games.mancala.wire.MancalaBinaryMessageConverter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @CrossOrigin
 @RestController
 @RequestMapping("/v1")
 public class MancalaGameController {
 
+    /**
+     * How long a streamed analysis that has started computing waits for its response body. Spring hands the
+     * body over as soon as the handler returns, so this only frees the compute thread when the request died
+     * before that.
+     */
+    private static final long STREAM_HANDOFF_SECONDS = 30;
+
     private MancalaGameService mancalaGameService;
+    private MancalaSuggestionService mancalaSuggestionService;
+    private MancalaGameSessionService mancalaGameSessionService;
+    private ObjectMapper objectMapper;
+    private ExecutorService computeExecutor;
 
-    public MancalaGameController(MancalaGameService mancalaGameService) {
+    public MancalaGameController(MancalaGameService mancalaGameService, MancalaSuggestionService mancalaSuggestionService,
+                                 MancalaGameSessionService mancalaGameSessionService, ObjectMapper objectMapper,
+                                 @Qualifier("computeExecutor") ExecutorService computeExecutor) {
         this.mancalaGameService = mancalaGameService;
+        this.mancalaSuggestionService = mancalaSuggestionService;
+        this.mancalaGameSessionService = mancalaGameSessionService;
+        this.objectMapper = objectMapper;
+        this.computeExecutor = computeExecutor;
     }
 
-    @PostMapping(value = "/play", produces = "application/json")
+    @PostMapping(value = "/play", produces = {"application/json", MancalaBinaryMessageConverter.MEDIA_TYPE_VALUE})
     @Operation(summary = "Action for playing the next hand.",
             description = "Any user can play the next hand by providing the start position.")
     public ResponseEntity<?> playHand(@Parameter(description = "Starting position for next hand", required = true) @RequestParam int position
@@ -27,11 +65,193 @@ public class MancalaGameController {
         return new ResponseEntity<>(mancalaGameService.playHand(position, gameState), HttpStatus.OK);
     }
 
-    @GetMapping(value = "/reset", produces = "application/json")
+    @PostMapping(value = "/play/batch", produces = "application/json")
+    @Operation(summary = "Plays a sequence of hands.",
+            description = "Plays the start positions in order, from a new game when no state is given, and returns the final state. Stops at the first illegal hand and reports its index.")
+    public ResponseEntity<?> playBatch(@Parameter(description = "Also return the state after every hand") @RequestParam(defaultValue = "false") boolean intermediateStates
+            , @RequestBody MancalaBatchRequest batchRequest) {
+        return new ResponseEntity<>(mancalaGameService.playBatch(batchRequest, intermediateStates), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/play/batch/stream", produces = "application/json")
+    @Operation(summary = "Plays a sequence of hands, streaming the state after every hand.",
+            description = "Same result as /play/batch with intermediate states, but each state is written out as soon as it is played.")
+    public ResponseEntity<StreamingResponseBody> streamBatch(@RequestBody MancalaBatchRequest batchRequest) {
+        return new ResponseEntity<>(outputStream -> writeBatch(batchRequest, objectMapper.getFactory().createGenerator(outputStream)), HttpStatus.OK);
+    }
+
+    private void writeBatch(MancalaBatchRequest batchRequest, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("intermediateStates");
+        MancalaBatchResult result;
+        try {
+            result = mancalaGameService.playBatch(batchRequest, state -> {
+                try {
+                    generator.writeObject(state);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        generator.writeEndArray();
+        generator.writeObjectField("gameState", result.getGameState());
+        generator.writeNumberField("appliedMoves", result.getAppliedMoves());
+        generator.writeObjectField("illegalMoveIndex", result.getIllegalMoveIndex());
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    @PostMapping(value = "/moves", produces = "application/json")
+    @Operation(summary = "Lists the legal hands with their results.",
+            description = "Returns every start position the player to move may play, each with the resulting state and whether it captures or earns an extra turn. Empty when the game is finished or the board is missing or has the wrong number of pits.")
+    public ResponseEntity<?> legalMoves(@RequestBody MancalaGameState gameState) {
+        return new ResponseEntity<>(mancalaGameService.legalMoves(gameState), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/suggest", produces = "application/json")
+    @Operation(summary = "Suggests the best next hand.",
+            description = "Searches the given game state and returns the best start position, its evaluation and the expected line of play. Answers 503 when all search threads are busy.")
+    public CompletableFuture<ResponseEntity<?>> suggestHand(@Parameter(description = "Maximum search depth in hands") @RequestParam(required = false) Integer depth
+            , @Parameter(description = "Maximum search time in milliseconds") @RequestParam(required = false) Long timeMillis
+            , @RequestBody MancalaGameState gameState) {
+        return CompletableFuture.supplyAsync(
+                () -> new ResponseEntity<>(mancalaSuggestionService.suggestMove(gameState, depth, timeMillis), HttpStatus.OK),
+                computeExecutor);
+    }
+
+    @PostMapping(value = "/evaluate", produces = "application/json")
+    @Operation(summary = "Evaluates a game state.",
+            description = "Returns the final pebble difference expected for the player to move, exact when the position is in the endgame tablebase.")
+    public CompletableFuture<ResponseEntity<?>> evaluate(@RequestBody MancalaGameState gameState) {
+        return CompletableFuture.supplyAsync(
+                () -> new ResponseEntity<>(mancalaSuggestionService.evaluatePosition(gameState), HttpStatus.OK),
+                computeExecutor);
+    }
+
+    @PostMapping(value = "/analyze", produces = "application/json")
+    @Operation(summary = "Analyses a played game.",
+            description = "Replays the start positions and searches every position to a fixed depth, in parallel. Returns per hand the best start position, the evaluation lost by the hand played and whether it was a blunder.")
+    public CompletableFuture<ResponseEntity<?>> analyzeGame(@Parameter(description = "Search depth in hands") @RequestParam(required = false) Integer depth
+            , @RequestBody MancalaBatchRequest game) {
+        return CompletableFuture.supplyAsync(
+                () -> new ResponseEntity<>(mancalaSuggestionService.analyzeGame(game, depth), HttpStatus.OK),
+                computeExecutor);
+    }
+
+    @PostMapping(value = "/analyze/stream", produces = "application/json")
+    @Operation(summary = "Analyses a played game, streaming every hand as soon as it is searched.",
+            description = "Same analysis as /analyze, but the hands are written out in the order their searches finish. Answers 503 when all search threads are busy.")
+    public ResponseEntity<StreamingResponseBody> streamAnalysis(@Parameter(description = "Search depth in hands") @RequestParam(required = false) Integer depth
+            , @RequestBody MancalaBatchRequest game) {
+        CompletableFuture<OutputStream> body = new CompletableFuture<>();
+        Future<?> analysis = computeExecutor.submit(() -> {
+            writeAnalysis(game, depth, objectMapper.getFactory().createGenerator(body.get(STREAM_HANDOFF_SECONDS, TimeUnit.SECONDS)));
+            return null;
+        });
+        return new ResponseEntity<>(outputStream -> {
+            body.complete(outputStream);
+            awaitAnalysis(analysis);
+        }, HttpStatus.OK);
+    }
+
+    /**
+     * Holds the response open while the compute executor writes the analysis into it.
+     */
+    private static void awaitAnalysis(Future<?> analysis) throws IOException {
+        try {
+            analysis.get();
+        } catch (InterruptedException ex) {
+            analysis.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming the analysis");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Streaming the analysis failed", ex.getCause());
+        }
+    }
+
+    private void writeAnalysis(MancalaBatchRequest game, Integer depth, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("moves");
+        MancalaGameAnalysis analysis;
+        try {
+            analysis = mancalaSuggestionService.analyzeGame(game, depth, move -> {
+                try {
+                    generator.writeObject(move);
+                    generator.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("analyzedMoves", analysis.getAnalyzedMoves());
+        generator.writeObjectField("illegalMoveIndex", analysis.getIllegalMoveIndex());
+        generator.writeNumberField("depth", analysis.getDepth());
+        generator.writeNumberField("nodes", analysis.getNodes());
+        generator.writeNumberField("elapsedMillis", analysis.getElapsedMillis());
+        generator.writeStringField("message", analysis.getMessage());
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    @GetMapping(value = "/reset", produces = {"application/json", MancalaBinaryMessageConverter.MEDIA_TYPE_VALUE})
     @Operation(summary = "Resets the game.",
             description = "Resets the game to the original configuration.")
     public ResponseEntity<?> resetBoard() {
         return new ResponseEntity<>(mancalaGameService.resetGame(), HttpStatus.OK);
     }
 
+    @PostMapping(value = "/games", produces = "application/json")
+    @Operation(summary = "Starts a server-side game.",
+            description = "Creates a new game in the original configuration and returns its id and first state.")
+    public ResponseEntity<?> createGame() {
+        return new ResponseEntity<>(mancalaGameSessionService.createGame(), HttpStatus.CREATED);
+    }
+
+    @GetMapping(value = "/games/{gameId}", produces = "application/json")
+    @Operation(summary = "Returns a server-side game.",
+            description = "Returns the current state and move number of the game.")
+    public ResponseEntity<?> getGame(@PathVariable String gameId) {
+        return new ResponseEntity<>(mancalaGameSessionService.getGame(gameId), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/games/{gameId}/play", produces = "application/json")
+    @Operation(summary = "Plays the next hand of a server-side game.",
+            description = "Plays the hand only if the game is still at the expected move number, otherwise answers 409.")
+    public ResponseEntity<?> playGameHand(@PathVariable String gameId
+            , @Parameter(description = "Starting position for next hand", required = true) @RequestParam int position
+            , @Parameter(description = "Move number the client last saw", required = true) @RequestParam int expectedMove) {
+        return new ResponseEntity<>(mancalaGameSessionService.playHand(gameId, position, expectedMove), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/games/{gameId}/updates", produces = "text/event-stream")
+    @Operation(summary = "Subscribes to a server-side game.",
+            description = "Server-Sent Events stream with a 'move' event carrying the game after every accepted hand, starting with the current one.")
+    public SseEmitter subscribe(@PathVariable String gameId) {
+        return mancalaGameSessionService.subscribe(gameId);
+    }
+
+    @PostMapping(value = "/lobby", produces = "application/json")
+    @Operation(summary = "Waits for an opponent.",
+            description = "Pairs the caller with the next player of the same skill bucket in a new server-side game. Players still waiting after the lobby timeout play the server's bot instead, which always plays player two.")
+    public CompletableFuture<ResponseEntity<?>> joinLobby(@Parameter(description = "Skill rating used to pick opponents") @RequestParam(required = false) Integer skill) {
+        return mancalaGameSessionService.joinLobby(skill).thenApply(match -> new ResponseEntity<>(match, HttpStatus.CREATED));
+    }
+
+    @DeleteMapping(value = "/games/{gameId}")
+    @Operation(summary = "Abandons a server-side game.")
+    public ResponseEntity<?> abandonGame(@PathVariable String gameId) {
+        mancalaGameSessionService.abandonGame(gameId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
@@ -0,0 +1,97 @@
+package com.bol.games.mancala.journal;
+
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.RuleVariant;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionJournal;
+import com.bol.games.mancala.session.GameSessionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Makes the server-side games survive restarts. On startup the games are recovered from the newest
+ * snapshot and the journal behind it; afterwards every change of the {@link GameSessionStore} is appended
+ * to the {@link MoveJournal} as a step of that change. With {@code fsync} on, a hand is only acknowledged
+ * and pushed once its record is on disk, and a failed write fails the hand. Snapshots are taken
+ * periodically and make the segments before them obsolete.
+ */
+@Component
+@ConditionalOnProperty(name = "mancala.journal.enabled", havingValue = "true")
+public class GameJournal implements GameSessionJournal, Closeable {
+    private final Path directory;
+    private final boolean fsync;
+    private final int boardSize;
+    private final RuleVariant variant;
+    private final GameSessionStore gameSessionStore;
+    private final MoveJournal moveJournal;
+
+    public GameJournal(GameSessionStore gameSessionStore,
+                       MancalaGameEngine mancalaGameEngine,
+                       @Value("${mancala.journal.directory:journal}") String directory,
+                       @Value("${mancala.journal.segment-bytes:67108864}") int segmentBytes,
+                       @Value("${mancala.journal.fsync:true}") boolean fsync) throws IOException {
+        if (mancalaGameEngine.getBoardSize() > JournalRecord.MAX_PITS) {
+            throw new IllegalArgumentException("The journal records boards of up to " + JournalRecord.MAX_PITS + " pits");
+        }
+        this.directory = Path.of(directory);
+        this.fsync = fsync;
+        this.boardSize = mancalaGameEngine.getBoardSize();
+        this.variant = mancalaGameEngine.getVariant();
+        this.gameSessionStore = gameSessionStore;
+        this.moveJournal = MoveJournal.open(this.directory, segmentBytes, fsync);
+        new JournalRecovery(mancalaGameEngine).recover(this.directory, gameSessionStore);
+        gameSessionStore.setJournal(this);
+    }
+
+    @Override
+    public void created(GameSession session) {
+        append(session.getGameId(), JournalRecord.created(session.getGameId(), session.getLastActivityMillis()));
+    }
+
+    @Override
+    public void played(GameSession session, int pit) {
+        append(session.getGameId(), JournalRecord.played(session.getGameId(), session.getMoveNumber(), pit,
+                session.getLastActivityMillis()));
+    }
+
+    @Override
+    public void removed(GameSession session, long timeMillis) {
+        append(session.getGameId(), JournalRecord.removed(session.getGameId(), timeMillis));
+    }
+
+    private void append(String gameId, JournalRecord record) {
+        CompletableFuture<Void> written = moveJournal.append(record);
+        if (fsync) {
+            try {
+                written.join();
+            } catch (CompletionException ex) {
+                throw new JournalWriteException(gameId, ex.getCause());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mancala.journal.snapshot-interval:PT5M}")
+    public void snapshot() {
+        long journalOffset = moveJournal.getWrittenOffset();
+        try {
+            JournalSnapshot.write(directory, journalOffset, boardSize, variant, gameSessionStore);
+            moveJournal.deleteSegmentsBefore(journalOffset);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        moveJournal.close();
+    }
+}
@@ -0,0 +1,53 @@
+package com.bol.games.mancala.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential scan over the segments of a {@link MoveJournal}. Records are decoded straight from the mapped
+ * segments and handed to the visitor as primitives, so a replay allocates nothing per record.
+ */
+final class JournalReader {
+
+    interface RecordVisitor {
+        void visit(byte type, long gameIdHigh, long gameIdLow, int moveNumber, int pit, long timeMillis);
+    }
+
+    private JournalReader() {
+    }
+
+    /**
+     * Visits every complete record from {@code fromOffset} on and returns the offset just after the last one.
+     */
+    static long replay(Path directory, long fromOffset, RecordVisitor visitor) throws IOException {
+        long end = fromOffset;
+        for (Path segmentFile : MoveJournal.segments(directory)) {
+            long base = MoveJournal.baseOffset(segmentFile);
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (base + size <= fromOffset) {
+                    continue;
+                }
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                int position = (int) Math.max(0, fromOffset - base);
+                while (position + JournalRecord.BYTES <= size && JournalRecord.isValid(segment, position)) {
+                    visitor.visit(JournalRecord.type(segment, position),
+                            JournalRecord.gameIdHigh(segment, position),
+                            JournalRecord.gameIdLow(segment, position),
+                            JournalRecord.moveNumber(segment, position),
+                            JournalRecord.pit(segment, position),
+                            JournalRecord.timeMillis(segment, position));
+                    position += JournalRecord.BYTES;
+                }
+                end = base + position;
+                if (position + JournalRecord.BYTES <= size) {
+                    break;
+                }
+            }
+        }
+        return end;
+    }
+}
@@ -0,0 +1,141 @@
+package com.bol.games.mancala.journal;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * One 32-byte journal entry: {@code type:2bits pit:14bits time:6 checksum:4 moveNumber:4 gameIdHigh:8
+ * gameIdLow:8}. The checksum covers every other field, so a torn or never-written tail reads back as the end
+ * of the journal instead of as a bogus move. Six bytes of epoch milliseconds last until the year 10889, which
+ * leaves room for the full {@code int} move number of games that go round in circles, and the three types
+ * share their two bytes with a pit of boards up to {@link #MAX_PITS} pits.
+ */
+public final class JournalRecord {
+    public static final int BYTES = 32;
+
+    public static final byte CREATED = 1;
+    public static final byte PLAYED = 2;
+    public static final byte REMOVED = 3;
+
+    public static final int MAX_PITS = 1 << 14;
+
+    private static final int PIT_BITS = 14;
+    private static final int PIT_MASK = MAX_PITS - 1;
+    private static final long TIME_MASK = (1L << 48) - 1;
+
+    private final byte type;
+    private final long gameIdHigh;
+    private final long gameIdLow;
+    private final int moveNumber;
+    private final int pit;
+    private final long timeMillis;
+
+    public JournalRecord(byte type, long gameIdHigh, long gameIdLow, int moveNumber, int pit, long timeMillis) {
+        if (pit < 0 || pit >= MAX_PITS) {
+            throw new IllegalArgumentException("Journal records hold pits from 0 to " + (MAX_PITS - 1) + ", not " + pit);
+        }
+        this.type = type;
+        this.gameIdHigh = gameIdHigh;
+        this.gameIdLow = gameIdLow;
+        this.moveNumber = moveNumber;
+        this.pit = pit;
+        this.timeMillis = timeMillis & TIME_MASK;
+    }
+
+    public static JournalRecord created(String gameId, long timeMillis) {
+        UUID uuid = UUID.fromString(gameId);
+        return new JournalRecord(CREATED, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), 0, 0, timeMillis);
+    }
+
+    public static JournalRecord played(String gameId, int moveNumber, int pit, long timeMillis) {
+        UUID uuid = UUID.fromString(gameId);
+        return new JournalRecord(PLAYED, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), moveNumber, pit, timeMillis);
+    }
+
+    public static JournalRecord removed(String gameId, long timeMillis) {
+        UUID uuid = UUID.fromString(gameId);
+        return new JournalRecord(REMOVED, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), 0, 0, timeMillis);
+    }
+
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putShort(offset, (short) (type << PIT_BITS | pit));
+        buffer.putShort(offset + 2, (short) (timeMillis >>> 32));
+        buffer.putInt(offset + 4, (int) timeMillis);
+        buffer.putInt(offset + 8, checksum(type, pit, moveNumber, gameIdHigh, gameIdLow, timeMillis));
+        buffer.putInt(offset + 12, moveNumber);
+        buffer.putLong(offset + 16, gameIdHigh);
+        buffer.putLong(offset + 24, gameIdLow);
+    }
+
+    /**
+     * Returns whether the record at {@code offset} was completely written. Readers that only need the
+     * fields decode them straight from the buffer with the static accessors below and skip the allocation.
+     */
+    static boolean isValid(ByteBuffer buffer, int offset) {
+        byte type = type(buffer, offset);
+        return type >= CREATED && type <= REMOVED
+                && buffer.getInt(offset + 8) == checksum(type, pit(buffer, offset), moveNumber(buffer, offset),
+                gameIdHigh(buffer, offset), gameIdLow(buffer, offset), timeMillis(buffer, offset));
+    }
+
+    static byte type(ByteBuffer buffer, int offset) {
+        return (byte) (Short.toUnsignedInt(buffer.getShort(offset)) >>> PIT_BITS);
+    }
+
+    static int pit(ByteBuffer buffer, int offset) {
+        return buffer.getShort(offset) & PIT_MASK;
+    }
+
+    static int moveNumber(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + 12);
+    }
+
+    static long gameIdHigh(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 16);
+    }
+
+    static long gameIdLow(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 24);
+    }
+
+    static long timeMillis(ByteBuffer buffer, int offset) {
+        return (long) Short.toUnsignedInt(buffer.getShort(offset + 2)) << 32 | Integer.toUnsignedLong(buffer.getInt(offset + 4));
+    }
+
+    private static int checksum(byte type, int pit, int moveNumber, long gameIdHigh, long gameIdLow, long timeMillis) {
+        long hash = mix(gameIdHigh ^ 0x9E3779B97F4A7C15L);
+        hash = mix(hash ^ gameIdLow);
+        hash = mix(hash ^ timeMillis);
+        hash = mix(hash ^ ((long) type << 40 | (long) pit << 32 | Integer.toUnsignedLong(moveNumber)));
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public String getGameId() {
+        return new UUID(gameIdHigh, gameIdLow).toString();
+    }
+
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+    public int getPit() {
+        return pit;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+}
@@ -0,0 +1,154 @@
+package com.bol.games.mancala.journal;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.MancalaGame;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.session.GameSessionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Rebuilds the live games from the newest snapshot plus the journal written after it. Every game is
+ * replayed on its own mutable {@link MancalaGame} and only turned into a session once at the end, so the
+ * replay runs at the speed of the sowing rules rather than of position copies.
+ * <p>
+ * Records may be older than the snapshot and, because request threads publish a hand before journaling
+ * it, two hands of the same game can reach the journal in swapped order. Hands are therefore applied by
+ * move number: anything a game already has is skipped and a hand that arrives early waits for its
+ * predecessor. A game with a hand its replay refuses, which only a damaged journal can produce, is logged
+ * and dropped so that the other games still come back.
+ */
+public final class JournalRecovery {
+    private static final Logger log = LoggerFactory.getLogger(JournalRecovery.class);
+
+    private final MancalaGameEngine mancalaGameEngine;
+    private final Map<UUID, RecoveringGame> games = new HashMap<>();
+    private final Map<UUID, TreeMap<Integer, long[]>> earlyHands = new HashMap<>();
+    private long replayedRecords;
+    private int droppedGames;
+    private long endOffset;
+
+    public JournalRecovery(MancalaGameEngine mancalaGameEngine) {
+        this.mancalaGameEngine = mancalaGameEngine;
+    }
+
+    /**
+     * Recovers the journal in {@code directory} into {@code store} and returns the offset new records go to.
+     */
+    public long recover(Path directory, GameSessionStore store) throws IOException {
+        int boardSize = mancalaGameEngine.getBoardSize();
+        long snapshotOffset = JournalSnapshot.readLatest(directory, boardSize, mancalaGameEngine.getVariant(),
+                (gameIdHigh, gameIdLow, moveNumber, lastActivityMillis, turnPlayer, board) -> {
+                    MancalaGame mancalaGame = mancalaGameEngine.newMancalaGame();
+                    mancalaGame.setBoard(board.clone());
+                    mancalaGame.setLastPlayer(turnPlayer == Constants.PLAYER_ONE_ID ? Constants.PLAYER_TWO_ID : Constants.PLAYER_ONE_ID);
+                    games.put(new UUID(gameIdHigh, gameIdLow), new RecoveringGame(mancalaGame, moveNumber, lastActivityMillis));
+                });
+        endOffset = JournalReader.replay(directory, snapshotOffset, this::apply);
+        games.forEach((gameId, game) -> store.restore(gameId.toString(),
+                mancalaGameEngine.position(game.mancalaGame.getBoard(), game.mancalaGame.nextPlayer()),
+                game.moveNumber, game.lastActivityMillis));
+        return endOffset;
+    }
+
+    private void apply(byte type, long gameIdHigh, long gameIdLow, int moveNumber, int pit, long timeMillis) {
+        replayedRecords++;
+        UUID gameId = new UUID(gameIdHigh, gameIdLow);
+        switch (type) {
+            case JournalRecord.CREATED:
+                if (!games.containsKey(gameId)) {
+                    MancalaGame mancalaGame = mancalaGameEngine.newMancalaGame();
+                    mancalaGame.resetBoard();
+                    games.put(gameId, new RecoveringGame(mancalaGame, 0, timeMillis));
+                }
+                break;
+            case JournalRecord.PLAYED:
+                RecoveringGame game = games.get(gameId);
+                if (game == null || moveNumber <= game.moveNumber) {
+                    break;
+                }
+                if (moveNumber > game.moveNumber + 1) {
+                    earlyHands.computeIfAbsent(gameId, id -> new TreeMap<>()).put(moveNumber, new long[]{pit, timeMillis});
+                    break;
+                }
+                if (!game.play(pit, timeMillis)) {
+                    drop(gameId, moveNumber, pit);
+                } else if (!earlyHands.isEmpty()) {
+                    playEarlyHands(gameId, game);
+                }
+                break;
+            case JournalRecord.REMOVED:
+                games.remove(gameId);
+                earlyHands.remove(gameId);
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    private void playEarlyHands(UUID gameId, RecoveringGame game) {
+        TreeMap<Integer, long[]> waiting = earlyHands.get(gameId);
+        while (waiting != null && !waiting.isEmpty() && waiting.firstKey() == game.moveNumber + 1) {
+            long[] hand = waiting.pollFirstEntry().getValue();
+            if (!game.play((int) hand[0], hand[1])) {
+                drop(gameId, game.moveNumber + 1, (int) hand[0]);
+                return;
+            }
+        }
+        if (waiting != null && waiting.isEmpty()) {
+            earlyHands.remove(gameId);
+        }
+    }
+
+    private void drop(UUID gameId, int moveNumber, int pit) {
+        log.warn("Dropping game {} during recovery: its journal has hand {} from pit {}, which the game refuses",
+                gameId, moveNumber, pit);
+        games.remove(gameId);
+        earlyHands.remove(gameId);
+        droppedGames++;
+    }
+
+    public long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    public int getRecoveredGames() {
+        return games.size();
+    }
+
+    public int getDroppedGames() {
+        return droppedGames;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    private static final class RecoveringGame {
+        private final MancalaGame mancalaGame;
+        private int moveNumber;
+        private long lastActivityMillis;
+
+        private RecoveringGame(MancalaGame mancalaGame, int moveNumber, long lastActivityMillis) {
+            this.mancalaGame = mancalaGame;
+            this.moveNumber = moveNumber;
+            this.lastActivityMillis = lastActivityMillis;
+        }
+
+        private boolean play(int pit, long timeMillis) {
+            if (!mancalaGame.tryPlayHand(pit).isLegal()) {
+                return false;
+            }
+            moveNumber++;
+            lastActivityMillis = timeMillis;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.bol.games.mancala.journal;
+
+import com.bol.games.mancala.rules.RuleVariant;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full copy of the live games, tagged with the journal offset it was started at. Recovery loads the newest
+ * snapshot and only replays the journal from that offset, which keeps restart time bounded however long
+ * the server has been running. Snapshots are written to a temporary file and moved into place, so a crash
+ * while writing one leaves the previous snapshot intact. The header names the board size and rule variant
+ * the games were played under, and a snapshot of another configuration is refused rather than replayed.
+ */
+final class JournalSnapshot {
+    private static final int MAGIC = 0x4D534E31;
+    private static final int VERSION = 2;
+    /**
+     * Written before the rule variant was part of the header, when every server played Kalah.
+     */
+    private static final int VERSION_WITHOUT_VARIANT = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snapshot";
+
+    interface GameVisitor {
+        void visit(long gameIdHigh, long gameIdLow, int moveNumber, long lastActivityMillis, int turnPlayer, int[] board);
+    }
+
+    private JournalSnapshot() {
+    }
+
+    /**
+     * Writes every game in {@code store} and removes older snapshots. {@code journalOffset} must have been
+     * read before the games are visited: each game is then at least as recent as the journal at that offset.
+     */
+    static Path write(Path directory, long journalOffset, int boardSize, RuleVariant variant, GameSessionStore store)
+            throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, journalOffset, SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(journalOffset);
+            out.writeInt(boardSize);
+            out.writeUTF(variant.name());
+            IOException[] failure = new IOException[1];
+            store.forEach(session -> {
+                if (failure[0] == null) {
+                    try {
+                        writeGame(out, session, boardSize);
+                    } catch (IOException ex) {
+                        failure[0] = ex;
+                    }
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            out.writeBoolean(false);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path snapshot : snapshots(directory)) {
+            if (!snapshot.equals(target)) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        return target;
+    }
+
+    private static void writeGame(DataOutputStream out, GameSession session, int boardSize) throws IOException {
+        UUID gameId = UUID.fromString(session.getGameId());
+        out.writeBoolean(true);
+        out.writeLong(gameId.getMostSignificantBits());
+        out.writeLong(gameId.getLeastSignificantBits());
+        out.writeInt(session.getMoveNumber());
+        out.writeLong(session.getLastActivityMillis());
+        out.writeByte(session.getPosition().getTurnPlayer());
+        for (int pit = 0; pit < boardSize; pit++) {
+            out.writeInt(session.getPosition().getPebbles(pit));
+        }
+    }
+
+    /**
+     * Visits the games of the newest snapshot and returns the journal offset to replay from, or 0 when
+     * there is no snapshot.
+     */
+    static long readLatest(Path directory, int boardSize, RuleVariant variant, GameVisitor visitor) throws IOException {
+        List<Path> snapshots = snapshots(directory);
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(latest), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(latest + " is not a game snapshot");
+            }
+            int version = in.readInt();
+            if (version != VERSION && version != VERSION_WITHOUT_VARIANT) {
+                throw new IOException(latest + " is not a game snapshot");
+            }
+            long journalOffset = in.readLong();
+            if (in.readInt() != boardSize) {
+                throw new IOException(latest + " was written for a different board size");
+            }
+            String snapshotVariant = version == VERSION ? in.readUTF() : RuleVariant.KALAH.name();
+            if (!snapshotVariant.equals(variant.name())) {
+                throw new IOException(latest + " was written for the " + snapshotVariant + " rules, not " + variant);
+            }
+            int[] board = new int[boardSize];
+            while (in.readBoolean()) {
+                long gameIdHigh = in.readLong();
+                long gameIdLow = in.readLong();
+                int moveNumber = in.readInt();
+                long lastActivityMillis = in.readLong();
+                int turnPlayer = in.readByte();
+                for (int pit = 0; pit < boardSize; pit++) {
+                    board[pit] = in.readInt();
+                }
+                visitor.visit(gameIdHigh, gameIdLow, moveNumber, lastActivityMillis, turnPlayer, board);
+            }
+            return journalOffset;
+        }
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(PREFIX)
+                            && file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
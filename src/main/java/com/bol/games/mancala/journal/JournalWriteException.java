@@ -0,0 +1,11 @@
+package com.bol.games.mancala.journal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class JournalWriteException extends RuntimeException {
+    public JournalWriteException(String gameId, Throwable cause) {
+        super("Could not journal the change to game " + gameId, cause);
+    }
+}
@@ -0,0 +1,231 @@
+package com.bol.games.mancala.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of {@link JournalRecord}s spread over fixed-size, memory-mapped segment files. Request
+ * threads only enqueue records; a single writer thread copies whatever has queued up into the current
+ * segment and, when {@code fsync} is on, forces it to disk once for the whole batch before completing the
+ * callers' futures. Under load a single fsync therefore covers many moves. Offsets are global: a segment
+ * file is named after the offset of its first record. A batch that fails to write fails its callers'
+ * futures; an {@link Error} also stops the writer, after which every queued and later append fails.
+ */
+public class MoveJournal implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private final BlockingQueue<PendingAppend> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile Throwable writerFailure;
+    private volatile long writtenOffset;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentBase;
+    private int segmentPosition;
+
+    private MoveJournal(Path directory, int segmentBytes, boolean fsync) {
+        if (segmentBytes < JournalRecord.BYTES || segmentBytes % JournalRecord.BYTES != 0) {
+            throw new IllegalArgumentException("Segment size must be a positive multiple of " + JournalRecord.BYTES + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.writer = new Thread(this::writeLoop, "move-journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens the journal in {@code directory} and continues after the last complete record of the newest segment.
+     */
+    public static MoveJournal open(Path directory, int segmentBytes, boolean fsync) throws IOException {
+        Files.createDirectories(directory);
+        MoveJournal journal = new MoveJournal(directory, segmentBytes, fsync);
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            journal.openSegment(0);
+        } else {
+            journal.openSegment(baseOffset(segments.get(segments.size() - 1)));
+            while (journal.segmentPosition < journal.segment.capacity()
+                    && JournalRecord.isValid(journal.segment, journal.segmentPosition)) {
+                journal.segmentPosition += JournalRecord.BYTES;
+            }
+        }
+        journal.writtenOffset = journal.segmentBase + journal.segmentPosition;
+        journal.writer.start();
+        return journal;
+    }
+
+    /**
+     * Queues {@code record} and returns a future that completes once the record is written, and forced to
+     * disk if {@code fsync} is on. Blocks while the queue is full, which pushes back on the callers when the
+     * disk cannot keep up.
+     */
+    public CompletableFuture<Void> append(JournalRecord record) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        if (!running) {
+            written.completeExceptionally(writerFailure != null
+                    ? new IllegalStateException("Move journal writer failed", writerFailure)
+                    : new IllegalStateException("Move journal is closed"));
+            return written;
+        }
+        try {
+            queue.put(new PendingAppend(record, written));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            written.completeExceptionally(ex);
+        }
+        if (writerFailure != null) {
+            failQueued(writerFailure);
+        }
+        return written;
+    }
+
+    /**
+     * Returns the offset up to which every record has been written. Records queued later always land at or
+     * after this offset.
+     */
+    public long getWrittenOffset() {
+        return writtenOffset;
+    }
+
+    /**
+     * Deletes the segments that only hold records before {@code offset}.
+     */
+    public void deleteSegmentsBefore(long offset) throws IOException {
+        for (Path segmentFile : segments(directory)) {
+            long base = baseOffset(segmentFile);
+            if (base + segmentBytes <= offset && base != segmentBase) {
+                Files.deleteIfExists(segmentFile);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                continue;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            try {
+                for (PendingAppend pending : batch) {
+                    write(pending.record);
+                }
+                if (fsync) {
+                    segment.force();
+                }
+                writtenOffset = segmentBase + segmentPosition;
+                batch.forEach(pending -> pending.written.complete(null));
+            } catch (Throwable ex) {
+                batch.forEach(pending -> pending.written.completeExceptionally(ex));
+                if (ex instanceof Error) {
+                    writerFailure = ex;
+                    running = false;
+                    failQueued(ex);
+                    throw (Error) ex;
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Fails the appends left in the queue once the writer has died. Callers that queue after the writer's
+     * last drain call this again themselves, so no append waits forever.
+     */
+    private void failQueued(Throwable cause) {
+        List<PendingAppend> stranded = new ArrayList<>();
+        queue.drainTo(stranded);
+        IllegalStateException failure = new IllegalStateException("Move journal writer failed", cause);
+        stranded.forEach(pending -> pending.written.completeExceptionally(failure));
+    }
+
+    private void write(JournalRecord record) throws IOException {
+        if (segmentPosition == segmentBytes) {
+            if (fsync) {
+                segment.force();
+            }
+            openSegment(segmentBase + segmentBytes);
+        }
+        record.writeTo(segment, segmentPosition);
+        segmentPosition += JournalRecord.BYTES;
+    }
+
+    private void openSegment(long base) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(segmentFile(directory, base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segmentBase = base;
+        segmentPosition = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        segment.force();
+        channel.close();
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static long baseOffset(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static Path segmentFile(Path directory, long base) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX));
+    }
+
+    private static final class PendingAppend {
+        private final JournalRecord record;
+        private final CompletableFuture<Void> written;
+
+        private PendingAppend(JournalRecord record, CompletableFuture<Void> written) {
+            this.record = record;
+            this.written = written;
+        }
+    }
+}
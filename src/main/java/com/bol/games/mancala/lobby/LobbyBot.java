@@ -0,0 +1,89 @@
+package com.bol.games.mancala.lobby;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.rules.MancalaSuccessor;
+import com.bol.games.mancala.session.GameNotFoundException;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionListener;
+import com.bol.games.mancala.session.GameSessionStore;
+import com.bol.games.mancala.session.StaleMoveException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Plays player two of the games the lobby could not fill with a second player. Its hands are played on
+ * the bot executor after the player's hand has been published, through the same {@link GameSessionStore}
+ * path as any other hand. It takes an extra turn when one is on offer and otherwise the hand that leaves
+ * the most pebbles in its Mancala.
+ */
+@Component
+public class LobbyBot implements GameSessionListener {
+    private final Set<String> botGames = ConcurrentHashMap.newKeySet();
+    private final GameSessionStore gameSessionStore;
+    private final MancalaGameEngine mancalaGameEngine;
+    private final ExecutorService botExecutor;
+
+    public LobbyBot(GameSessionStore gameSessionStore, MancalaGameEngine mancalaGameEngine,
+                    @Qualifier("botExecutor") ExecutorService botExecutor) {
+        this.gameSessionStore = gameSessionStore;
+        this.mancalaGameEngine = mancalaGameEngine;
+        this.botExecutor = botExecutor;
+        gameSessionStore.addListener(this);
+    }
+
+    /**
+     * Takes player two of a game that has not been played yet; player one always opens.
+     */
+    void join(GameSession session) {
+        botGames.add(session.getGameId());
+    }
+
+    @Override
+    public void onCreated(GameSession session) {
+    }
+
+    @Override
+    public void onPlayed(GameSession session, int pit) {
+        if (!botGames.contains(session.getGameId())) {
+            return;
+        }
+        if (session.getPosition().isFinished()) {
+            botGames.remove(session.getGameId());
+        } else if (session.getPosition().getTurnPlayer() == Constants.PLAYER_TWO_ID) {
+            botExecutor.execute(() -> playHand(session));
+        }
+    }
+
+    @Override
+    public void onRemoved(GameSession session, long timeMillis) {
+        botGames.remove(session.getGameId());
+    }
+
+    private void playHand(GameSession session) {
+        try {
+            gameSessionStore.play(session.getGameId(), choosePit(session.getPosition()), session.getMoveNumber());
+        } catch (GameNotFoundException | StaleMoveException ex) {
+            // The game went away or moved on in the meantime; there is nothing left to answer.
+        }
+    }
+
+    int choosePit(MancalaPosition position) {
+        int mancala = position.getBoardSize() - 1;
+        int bestPit = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (MancalaSuccessor successor : mancalaGameEngine.successors(position)) {
+            int score = successor.getPosition().getPebbles(mancala) + (successor.getPosition().isLastHandExtraTurn() ? 1000 : 0);
+            if (score > bestScore) {
+                bestPit = successor.getPit();
+                bestScore = score;
+            }
+        }
+        return bestPit;
+    }
+}
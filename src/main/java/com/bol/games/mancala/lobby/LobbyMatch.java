@@ -0,0 +1,37 @@
+package com.bol.games.mancala.lobby;
+
+import com.bol.games.mancala.session.GameSession;
+
+/**
+ * The game a lobby ticket was paired into, the side the ticket's player plays, and whether the opponent
+ * is the {@link LobbyBot}.
+ */
+public class LobbyMatch {
+    private final GameSession session;
+    private final int playerId;
+    private final boolean botOpponent;
+    private final long waitedNanos;
+
+    LobbyMatch(GameSession session, int playerId, boolean botOpponent, long waitedNanos) {
+        this.session = session;
+        this.playerId = playerId;
+        this.botOpponent = botOpponent;
+        this.waitedNanos = waitedNanos;
+    }
+
+    public GameSession getSession() {
+        return session;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public boolean isBotOpponent() {
+        return botOpponent;
+    }
+
+    public long getWaitedNanos() {
+        return waitedNanos;
+    }
+}
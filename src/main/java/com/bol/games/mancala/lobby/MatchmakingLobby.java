@@ -0,0 +1,193 @@
+package com.bol.games.mancala.lobby;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Pairs players who ask for an opponent into new server-side games. Every skill bucket is a single
+ * exchange slot: a player joining an empty bucket parks a ticket there, and the next player of the same
+ * bucket swaps it out and pairs with it. Both steps are one compare-and-set, so joins never block each
+ * other and the game is created outside any critical section. Tickets still waiting after the timeout are
+ * swept into a game against the {@link LobbyBot}.
+ */
+@Component
+public class MatchmakingLobby {
+    static final String PLAYER = "player";
+    static final String BOT = "bot";
+
+    private final ConcurrentHashMap<Integer, AtomicReference<LobbyTicket>> buckets = new ConcurrentHashMap<>();
+    private final GameSessionStore gameSessionStore;
+    private final LobbyBot lobbyBot;
+    private final int skillBucketWidth;
+    private final long timeoutNanos;
+    private final LongSupplier nanoClock;
+    private final Counter joins;
+    private final Timer playerPairings;
+    private final Timer botPairings;
+
+    @Autowired
+    public MatchmakingLobby(GameSessionStore gameSessionStore, LobbyBot lobbyBot, MeterRegistry registry,
+                            @Value("${mancala.lobby.skill-bucket-width:0}") int skillBucketWidth,
+                            @Value("${mancala.lobby.timeout:PT10S}") Duration timeout) {
+        this(gameSessionStore, lobbyBot, registry, skillBucketWidth, timeout, System::nanoTime);
+    }
+
+    MatchmakingLobby(GameSessionStore gameSessionStore, LobbyBot lobbyBot, MeterRegistry registry,
+                     int skillBucketWidth, Duration timeout, LongSupplier nanoClock) {
+        this.gameSessionStore = gameSessionStore;
+        this.lobbyBot = lobbyBot;
+        this.skillBucketWidth = skillBucketWidth;
+        this.timeoutNanos = timeout.toNanos();
+        this.nanoClock = nanoClock;
+        this.joins = Counter.builder("mancala.lobby.joins")
+                .description("Players that asked the lobby for an opponent")
+                .register(registry);
+        this.playerPairings = pairingTimer(registry, PLAYER);
+        this.botPairings = pairingTimer(registry, BOT);
+        Gauge.builder("mancala.lobby.waiting", this, MatchmakingLobby::getWaitingCount)
+                .description("Players waiting in the lobby for an opponent")
+                .register(registry);
+    }
+
+    private static Timer pairingTimer(MeterRegistry registry, String opponent) {
+        return Timer.builder("mancala.lobby.pairing")
+                .description("Time from joining the lobby to being paired, by kind of opponent")
+                .tag("opponent", opponent)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofMinutes(1))
+                .register(registry);
+    }
+
+    /**
+     * Queues a player of the given skill. The future completes with the game once an opponent of the same
+     * skill bucket joins or the timeout hands the player to the bot, and fails if no game can be created.
+     * Cancelling it takes the player out of the lobby.
+     */
+    public CompletableFuture<LobbyMatch> join(int skill) {
+        joins.increment();
+        LobbyTicket ticket = new LobbyTicket(nanoClock.getAsLong());
+        AtomicReference<LobbyTicket> bucket = bucket(skill);
+        while (true) {
+            LobbyTicket waiting = bucket.get();
+            if (waiting == null) {
+                if (bucket.compareAndSet(null, ticket)) {
+                    return ticket.future;
+                }
+            } else if (bucket.compareAndSet(waiting, null) && pair(waiting, ticket)) {
+                return ticket.future;
+            }
+        }
+    }
+
+    private AtomicReference<LobbyTicket> bucket(int skill) {
+        Integer key = skillBucketWidth > 0 ? Math.floorDiv(skill, skillBucketWidth) : 0;
+        AtomicReference<LobbyTicket> bucket = buckets.get(key);
+        return bucket != null ? bucket : buckets.computeIfAbsent(key, k -> new AtomicReference<>());
+    }
+
+    /**
+     * Pairs a ticket taken out of its bucket with the one that took it. Returns false without touching
+     * {@code joining} when the waiting player has left the lobby in the meantime.
+     */
+    private boolean pair(LobbyTicket waiting, LobbyTicket joining) {
+        if (waiting.future.isDone()) {
+            return false;
+        }
+        GameSession session;
+        try {
+            session = gameSessionStore.create();
+        } catch (RuntimeException ex) {
+            waiting.future.completeExceptionally(ex);
+            joining.future.completeExceptionally(ex);
+            return true;
+        }
+        long now = nanoClock.getAsLong();
+        if (!complete(waiting, session, Constants.PLAYER_ONE_ID, false, now, playerPairings)) {
+            gameSessionStore.remove(session.getGameId());
+            return false;
+        }
+        complete(joining, session, Constants.PLAYER_TWO_ID, false, now, playerPairings);
+        return true;
+    }
+
+    private static boolean complete(LobbyTicket ticket, GameSession session, int playerId, boolean botOpponent,
+                                    long now, Timer timer) {
+        long waited = now - ticket.joinedNanos;
+        boolean completed = ticket.future.complete(new LobbyMatch(session, playerId, botOpponent, waited));
+        if (completed) {
+            timer.record(waited, TimeUnit.NANOSECONDS);
+        }
+        return completed;
+    }
+
+    /**
+     * Hands every player that waited longer than the timeout to the bot, and drops tickets whose player
+     * has left.
+     */
+    @Scheduled(fixedDelayString = "${mancala.lobby.sweep-interval:PT0.1S}")
+    public void matchTimedOutPlayers() {
+        long now = nanoClock.getAsLong();
+        buckets.values().forEach(bucket -> {
+            LobbyTicket waiting = bucket.get();
+            if (waiting == null) {
+                return;
+            }
+            if (waiting.future.isDone()) {
+                bucket.compareAndSet(waiting, null);
+            } else if (now - waiting.joinedNanos >= timeoutNanos && bucket.compareAndSet(waiting, null)) {
+                pairWithBot(waiting, now);
+            }
+        });
+    }
+
+    private void pairWithBot(LobbyTicket waiting, long now) {
+        GameSession session;
+        try {
+            session = gameSessionStore.create();
+        } catch (RuntimeException ex) {
+            waiting.future.completeExceptionally(ex);
+            return;
+        }
+        lobbyBot.join(session);
+        if (!complete(waiting, session, Constants.PLAYER_ONE_ID, true, now, botPairings)) {
+            gameSessionStore.remove(session.getGameId());
+        }
+    }
+
+    public int getWaitingCount() {
+        int waiting = 0;
+        for (AtomicReference<LobbyTicket> bucket : buckets.values()) {
+            if (bucket.get() != null) {
+                waiting++;
+            }
+        }
+        return waiting;
+    }
+
+    private static final class LobbyTicket {
+        private final long joinedNanos;
+        private final CompletableFuture<LobbyMatch> future = new CompletableFuture<>();
+
+        private LobbyTicket(long joinedNanos) {
+            this.joinedNanos = joinedNanos;
+        }
+    }
+}
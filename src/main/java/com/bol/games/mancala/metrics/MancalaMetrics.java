@@ -0,0 +1,135 @@
+package com.bol.games.mancala.metrics;
+
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.rules.MoveValidation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game instruments, all registered up front so that recording a hand only touches meters this class
+ * already holds: no registry lookups, no tag arrays and no {@link Timer.Sample}s on the hot path. Callers
+ * time a hand with {@link System#nanoTime()} and pass the elapsed nanoseconds. Capture and extra-turn rates
+ * are the capture and extra-turn counters divided by the hand count of {@code mancala.hand.pebbles}.
+ */
+@Component
+public class MancalaMetrics {
+    public static final String STATELESS = "stateless";
+    public static final String SESSION = "session";
+
+    private final Timer statelessMoveTimer;
+    private final Timer sessionMoveTimer;
+    private final Counter[] rejections;
+    private final Counter statelessGamesStarted;
+    private final Counter sessionGamesStarted;
+    private final Counter statelessGamesFinished;
+    private final Counter sessionGamesFinished;
+    private final Counter gamesAbandoned;
+    private final DistributionSummary pebblesSown;
+    private final Counter captures;
+    private final Counter extraTurns;
+
+    @Autowired
+    public MancalaMetrics(MeterRegistry registry) {
+        this.statelessMoveTimer = moveTimer(registry, STATELESS);
+        this.sessionMoveTimer = moveTimer(registry, SESSION);
+        MoveValidation[] reasons = MoveValidation.values();
+        this.rejections = new Counter[reasons.length];
+        for (MoveValidation reason : reasons) {
+            if (!reason.isLegal()) {
+                rejections[reason.ordinal()] = Counter.builder("mancala.move.rejected")
+                        .description("Hands refused, by reason")
+                        .tag("reason", reason.name())
+                        .register(registry);
+            }
+        }
+        this.statelessGamesStarted = gameCounter(registry, "mancala.games.started", STATELESS);
+        this.sessionGamesStarted = gameCounter(registry, "mancala.games.started", SESSION);
+        this.statelessGamesFinished = gameCounter(registry, "mancala.games.finished", STATELESS);
+        this.sessionGamesFinished = gameCounter(registry, "mancala.games.finished", SESSION);
+        this.gamesAbandoned = Counter.builder("mancala.games.abandoned")
+                .description("Server-side games removed or evicted before they finished")
+                .register(registry);
+        this.pebblesSown = DistributionSummary.builder("mancala.hand.pebbles")
+                .description("Pebbles sown per accepted hand")
+                .baseUnit("pebbles")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1024.0)
+                .register(registry);
+        this.captures = Counter.builder("mancala.hand.captures")
+                .description("Accepted hands that captured the opposite pit")
+                .register(registry);
+        this.extraTurns = Counter.builder("mancala.hand.extra.turns")
+                .description("Accepted hands that ended in the player's own Mancala")
+                .register(registry);
+    }
+
+    /**
+     * Instruments backed by an empty composite registry, which records nothing. Used where no registry is
+     * wired, such as unit tests and the uninstrumented benchmark baseline.
+     */
+    public static MancalaMetrics disabled() {
+        return new MancalaMetrics(new CompositeMeterRegistry());
+    }
+
+    private static Timer moveTimer(MeterRegistry registry, String mode) {
+        return Timer.builder("mancala.move")
+                .description("Time to validate and play one hand")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+    }
+
+    private static Counter gameCounter(MeterRegistry registry, String name, String mode) {
+        return Counter.builder(name)
+                .tag("mode", mode)
+                .register(registry);
+    }
+
+    public void recordStatelessMove(long elapsedNanos) {
+        statelessMoveTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSessionMove(long elapsedNanos) {
+        sessionMoveTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejection(MoveValidation reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    /**
+     * Records the hand that led to {@code position}.
+     */
+    public void recordHand(MancalaPosition position) {
+        pebblesSown.record(position.getLastHandPebbles());
+        if (position.isLastHandCapture()) {
+            captures.increment();
+        }
+        if (position.isLastHandExtraTurn()) {
+            extraTurns.increment();
+        }
+    }
+
+    public void recordGameStarted(boolean session) {
+        (session ? sessionGamesStarted : statelessGamesStarted).increment();
+    }
+
+    public void recordGameFinished(boolean session) {
+        (session ? sessionGamesFinished : statelessGamesFinished).increment();
+    }
+
+    public void recordGameAbandoned() {
+        gamesAbandoned.increment();
+    }
+}
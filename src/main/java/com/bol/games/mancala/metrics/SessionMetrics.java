@@ -0,0 +1,50 @@
+package com.bol.games.mancala.metrics;
+
+import com.bol.games.mancala.push.GameUpdatePublisher;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionListener;
+import com.bol.games.mancala.session.GameSessionStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Follows the lifecycle of server-side games through the {@link GameSessionStore} and publishes the
+ * number of live games and push subscribers as gauges, which are only read when scraped.
+ */
+@Component
+public class SessionMetrics implements GameSessionListener {
+    private final MancalaMetrics mancalaMetrics;
+
+    public SessionMetrics(GameSessionStore gameSessionStore, GameUpdatePublisher gameUpdatePublisher,
+                          MancalaMetrics mancalaMetrics, MeterRegistry registry) {
+        this.mancalaMetrics = mancalaMetrics;
+        Gauge.builder("mancala.sessions.active", gameSessionStore, GameSessionStore::size)
+                .description("Server-side games in memory")
+                .register(registry);
+        Gauge.builder("mancala.push.subscribers", gameUpdatePublisher, GameUpdatePublisher::getSubscriberCount)
+                .description("Open game update subscriptions")
+                .register(registry);
+        gameSessionStore.addListener(this);
+    }
+
+    @Override
+    public void onCreated(GameSession session) {
+        mancalaMetrics.recordGameStarted(true);
+    }
+
+    @Override
+    public void onPlayed(GameSession session, int pit) {
+        mancalaMetrics.recordHand(session.getPosition());
+        if (session.getPosition().isFinished()) {
+            mancalaMetrics.recordGameFinished(true);
+        }
+    }
+
+    @Override
+    public void onRemoved(GameSession session, long timeMillis) {
+        if (!session.getPosition().isFinished()) {
+            mancalaMetrics.recordGameAbandoned();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaBatchRequest {
+    private MancalaGameState gameState;
+    private int[] positions;
+}
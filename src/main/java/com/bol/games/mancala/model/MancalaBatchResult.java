@@ -0,0 +1,19 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaBatchResult {
+    private MancalaGameState gameState;
+    private int appliedMoves;
+    private Integer illegalMoveIndex;
+    private List<MancalaGameState> intermediateStates;
+}
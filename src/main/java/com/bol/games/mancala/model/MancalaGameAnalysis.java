@@ -0,0 +1,22 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaGameAnalysis {
+    private List<MancalaMoveAnalysis> moves;
+    private int analyzedMoves;
+    private Integer illegalMoveIndex;
+    private int depth;
+    private long nodes;
+    private long elapsedMillis;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaGameSession {
+    private String gameId;
+    private int moveNumber;
+    private MancalaGameState gameState;
+}
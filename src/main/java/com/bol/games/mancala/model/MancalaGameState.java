@@ -1,5 +1,7 @@
 package com.bol.games.mancala.model;
 
+import com.bol.games.mancala.rules.MoveValidation;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,4 +18,6 @@ public class MancalaGameState {
     private Integer winningPlayer;
     private Integer winningPlayerScore;
     private String message;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MoveValidation rejection;
 }
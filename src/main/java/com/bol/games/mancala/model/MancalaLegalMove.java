@@ -0,0 +1,17 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaLegalMove {
+    private int pit;
+    private boolean extraTurn;
+    private boolean capture;
+    private MancalaGameState gameState;
+}
@@ -0,0 +1,17 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaLobbyMatch {
+    private MancalaGameSession game;
+    private int playerId;
+    private boolean botOpponent;
+    private long waitedMillis;
+}
@@ -0,0 +1,22 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaMoveAnalysis {
+    private int moveIndex;
+    private int playedPit;
+    private int bestPit;
+    private int evaluation;
+    private int playedEvaluation;
+    private int evaluationLoss;
+    private boolean blunder;
+    private int depth;
+    private long nodes;
+}
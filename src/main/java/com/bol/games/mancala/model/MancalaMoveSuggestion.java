@@ -0,0 +1,22 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaMoveSuggestion {
+    private int bestPit;
+    private int evaluation;
+    private int[] principalVariation;
+    private int depth;
+    private long nodes;
+    private long elapsedMillis;
+    private long nodesPerSecond;
+    private int threads;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.bol.games.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MancalaPositionEvaluation {
+    private int evaluation;
+    private boolean exact;
+    private String source;
+    private int depth;
+    private String message;
+}
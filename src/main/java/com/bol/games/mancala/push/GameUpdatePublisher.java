@@ -0,0 +1,106 @@
+package com.bol.games.mancala.push;
+
+import com.bol.games.mancala.model.MancalaGameSession;
+import com.bol.games.mancala.session.GameNotFoundException;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionListener;
+import com.bol.games.mancala.session.GameSessionStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import static com.bol.games.mancala.service.GameStateMapping.mapSessionToModel;
+
+/**
+ * Pushes every hand the {@link GameSessionStore} accepts to the clients subscribed to that game. The
+ * thread that played the hand maps the session once and only offers it to the subscribers' bounded
+ * buffers; the sends happen on the push executor. Idle connections only cost their subscription, and
+ * periodic heartbeats detect the ones the client has dropped.
+ */
+@Component
+public class GameUpdatePublisher implements GameSessionListener {
+    static final String MOVE = "move";
+
+    private final Map<String, Set<GameUpdateSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final GameSessionStore gameSessionStore;
+    private final ExecutorService pushExecutor;
+    private final int bufferSize;
+
+    public GameUpdatePublisher(GameSessionStore gameSessionStore,
+                               @Qualifier("pushExecutor") ExecutorService pushExecutor,
+                               @Value("${mancala.push.buffer-size:16}") int bufferSize) {
+        this.gameSessionStore = gameSessionStore;
+        this.pushExecutor = pushExecutor;
+        this.bufferSize = bufferSize;
+        gameSessionStore.addListener(this);
+    }
+
+    /**
+     * Subscribes {@code sink} to the game and queues its current state as the first update. The returned
+     * action ends the subscription, for when the connection goes away on its own. The subscription is
+     * registered before the game is read, so a hand accepted in between is pushed rather than missed; the
+     * subscription drops whichever of the two copies arrives second.
+     */
+    public Runnable subscribe(String gameId, GameUpdateSink sink) {
+        GameUpdateSubscription subscription = new GameUpdateSubscription(gameId, sink, bufferSize,
+                pushExecutor, this::unsubscribe);
+        subscriptions.compute(gameId, (id, gameSubscriptions) -> {
+            Set<GameUpdateSubscription> updated = gameSubscriptions != null ? gameSubscriptions : ConcurrentHashMap.newKeySet();
+            updated.add(subscription);
+            return updated;
+        });
+        GameSession current;
+        try {
+            current = gameSessionStore.get(gameId);
+        } catch (GameNotFoundException ex) {
+            unsubscribe(subscription);
+            throw ex;
+        }
+        subscription.offer(MOVE, current.getMoveNumber(), mapSessionToModel(current));
+        return subscription::close;
+    }
+
+    private void unsubscribe(GameUpdateSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getGameId(), (gameId, gameSubscriptions) -> {
+            gameSubscriptions.remove(subscription);
+            return gameSubscriptions.isEmpty() ? null : gameSubscriptions;
+        });
+    }
+
+    @Override
+    public void onCreated(GameSession session) {
+    }
+
+    @Override
+    public void onPlayed(GameSession session, int pit) {
+        Set<GameUpdateSubscription> gameSubscriptions = subscriptions.get(session.getGameId());
+        if (gameSubscriptions != null) {
+            MancalaGameSession update = mapSessionToModel(session);
+            gameSubscriptions.forEach(subscription -> subscription.offer(MOVE, session.getMoveNumber(), update));
+        }
+    }
+
+    @Override
+    public void onRemoved(GameSession session, long timeMillis) {
+        Set<GameUpdateSubscription> gameSubscriptions = subscriptions.get(session.getGameId());
+        if (gameSubscriptions != null) {
+            gameSubscriptions.forEach(subscription -> subscription.offer(GameUpdateSubscription.REMOVED, Integer.MAX_VALUE, session.getGameId()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mancala.push.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        subscriptions.values().forEach(gameSubscriptions -> gameSubscriptions.forEach(
+                subscription -> subscription.offer(GameUpdateSubscription.HEARTBEAT, -1, null)));
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+}
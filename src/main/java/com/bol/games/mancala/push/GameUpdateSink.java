@@ -0,0 +1,16 @@
+package com.bol.games.mancala.push;
+
+import java.io.IOException;
+
+/**
+ * One client connection that receives game updates. Calls come from a single push thread at a time, so
+ * implementations may block while the connection drains, but never on behalf of the thread playing the hand,
+ * and must give up with an {@link IOException} once a send has been stuck for a bounded time.
+ */
+public interface GameUpdateSink {
+    void send(String event, Object payload) throws IOException;
+
+    void sendHeartbeat() throws IOException;
+
+    void close();
+}
@@ -0,0 +1,109 @@
+package com.bol.games.mancala.push;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Send buffer of one subscriber. Publishing only offers to the bounded queue and, if no drain is pending,
+ * schedules one on the push executor; a subscriber whose queue is full is too slow and gets disconnected
+ * instead of holding up the game or growing the heap. At most one drain runs at a time, so the sink sees
+ * the updates in queue order.
+ */
+final class GameUpdateSubscription {
+    static final String HEARTBEAT = "heartbeat";
+    static final String REMOVED = "removed";
+
+    private final String gameId;
+    private final GameUpdateSink sink;
+    private final BlockingQueue<Update> queue;
+    private final Executor executor;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Consumer<GameUpdateSubscription> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private int lastSentMove = -1;
+
+    GameUpdateSubscription(String gameId, GameUpdateSink sink, int bufferSize, Executor executor, Consumer<GameUpdateSubscription> onClose) {
+        this.gameId = gameId;
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.executor = executor;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Queues an update without blocking. Returns false, and closes the subscription, when the buffer is full.
+     */
+    boolean offer(String event, int moveNumber, Object payload) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!queue.offer(new Update(event, moveNumber, payload))) {
+            close();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Update update;
+            while (!closed.get() && (update = queue.poll()) != null) {
+                if (update.event.equals(HEARTBEAT)) {
+                    sink.sendHeartbeat();
+                } else if (update.event.equals(REMOVED)) {
+                    sink.send(update.event, update.payload);
+                    close();
+                } else if (update.moveNumber > lastSentMove) {
+                    sink.send(update.event, update.payload);
+                    lastSentMove = update.moveNumber;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            close();
+        } finally {
+            drainScheduled.set(false);
+        }
+        if (!closed.get() && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            onClose.accept(this);
+            sink.close();
+        }
+    }
+
+    String getGameId() {
+        return gameId;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    private static final class Update {
+        private final String event;
+        private final int moveNumber;
+        private final Object payload;
+
+        private Update(String event, int moveNumber, Object payload) {
+            this.event = event;
+            this.moveNumber = moveNumber;
+            this.payload = payload;
+        }
+    }
+}
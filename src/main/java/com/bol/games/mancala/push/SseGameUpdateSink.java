@@ -0,0 +1,33 @@
+package com.bol.games.mancala.push;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Sends through an {@link SseEmitter}. Its sends write to the servlet response and block while the client is
+ * not reading, until the container's write timeout fails them with an {@link IOException}.
+ */
+public class SseGameUpdateSink implements GameUpdateSink {
+    private final SseEmitter emitter;
+
+    public SseGameUpdateSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(String event, Object payload) throws IOException {
+        emitter.send(SseEmitter.event().name(event).data(payload, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void sendHeartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
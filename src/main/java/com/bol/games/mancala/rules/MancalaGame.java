@@ -1,195 +1,197 @@
 package com.bol.games.mancala.rules;
 
 import com.bol.games.mancala.constants.Constants;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.stream.IntStream;
 
-@Component
+/**
+ * Mutable working board for a single game. Instances are not thread-safe and must stay confined
+ * to the thread that created them; shared, concurrent access goes through {@link MancalaGameEngine}.
+ */
 public class MancalaGame {
     private int lastPlayer;
     private int[] board;
+    /**
+     * Pebbles in player one's and player two's row; the Mancalas count for neither.
+     */
+    private final int[] livePebbles = new int[2];
+    private int lastHandPebbles;
+    private boolean lastHandCapture;
+    private boolean lastHandExtraTurn;
 
-    @Value("${mancala.game.boardsize}")
     private Integer boardSize;
-    @Value("${mancala.game.pebbles}")
     private Integer pebblesPerPit;
+    private RuleVariant variant = RuleVariant.KALAH;
+    private SowingTable sowingTable;
 
-
-    public boolean playHand(int position) {
-        if (!isFinished()) {
-            validateHandStartPosition(position);
-            int currentPosition = distributePebbles(position);
-            if (isPlayerLastMoveAOnePebbleInOwnPit(currentPosition)) {
-                tryCapturingEnemyPosition(currentPosition);
-            }
-            changeTurns(currentPosition);
-        }
-        return !isFinished();
-    }
-
-    public boolean isFinished() {
-        return getPlayerOneLivePebbles() == 0 || getPlayerTwoLivePebbles() == 0;
+    public MancalaGame() {
     }
 
-    private int getPlayerOneLivePebbles() {
-        return IntStream
-                .range(0, getBoardSize())
-                .filter(i -> i >= 0 && i < getPlayerOneMancalaIndex())
-                .map(i -> getBoard()[i])
-                .sum();
-    }
-
-    private int getPlayerTwoLivePebbles() {
-        return IntStream
-                .range(0, getBoardSize())
-                .filter(i -> i >= getPlayerTwoFirstPitIndex() && i < getPlayerTwoMancalaIndex())
-                .map(i -> getBoard()[i])
-                .sum();
+    public MancalaGame(int boardSize, int pebblesPerPit) {
+        this.boardSize = boardSize;
+        this.pebblesPerPit = pebblesPerPit;
     }
 
-    private void validateHandStartPosition(int position) {
-        checkBoardExtremities(position);
-        checkHandStartingFromMancalaPits(position);
-        checkHandStartingFromEmptyPit(position);
-        checkHandStartingOpponentPits(position);
-
+    public MancalaGame(int boardSize, int pebblesPerPit, RuleVariant variant) {
+        this(boardSize, pebblesPerPit);
+        this.variant = variant;
     }
 
-    private void checkBoardExtremities(int position) {
-        if (position < 0 || position > getPlayerTwoMancalaIndex()) {
-            throw new RuntimeException("Cannot start hand from outside the board");
-        }
+    /**
+     * For the engine, which looks its table up once instead of once per working board.
+     */
+    MancalaGame(int boardSize, int pebblesPerPit, SowingTable sowingTable) {
+        this(boardSize, pebblesPerPit, sowingTable.variant);
+        this.sowingTable = sowingTable;
     }
 
-    private void checkHandStartingFromMancalaPits(int position) {
-        if (position == getPlayerOneMancalaIndex() || position == getPlayerTwoMancalaIndex()) {
-            throw new RuntimeException("Cannot start hand from a Mancala pit");
+    public boolean playHand(int position) {
+        MoveValidation validation = tryPlayHand(position);
+        if (!validation.isLegal() && validation != MoveValidation.GAME_FINISHED) {
+            throw new RuntimeException(validation.getMessage());
         }
+        return !isFinished();
     }
 
-    private void checkHandStartingOpponentPits(int position) {
-        if (!isPlayerOwnPit(position)) {
-            throw new RuntimeException("Cannot start hand fom opponent's pits");
+    /**
+     * Plays the hand if it is legal and otherwise leaves the board untouched. Unlike {@link #playHand(int)}
+     * an illegal hand costs no exception, which keeps rejected clicks as cheap as accepted ones.
+     */
+    public MoveValidation tryPlayHand(int position) {
+        MoveValidation validation = validateHand(position);
+        if (validation.isLegal()) {
+            SowingTable table = getSowingTable();
+            int player = nextPlayer();
+            lastHandPebbles = board[position];
+            int lastPit = distributePebbles(table, player, position);
+            lastHandCapture = table.variant == RuleVariant.KALAH
+                    ? captureOwnEmptyPit(table, player, lastPit)
+                    : captureOpponentRun(table, player, lastPit);
+            lastHandExtraTurn = lastPit == table.mancala[player];
+            if (!lastHandExtraTurn) {
+                setLastPlayer(player);
+            }
         }
+        return validation;
     }
 
-    private void checkHandStartingFromEmptyPit(int position) {
-        if (getBoard()[position] == 0) {
-            throw new RuntimeException("Cannot start hand from empty pit");
-        }
+    public MoveValidation validateHand(int position) {
+        return MoveValidation.of(getBoard(), nextPlayer(), isFinished(), position);
     }
 
-    private int distributePebbles(int position) {
-        int startPebbles = board[position];
-        board[position] = 0;
-        int currentPosition = position;
-        while (startPebbles > 0) {
-            currentPosition = addOnePebbleToTheNextAvailablePit(currentPosition);
-            startPebbles--;
-        }
-        return currentPosition;
+    public boolean isFinished() {
+        return getPlayerOneLivePebbles() == 0 || getPlayerTwoLivePebbles() == 0;
     }
 
-    private int addOnePebbleToTheNextAvailablePit(int currentPosition) {
-        currentPosition = advanceCurrentPosition(currentPosition);
-        board[currentPosition]++;
-        return currentPosition;
+    private int getPlayerOneLivePebbles() {
+        return livePebbles[Constants.PLAYER_ONE_ID];
     }
 
-    private int advanceCurrentPosition(int currentPosition) {
-        currentPosition = handleMovingToTheStartOfTheBoardWhenLastIndexReached(currentPosition);
-        currentPosition = handleJumpingOverOpponentsMancala(currentPosition);
-        return currentPosition;
+    private int getPlayerTwoLivePebbles() {
+        return livePebbles[Constants.PLAYER_TWO_ID];
     }
 
-    private int handleMovingToTheStartOfTheBoardWhenLastIndexReached(int currentPosition) {
-        if (currentPosition < getPlayerTwoMancalaIndex()) {
-            currentPosition++;
-        } else {
-            currentPosition = 0;
+    private void countLivePebbles() {
+        int[] liveIndex = getSowingTable().liveIndex;
+        livePebbles[Constants.PLAYER_ONE_ID] = 0;
+        livePebbles[Constants.PLAYER_TWO_ID] = 0;
+        for (int pit = 0; pit < board.length; pit++) {
+            if (liveIndex[pit] != SowingTable.MANCALA) {
+                livePebbles[liveIndex[pit]] += board[pit];
+            }
         }
-        return currentPosition;
     }
 
-    private int handleJumpingOverOpponentsMancala(int currentPosition) {
-        if (isPlayerOneHandAndNextPitIsThePlayerTwoMancala(currentPosition)) {
-            currentPosition = 0;
-        } else if (isPlayerTwoHandAndNextPitIsThePlayerOneMancala(currentPosition)) {
-            currentPosition++;
+    /**
+     * Empties {@code origin} and sows its pebbles: whole laps at once, then the rest one pit at a time
+     * along the player's next-pit table. Returns the pit the last pebble landed in.
+     */
+    private int distributePebbles(SowingTable table, int player, int origin) {
+        int pebbles = board[origin];
+        board[origin] = 0;
+        livePebbles[player] -= pebbles;
+        int laps = pebbles / table.lapLength;
+        if (laps > 0) {
+            addFullLaps(table, player, origin, laps);
         }
-        return currentPosition;
-    }
-
-    private boolean isPlayerOneHandAndNextPitIsThePlayerTwoMancala(int currentPosition) {
-        return isPlayerOne() && currentPosition == getPlayerTwoMancalaIndex();
-    }
-
-    private boolean isPlayerTwoHandAndNextPitIsThePlayerOneMancala(int currentPosition) {
-        return isPlayerTwo() && currentPosition == getPlayerOneMancalaIndex();
-    }
-
-    private boolean isPlayerLastMoveAOnePebbleInOwnPit(int currentPosition) {
-        return getBoard()[currentPosition] == 1 && isPlayerOwnPit(currentPosition);
-    }
-
-    private boolean isPlayerOwnPit(int currentPosition) {
-        return isPlayerOneOwnPit(currentPosition) || isPlayerTwoOwnPit(currentPosition);
-    }
-
-    private boolean isPlayerOneOwnPit(int currentPosition) {
-        return isPlayerOne() && currentPosition >= 0 && currentPosition < getPlayerOneMancalaIndex();
-    }
-
-    private boolean isPlayerTwoOwnPit(int currentPosition) {
-        return isPlayerTwo() && currentPosition > getPlayerOneMancalaIndex() && currentPosition < getPlayerTwoMancalaIndex();
-    }
-
-    private void tryCapturingEnemyPosition(int currentPosition) {
-        if (payerOneLastPebbleFellInEmptyOwnPit(currentPosition)) {
-            captureFromPositionToMancala(currentPosition, getPlayerOneMancalaIndex());
-        } else if (playerTwoLastPebbleFellIntoEmptyOwnPit(currentPosition)) {
-            captureFromPositionToMancala(currentPosition, getPlayerTwoMancalaIndex());
+        int remainingPebbles = pebbles % table.lapLength;
+        if (remainingPebbles == 0) {
+            return table.lapEnd[origin];
         }
-    }
-
-    private void captureFromPositionToMancala(int currentPosition, int mancala) {
-        getBoard()[mancala] += getBoard()[currentPosition] + getBoard()[getTotalLivePits() - currentPosition];
-        getBoard()[currentPosition] = 0;
-        getBoard()[getTotalLivePits() - currentPosition] = 0;
-    }
-
-    private boolean payerOneLastPebbleFellInEmptyOwnPit(int currentPosition) {
-        return isPlayerOne() && 0 <= currentPosition && currentPosition < getPlayerOneMancalaIndex() && getBoard()[currentPosition] == 1;
-    }
-
-    private boolean playerTwoLastPebbleFellIntoEmptyOwnPit(int currentPosition) {
-        return isPlayerTwo() && getPlayerTwoFirstPitIndex() <= currentPosition && currentPosition < getPlayerTwoMancalaIndex() && getBoard()[currentPosition] == 1;
-    }
-
-    private void changeTurns(int currentPosition) {
-        if (isPlayerOneLatestPositionNotOwnMancala(currentPosition) || isPlayerTwoLatestPositionNotOwnMancala(currentPosition)) {
-            setLastPlayer(nextPlayer());
+        int[] next = table.next[player];
+        int[] rowWeight = table.rowWeight;
+        int pit = origin;
+        int sown = 0;
+        while (remainingPebbles-- > 0) {
+            pit = next[pit];
+            board[pit]++;
+            sown += rowWeight[pit];
         }
+        livePebbles[Constants.PLAYER_ONE_ID] += sown & ((1 << SowingTable.PLAYER_TWO_SHIFT) - 1);
+        livePebbles[Constants.PLAYER_TWO_ID] += sown >>> SowingTable.PLAYER_TWO_SHIFT;
+        return pit;
     }
 
-    private boolean isPlayerTwoLatestPositionNotOwnMancala(int currentPosition) {
-        return nextPlayer() == 1 && currentPosition != getPlayerTwoMancalaIndex();
+    private void addFullLaps(SowingTable table, int player, int origin, int laps) {
+        for (int pit : table.lapPits[player]) {
+            board[pit] += laps;
+        }
+        livePebbles[Constants.PLAYER_ONE_ID] += laps * table.pitsPerPlayer;
+        livePebbles[Constants.PLAYER_TWO_ID] += laps * table.pitsPerPlayer;
+        if (table.skipsOrigin) {
+            board[origin] -= laps;
+            livePebbles[player] -= laps;
+        }
     }
 
-    private boolean isPlayerOneLatestPositionNotOwnMancala(int currentPosition) {
-        return nextPlayer() == 0 && currentPosition != getPlayerOneMancalaIndex();
+    /**
+     * Kalah: a last pebble alone in a pit of the player's own row goes to the player's Mancala together
+     * with the opposite pit.
+     */
+    private boolean captureOwnEmptyPit(SowingTable table, int player, int lastPit) {
+        if (table.liveIndex[lastPit] != player || board[lastPit] != 1) {
+            return false;
+        }
+        int opposite = table.opposite[lastPit];
+        livePebbles[player] -= board[lastPit];
+        livePebbles[1 - player] -= board[opposite];
+        board[table.mancala[player]] += board[lastPit] + board[opposite];
+        board[lastPit] = 0;
+        board[opposite] = 0;
+        return true;
+    }
+
+    /**
+     * Oware: the opponent's pits that now hold two or three pebbles, from the last one backwards until
+     * the first that does not, go to the player's Mancala, unless they are all the opponent has left.
+     */
+    private boolean captureOpponentRun(SowingTable table, int player, int lastPit) {
+        int opponent = 1 - player;
+        int captured = 0;
+        for (int pit = lastPit; isCapturable(table, opponent, pit); pit = table.previous[pit]) {
+            captured += board[pit];
+        }
+        if (captured == 0 || captured == livePebbles[opponent]) {
+            return false;
+        }
+        for (int pit = lastPit; isCapturable(table, opponent, pit); pit = table.previous[pit]) {
+            board[pit] = 0;
+        }
+        livePebbles[opponent] -= captured;
+        board[table.mancala[player]] += captured;
+        return true;
     }
 
-    private boolean isPlayerOne() {
-        return nextPlayer() == Constants.PLAYER_ONE_ID;
+    private boolean isCapturable(SowingTable table, int opponent, int pit) {
+        return pit >= 0 && table.liveIndex[pit] == opponent && (board[pit] == 2 || board[pit] == 3);
     }
 
-    private boolean isPlayerTwo() {
-        return !isPlayerOne();
+    private SowingTable getSowingTable() {
+        if (sowingTable == null) {
+            sowingTable = SowingTable.of(getBoardSize(), variant);
+        }
+        return sowingTable;
     }
 
     public int nextPlayer() {
@@ -201,13 +203,27 @@ public class MancalaGame {
 
     public int[] getBoard() {
         if (board.length <= 1) {
-            board = new int[getBoardSize()];
+            setBoard(new int[getBoardSize()]);
         }
         return board;
     }
 
     public void setBoard(int[] board) {
         this.board = board;
+        lastHandPebbles = 0;
+        lastHandCapture = false;
+        lastHandExtraTurn = false;
+        countLivePebbles();
+    }
+
+    /**
+     * Copies {@code source} into the current board, which must have the same size, so one working board
+     * can be reset to a parent position for each of its children without allocating.
+     */
+    void copyBoardFrom(int[] source, int lastPlayer) {
+        System.arraycopy(source, 0, board, 0, board.length);
+        setBoard(board);
+        setLastPlayer(lastPlayer);
     }
 
     public void resetBoard() {
@@ -219,6 +235,21 @@ public class MancalaGame {
         setLastPlayer(1);
     }
 
+    /**
+     * Number of pebbles picked up by the last hand played on this board, or 0 before the first hand.
+     */
+    public int getLastHandPebbles() {
+        return lastHandPebbles;
+    }
+
+    public boolean isLastHandCapture() {
+        return lastHandCapture;
+    }
+
+    public boolean isLastHandExtraTurn() {
+        return lastHandExtraTurn;
+    }
+
     public int getLastPlayer() {
         return lastPlayer;
     }
@@ -251,11 +282,11 @@ public class MancalaGame {
     }
 
     public int getPlayerOneTotalPebbles() {
-        return getPlayerOneLivePebbles() + getBoard()[getPlayerOneMancalaIndex()];
+        return getPlayerOneLivePebbles() + getBoard()[getSowingTable().mancala[Constants.PLAYER_ONE_ID]];
     }
 
     public int getPlayerTwoTotalPebbles() {
-        return getPlayerTwoLivePebbles() + getBoard()[getPlayerTwoMancalaIndex()];
+        return getPlayerTwoLivePebbles() + getBoard()[getSowingTable().mancala[Constants.PLAYER_TWO_ID]];
     }
 
     public int getBoardSize() {
@@ -267,6 +298,7 @@ public class MancalaGame {
 
     public void setBoardSize(int boardSize) {
         this.boardSize = boardSize;
+        this.sowingTable = null;
     }
 
     public int getPebblesPerPit() {
@@ -280,10 +312,23 @@ public class MancalaGame {
         this.pebblesPerPit = pebblesPerPit;
     }
 
+    public RuleVariant getVariant() {
+        return variant;
+    }
+
+    public void setVariant(RuleVariant variant) {
+        this.variant = variant;
+        this.sowingTable = null;
+    }
+
     public int getTotalLivePits() {
         return getBoardSize() - 2;
     }
 
+    public int getPitsPerPlayer() {
+        return getPlayerOneMancalaIndex();
+    }
+
     public int getPlayerTwoFirstPitIndex() {
         return getBoardSize() / 2;
     }
@@ -0,0 +1,141 @@
+package com.bol.games.mancala.rules;
+
+import com.bol.games.mancala.constants.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stateless move engine. Every call works on its own thread-confined {@link MancalaGame}, so a single
+ * instance can serve any number of request threads without locking.
+ */
+@Component
+public class MancalaGameEngine {
+    private final int boardSize;
+    private final int pebblesPerPit;
+    private final RuleVariant variant;
+    private final SowingTable sowingTable;
+
+    public MancalaGameEngine(int boardSize, int pebblesPerPit) {
+        this(boardSize, pebblesPerPit, RuleVariant.KALAH);
+    }
+
+    @Autowired
+    public MancalaGameEngine(@Value("${mancala.game.boardsize:14}") int boardSize,
+                             @Value("${mancala.game.pebbles:6}") int pebblesPerPit,
+                             @Value("${mancala.game.variant:KALAH}") RuleVariant variant) {
+        this.boardSize = boardSize;
+        this.pebblesPerPit = pebblesPerPit;
+        this.variant = variant;
+        this.sowingTable = SowingTable.of(boardSize, variant);
+    }
+
+    public MancalaPosition newGame() {
+        MancalaGame mancalaGame = newMancalaGame();
+        mancalaGame.resetBoard();
+        return MancalaPosition.snapshot(mancalaGame);
+    }
+
+    public MancalaPosition position(int[] board, int turnPlayer) {
+        return MancalaPosition.snapshot(load(board, turnPlayer));
+    }
+
+    /**
+     * Checks that {@code board} is one this engine can load, before it is turned into a position; any other
+     * board would fail deep inside the sowing rules.
+     */
+    public MoveValidation validateBoard(int[] board) {
+        return board != null && board.length == boardSize ? MoveValidation.LEGAL : MoveValidation.INVALID_BOARD;
+    }
+
+    /**
+     * Checks {@code pit} against the position without building a working board, so refusing a hand
+     * allocates nothing.
+     */
+    public MoveValidation validate(MancalaPosition position, int pit) {
+        return MoveValidation.of(position.board(), position.getTurnPlayer(), position.isFinished(), pit);
+    }
+
+    public MancalaPosition play(MancalaPosition position, int pit) {
+        MancalaGame mancalaGame = load(position.board(), position.getTurnPlayer());
+        mancalaGame.playHand(pit);
+        return MancalaPosition.snapshot(mancalaGame);
+    }
+
+    /**
+     * Plays {@code pits} in order on a single working board and stops at the first illegal hand, which
+     * leaves the board as it was before that hand. {@code afterEachHand}, if not null, receives the
+     * position after every accepted hand.
+     */
+    public PlayedSequence playSequence(MancalaPosition position, int[] pits, Consumer<MancalaPosition> afterEachHand) {
+        MancalaGame mancalaGame = load(position.board(), position.getTurnPlayer());
+        for (int hand = 0; hand < pits.length; hand++) {
+            MoveValidation validation = mancalaGame.tryPlayHand(pits[hand]);
+            if (!validation.isLegal()) {
+                return new PlayedSequence(MancalaPosition.snapshot(mancalaGame), hand, hand, validation);
+            }
+            if (afterEachHand != null) {
+                afterEachHand.accept(MancalaPosition.copyOf(mancalaGame));
+            }
+        }
+        return new PlayedSequence(MancalaPosition.snapshot(mancalaGame), pits.length, -1, MoveValidation.LEGAL);
+    }
+
+    /**
+     * Returns every legal hand of the player to move with the position it leads to, in pit order, or an
+     * empty list when the game is finished. All children are played on one working board that is reset
+     * from the parent between hands, so the only allocation per child is its own snapshot.
+     */
+    public List<MancalaSuccessor> successors(MancalaPosition position) {
+        if (position.isFinished()) {
+            return Collections.emptyList();
+        }
+        int[] parent = position.board();
+        int lastPlayer = calculateLastPlayer(position.getTurnPlayer());
+        MancalaGame mancalaGame = load(parent, position.getTurnPlayer());
+        List<MancalaSuccessor> successors = new ArrayList<>(parent.length / 2 - 1);
+        for (int pit = 0; pit < parent.length; pit++) {
+            if (mancalaGame.tryPlayHand(pit).isLegal()) {
+                successors.add(new MancalaSuccessor(pit, MancalaPosition.copyOf(mancalaGame)));
+                mancalaGame.copyBoardFrom(parent, lastPlayer);
+            }
+        }
+        return successors;
+    }
+
+    private MancalaGame load(int[] board, int turnPlayer) {
+        MancalaGame mancalaGame = newMancalaGame();
+        mancalaGame.setBoard(board.clone());
+        mancalaGame.setLastPlayer(calculateLastPlayer(turnPlayer));
+        return mancalaGame;
+    }
+
+    /**
+     * Returns an empty working board with this engine's configuration, for callers that replay many hands
+     * on one thread-confined game, such as journal recovery.
+     */
+    public MancalaGame newMancalaGame() {
+        return new MancalaGame(boardSize, pebblesPerPit, sowingTable);
+    }
+
+    private int calculateLastPlayer(int turnPlayer) {
+        return turnPlayer == Constants.PLAYER_ONE_ID ? Constants.PLAYER_TWO_ID : Constants.PLAYER_ONE_ID;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getPebblesPerPit() {
+        return pebblesPerPit;
+    }
+
+    public RuleVariant getVariant() {
+        return variant;
+    }
+}
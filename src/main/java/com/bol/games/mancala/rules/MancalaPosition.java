@@ -0,0 +1,126 @@
+package com.bol.games.mancala.rules;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of a game: the pits, the player to move and the derived end-of-game facts.
+ * Instances are created by {@link MancalaGameEngine} and can be shared freely between threads.
+ */
+public final class MancalaPosition {
+    private final int[] board;
+    private final int turnPlayer;
+    private final boolean finished;
+    private final Integer winningPlayer;
+    private final Integer winningPlayerScore;
+    private final int lastHandPebbles;
+    private final boolean lastHandCapture;
+    private final boolean lastHandExtraTurn;
+
+    MancalaPosition(int[] board, int turnPlayer, boolean finished, Integer winningPlayer, Integer winningPlayerScore,
+                    int lastHandPebbles, boolean lastHandCapture, boolean lastHandExtraTurn) {
+        this.board = board;
+        this.turnPlayer = turnPlayer;
+        this.finished = finished;
+        this.winningPlayer = winningPlayer;
+        this.winningPlayerScore = winningPlayerScore;
+        this.lastHandPebbles = lastHandPebbles;
+        this.lastHandCapture = lastHandCapture;
+        this.lastHandExtraTurn = lastHandExtraTurn;
+    }
+
+    static MancalaPosition snapshot(MancalaGame mancalaGame) {
+        return new MancalaPosition(mancalaGame.getBoard(),
+                mancalaGame.nextPlayer(),
+                mancalaGame.isFinished(),
+                mancalaGame.getWinningPlayer(),
+                mancalaGame.getWinningPlayerScore(),
+                mancalaGame.getLastHandPebbles(),
+                mancalaGame.isLastHandCapture(),
+                mancalaGame.isLastHandExtraTurn());
+    }
+
+    /**
+     * Like {@link #snapshot(MancalaGame)}, but copies the board so the game can keep being played.
+     */
+    static MancalaPosition copyOf(MancalaGame mancalaGame) {
+        return new MancalaPosition(mancalaGame.getBoard().clone(),
+                mancalaGame.nextPlayer(),
+                mancalaGame.isFinished(),
+                mancalaGame.getWinningPlayer(),
+                mancalaGame.getWinningPlayerScore(),
+                mancalaGame.getLastHandPebbles(),
+                mancalaGame.isLastHandCapture(),
+                mancalaGame.isLastHandExtraTurn());
+    }
+
+    public int[] getBoard() {
+        return board.clone();
+    }
+
+    public int getPebbles(int pit) {
+        return board[pit];
+    }
+
+    public int getBoardSize() {
+        return board.length;
+    }
+
+    public int getTurnPlayer() {
+        return turnPlayer;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public Integer getWinningPlayer() {
+        return winningPlayer;
+    }
+
+    public Integer getWinningPlayerScore() {
+        return winningPlayerScore;
+    }
+
+    /**
+     * Describes the hand that led to this position: the pebbles it sowed, and whether it captured or earned
+     * an extra turn. Positions that were not reached by a hand report 0 and false. These facts are not part
+     * of {@link #equals(Object)}.
+     */
+    public int getLastHandPebbles() {
+        return lastHandPebbles;
+    }
+
+    public boolean isLastHandCapture() {
+        return lastHandCapture;
+    }
+
+    public boolean isLastHandExtraTurn() {
+        return lastHandExtraTurn;
+    }
+
+    int[] board() {
+        return board;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MancalaPosition)) {
+            return false;
+        }
+        MancalaPosition that = (MancalaPosition) o;
+        return turnPlayer == that.turnPlayer && Arrays.equals(board, that.board);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(board) + turnPlayer;
+    }
+
+    @Override
+    public String toString() {
+        return "MancalaPosition{board=" + Arrays.toString(board) + ", turnPlayer=" + turnPlayer + '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.bol.games.mancala.rules;
+
+/**
+ * A legal hand and the position it leads to, see {@link MancalaGameEngine#successors(MancalaPosition)}.
+ * Whether the hand captured or earned an extra turn is on the position.
+ */
+public final class MancalaSuccessor {
+    private final int pit;
+    private final MancalaPosition position;
+
+    MancalaSuccessor(int pit, MancalaPosition position) {
+        this.pit = pit;
+        this.position = position;
+    }
+
+    public int getPit() {
+        return pit;
+    }
+
+    public MancalaPosition getPosition() {
+        return position;
+    }
+}
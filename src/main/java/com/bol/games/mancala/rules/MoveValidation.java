@@ -0,0 +1,53 @@
+package com.bol.games.mancala.rules;
+
+import com.bol.games.mancala.constants.Constants;
+
+/**
+ * Outcome of checking a hand before it is played: {@link #LEGAL} or the reason it is refused. Checking
+ * never allocates, so illegal hands cost no more than legal ones; callers that need an exception can
+ * still build one from {@link #getMessage()}.
+ */
+public enum MoveValidation {
+    LEGAL(""),
+    GAME_FINISHED("Cannot play a hand in a finished game"),
+    OUTSIDE_BOARD("Cannot start hand from outside the board"),
+    MANCALA_PIT("Cannot start hand from a Mancala pit"),
+    EMPTY_PIT("Cannot start hand from empty pit"),
+    OPPONENT_PIT("Cannot start hand fom opponent's pits"),
+    INVALID_BOARD("Cannot play a hand on a missing board or one with the wrong number of pits");
+
+    private final String message;
+
+    MoveValidation(String message) {
+        this.message = message;
+    }
+
+    public boolean isLegal() {
+        return this == LEGAL;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    static MoveValidation of(int[] board, int turnPlayer, boolean finished, int pit) {
+        int playerOneMancala = board.length / 2 - 1;
+        int playerTwoMancala = board.length - 1;
+        if (finished) {
+            return GAME_FINISHED;
+        }
+        if (pit < 0 || pit > playerTwoMancala) {
+            return OUTSIDE_BOARD;
+        }
+        if (pit == playerOneMancala || pit == playerTwoMancala) {
+            return MANCALA_PIT;
+        }
+        if (board[pit] == 0) {
+            return EMPTY_PIT;
+        }
+        if ((turnPlayer == Constants.PLAYER_ONE_ID) != (pit < playerOneMancala)) {
+            return OPPONENT_PIT;
+        }
+        return LEGAL;
+    }
+}
@@ -0,0 +1,293 @@
+package com.bol.games.mancala.rules;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.model.MancalaGameState;
+
+/**
+ * Compact, mutable position for search and bulk simulation. Every pit takes 7 bits: player one's pits
+ * and Mancala live in {@code low}, player two's in {@code high}, and the top bit of {@code high} holds
+ * the player to move. Boards of up to 14 pits with at most 127 pebbles in total fit, which covers the
+ * default game. {@link #play(int)} works on the two longs in place and never allocates, so callers can
+ * save {@link #getLow()}/{@link #getHigh()} and restore them with {@link #set(long, long)} to undo a move.
+ */
+public final class PackedPosition {
+    public static final int MAX_BOARD_SIZE = 14;
+    public static final int MAX_PEBBLES = 127;
+
+    public static final int EXTRA_TURN = 1;
+    public static final int CAPTURE = 2;
+
+    private static final int BITS_PER_PIT = 7;
+    private static final long PIT_MASK = (1L << BITS_PER_PIT) - 1;
+    private static final long TURN_BIT = 1L << 63;
+
+    private final int boardSize;
+    private final int half;
+    private final long lapOfOwnSide;
+    private final long lapWithoutMancala;
+    private long low;
+    private long high;
+
+    public PackedPosition(int boardSize) {
+        if (boardSize < 4 || boardSize > MAX_BOARD_SIZE || boardSize % 2 != 0) {
+            throw new IllegalArgumentException("Packed positions support even board sizes from 4 to " + MAX_BOARD_SIZE);
+        }
+        this.boardSize = boardSize;
+        this.half = boardSize / 2;
+        long lap = 0;
+        for (int slot = 0; slot < half; slot++) {
+            lap |= 1L << (slot * BITS_PER_PIT);
+        }
+        this.lapOfOwnSide = lap;
+        this.lapWithoutMancala = lap & ~(PIT_MASK << ((half - 1) * BITS_PER_PIT));
+    }
+
+    public static PackedPosition newGame(int boardSize, int pebblesPerPit) {
+        PackedPosition position = new PackedPosition(boardSize);
+        int[] board = new int[boardSize];
+        for (int pit = 0; pit < boardSize; pit++) {
+            board[pit] = pit == position.getPlayerOneMancalaIndex() || pit == position.getPlayerTwoMancalaIndex() ? 0 : pebblesPerPit;
+        }
+        position.load(board, Constants.PLAYER_ONE_ID);
+        return position;
+    }
+
+    public static PackedPosition of(int[] board, int turnPlayer) {
+        PackedPosition position = new PackedPosition(board.length);
+        position.load(board, turnPlayer);
+        return position;
+    }
+
+    public static PackedPosition fromState(MancalaGameState state) {
+        PackedPosition position = new PackedPosition(state.getBoard().length);
+        position.load(state.getBoard(), state.getTurnPlayer());
+        return position;
+    }
+
+    public static PackedPosition fromPosition(MancalaPosition mancalaPosition) {
+        PackedPosition position = new PackedPosition(mancalaPosition.getBoardSize());
+        position.load(mancalaPosition.board(), mancalaPosition.getTurnPlayer());
+        return position;
+    }
+
+    private void load(int[] board, int turnPlayer) {
+        long packedLow = 0;
+        long packedHigh = 0;
+        int total = 0;
+        for (int pit = 0; pit < boardSize; pit++) {
+            if (board[pit] < 0) {
+                throw new IllegalArgumentException("Pits cannot hold a negative number of pebbles");
+            }
+            total += board[pit];
+            if (pit < half) {
+                packedLow |= (long) board[pit] << (pit * BITS_PER_PIT);
+            } else {
+                packedHigh |= (long) board[pit] << ((pit - half) * BITS_PER_PIT);
+            }
+        }
+        if (total > MAX_PEBBLES) {
+            throw new IllegalArgumentException("Packed positions hold at most " + MAX_PEBBLES + " pebbles");
+        }
+        set(packedLow, turnPlayer == Constants.PLAYER_TWO_ID ? packedHigh | TURN_BIT : packedHigh);
+    }
+
+    public MancalaGameState toState() {
+        int winner = getWinningPlayer();
+        return MancalaGameState.builder()
+                .board(toBoard())
+                .turnPlayer(getTurnPlayer())
+                .isFinished(isFinished())
+                .winningPlayer(winner)
+                .winningPlayerScore(winner == Constants.PLAYER_ONE_ID ? getPlayerOneTotalPebbles()
+                        : winner == Constants.PLAYER_TWO_ID ? getPlayerTwoTotalPebbles() : 0)
+                .message("")
+                .build();
+    }
+
+    public int[] toBoard() {
+        int[] board = new int[boardSize];
+        for (int pit = 0; pit < boardSize; pit++) {
+            board[pit] = getPebbles(pit);
+        }
+        return board;
+    }
+
+    public int getPebbles(int pit) {
+        return pit < half
+                ? (int) ((low >>> (pit * BITS_PER_PIT)) & PIT_MASK)
+                : (int) ((high >>> ((pit - half) * BITS_PER_PIT)) & PIT_MASK);
+    }
+
+    private void addPebbles(int pit, long pebbles) {
+        if (pit < half) {
+            low += pebbles << (pit * BITS_PER_PIT);
+        } else {
+            high += pebbles << ((pit - half) * BITS_PER_PIT);
+        }
+    }
+
+    public int getTurnPlayer() {
+        return high < 0 ? Constants.PLAYER_TWO_ID : Constants.PLAYER_ONE_ID;
+    }
+
+    public boolean isLegal(int pit) {
+        return !isFinished() && isOwnPit(pit) && getPebbles(pit) > 0;
+    }
+
+    private boolean isOwnPit(int pit) {
+        return getTurnPlayer() == Constants.PLAYER_ONE_ID
+                ? pit >= 0 && pit < getPlayerOneMancalaIndex()
+                : pit >= half && pit < getPlayerTwoMancalaIndex();
+    }
+
+    /**
+     * Plays a legal hand from {@code pit}, see {@link #isLegal(int)}. Returns a combination of
+     * {@link #EXTRA_TURN} and {@link #CAPTURE} describing the outcome.
+     */
+    public int play(int pit) {
+        boolean playerOne = getTurnPlayer() == Constants.PLAYER_ONE_ID;
+        int pebbles = getPebbles(pit);
+        addPebbles(pit, -pebbles);
+
+        int sowablePits = boardSize - 1;
+        long laps = pebbles / sowablePits;
+        if (laps > 0) {
+            low += laps * (playerOne ? lapOfOwnSide : lapWithoutMancala);
+            high += laps * (playerOne ? lapWithoutMancala : lapOfOwnSide);
+        }
+        int skippedMancala = playerOne ? getPlayerTwoMancalaIndex() : getPlayerOneMancalaIndex();
+        int current = pit;
+        for (int remaining = pebbles % sowablePits; remaining > 0; remaining--) {
+            current = current == getPlayerTwoMancalaIndex() ? 0 : current + 1;
+            if (current == skippedMancala) {
+                current = current == getPlayerTwoMancalaIndex() ? 0 : current + 1;
+            }
+            addPebbles(current, 1);
+        }
+
+        int outcome = 0;
+        if (isOwnPit(current) && getPebbles(current) == 1) {
+            int opposite = boardSize - 2 - current;
+            int captured = 1 + getPebbles(opposite);
+            addPebbles(current, -1);
+            addPebbles(opposite, -getPebbles(opposite));
+            addPebbles(playerOne ? getPlayerOneMancalaIndex() : getPlayerTwoMancalaIndex(), captured);
+            outcome |= CAPTURE;
+        }
+        if (current == (playerOne ? getPlayerOneMancalaIndex() : getPlayerTwoMancalaIndex())) {
+            outcome |= EXTRA_TURN;
+        } else {
+            high ^= TURN_BIT;
+        }
+        return outcome;
+    }
+
+    public boolean isFinished() {
+        return getPlayerOneLivePebbles() == 0 || getPlayerTwoLivePebbles() == 0;
+    }
+
+    public int getPlayerOneLivePebbles() {
+        return sumOfLivePits(low);
+    }
+
+    public int getPlayerTwoLivePebbles() {
+        return sumOfLivePits(high);
+    }
+
+    private int sumOfLivePits(long side) {
+        int sum = 0;
+        for (int slot = 0; slot < half - 1; slot++) {
+            sum += (int) ((side >>> (slot * BITS_PER_PIT)) & PIT_MASK);
+        }
+        return sum;
+    }
+
+    public int getPlayerOneTotalPebbles() {
+        return getPlayerOneLivePebbles() + getPebbles(getPlayerOneMancalaIndex());
+    }
+
+    public int getPlayerTwoTotalPebbles() {
+        return getPlayerTwoLivePebbles() + getPebbles(getPlayerTwoMancalaIndex());
+    }
+
+    /**
+     * Returns the winner of a finished game, or -1 while the game runs or when it ended in a draw.
+     */
+    public int getWinningPlayer() {
+        if (!isFinished()) {
+            return -1;
+        }
+        int compareResult = Integer.compare(getPlayerOneTotalPebbles(), getPlayerTwoTotalPebbles());
+        return compareResult > 0 ? Constants.PLAYER_ONE_ID : compareResult < 0 ? Constants.PLAYER_TWO_ID : -1;
+    }
+
+    public long hash() {
+        return mix(low * 0x9E3779B97F4A7C15L ^ high);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public void set(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    public PackedPosition copy() {
+        PackedPosition copy = new PackedPosition(boardSize);
+        copy.set(low, high);
+        return copy;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getPitsPerPlayer() {
+        return half - 1;
+    }
+
+    public int getPlayerTwoFirstPitIndex() {
+        return half;
+    }
+
+    public int getPlayerOneMancalaIndex() {
+        return half - 1;
+    }
+
+    public int getPlayerTwoMancalaIndex() {
+        return boardSize - 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PackedPosition)) {
+            return false;
+        }
+        PackedPosition that = (PackedPosition) o;
+        return boardSize == that.boardSize && low == that.low && high == that.high;
+    }
+
+    @Override
+    public int hashCode() {
+        long hash = hash();
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,41 @@
+package com.bol.games.mancala.rules;
+
+/**
+ * Outcome of {@link MancalaGameEngine#playSequence}: the position reached, how many hands were accepted
+ * and, when the sequence stopped early, the index of the rejected hand and the reason.
+ */
+public final class PlayedSequence {
+    private final MancalaPosition position;
+    private final int appliedHands;
+    private final int rejectedHand;
+    private final MoveValidation rejection;
+
+    PlayedSequence(MancalaPosition position, int appliedHands, int rejectedHand, MoveValidation rejection) {
+        this.position = position;
+        this.appliedHands = appliedHands;
+        this.rejectedHand = rejectedHand;
+        this.rejection = rejection;
+    }
+
+    public MancalaPosition getPosition() {
+        return position;
+    }
+
+    public int getAppliedHands() {
+        return appliedHands;
+    }
+
+    /**
+     * Returns the index of the first illegal hand, or -1 when every hand was accepted.
+     */
+    public int getRejectedHand() {
+        return rejectedHand;
+    }
+
+    /**
+     * Returns why the sequence stopped, or {@link MoveValidation#LEGAL} when every hand was accepted.
+     */
+    public MoveValidation getRejection() {
+        return rejection;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bol.games.mancala.rules;
+
+/**
+ * Sowing and capture rules of the {@link MancalaGameEngine}. Both variants play on the same board of two
+ * rows of pits, each followed by its player's Mancala, and end once either row is empty.
+ */
+public enum RuleVariant {
+    /**
+     * Sowing passes the player's own Mancala but not the opponent's. A hand that ends in the own Mancala
+     * earns another turn, and one that ends in an empty pit of the player's own row captures that pebble
+     * together with the opposite pit.
+     */
+    KALAH,
+    /**
+     * Sowing passes neither Mancala and skips the pit the hand started from, so the Mancalas only hold
+     * captures and there are no extra turns. A hand whose last pebble brings a pit of the opponent's row
+     * to two or three pebbles captures it and every pit before it in that row that holds two or three too,
+     * unless that would take all of the opponent's pebbles. As in Oware, a game down to its last few
+     * pebbles can go round in circles; such games end when the players abandon them.
+     */
+    OWARE
+}
@@ -0,0 +1,128 @@
+package com.bol.games.mancala.rules;
+
+import com.bol.games.mancala.constants.Constants;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Board geometry of one board size and {@link RuleVariant}, worked out once so that sowing and capturing
+ * are plain array lookups: where the next pebble of each player's hand goes, which pit lies opposite,
+ * whose row a pit belongs to and which pits a full lap around the board fills. Tables are immutable and
+ * shared by every {@link MancalaGame} of the same configuration.
+ */
+final class SowingTable {
+    /**
+     * {@link #liveIndex} of the two Mancalas, whose pebbles count for neither player's row.
+     */
+    static final int MANCALA = 2;
+    /**
+     * Shift of player two's count in a {@link #rowWeight} sum.
+     */
+    static final int PLAYER_TWO_SHIFT = 16;
+
+    private static final ConcurrentHashMap<Integer, SowingTable> TABLES = new ConcurrentHashMap<>();
+
+    final RuleVariant variant;
+    final int pitsPerPlayer;
+    /**
+     * Pebbles in one full lap; hands of at least this many pebbles are sown lap by lap.
+     */
+    final int lapLength;
+    final boolean skipsOrigin;
+    final int[] mancala;
+    /**
+     * Per player, the pit a pebble sown after {@code pit} lands in.
+     */
+    final int[][] next;
+    /**
+     * Per player, every pit a full lap puts a pebble in, before skipping the pit the hand started from.
+     */
+    final int[][] lapPits;
+    /**
+     * Per starting pit, where the last pebble of a hand of whole laps lands: the starting pit itself,
+     * unless the variant skips it.
+     */
+    final int[] lapEnd;
+    final int[] opposite;
+    /**
+     * Per pit, the player whose row it belongs to, or {@link #MANCALA}.
+     */
+    final int[] liveIndex;
+    /**
+     * Per pit, 1 for player one's row, {@code 1 << PLAYER_TWO_SHIFT} for player two's and 0 for the
+     * Mancalas, so that summing the weights of the pits a hand sows counts both rows in one register.
+     */
+    final int[] rowWeight;
+    /**
+     * Per pit, the pit before it in the same row, or -1 for the first pit of a row and the Mancalas.
+     */
+    final int[] previous;
+
+    private SowingTable(int boardSize, RuleVariant variant) {
+        this.variant = variant;
+        this.pitsPerPlayer = boardSize / 2 - 1;
+        this.mancala = new int[]{pitsPerPlayer, boardSize - 1};
+        this.skipsOrigin = variant == RuleVariant.OWARE;
+        this.lapLength = variant == RuleVariant.OWARE ? boardSize - 3 : boardSize - 1;
+        this.liveIndex = new int[boardSize];
+        this.opposite = new int[boardSize];
+        this.previous = new int[boardSize];
+        this.rowWeight = new int[boardSize];
+        for (int pit = 0; pit < boardSize; pit++) {
+            boolean isMancala = pit == mancala[Constants.PLAYER_ONE_ID] || pit == mancala[Constants.PLAYER_TWO_ID];
+            liveIndex[pit] = isMancala ? MANCALA : pit < pitsPerPlayer ? Constants.PLAYER_ONE_ID : Constants.PLAYER_TWO_ID;
+            rowWeight[pit] = isMancala ? 0 : pit < pitsPerPlayer ? 1 : 1 << PLAYER_TWO_SHIFT;
+            opposite[pit] = isMancala ? -1 : boardSize - 2 - pit;
+            previous[pit] = isMancala || pit == 0 || pit == pitsPerPlayer + 1 ? -1 : pit - 1;
+        }
+        this.next = new int[][]{nextPits(boardSize, Constants.PLAYER_ONE_ID), nextPits(boardSize, Constants.PLAYER_TWO_ID)};
+        this.lapPits = new int[][]{lapPits(boardSize, Constants.PLAYER_ONE_ID), lapPits(boardSize, Constants.PLAYER_TWO_ID)};
+        this.lapEnd = new int[boardSize];
+        for (int pit = 0; pit < boardSize; pit++) {
+            int end = pit;
+            if (skipsOrigin) {
+                do {
+                    end = (end + boardSize - 1) % boardSize;
+                } while (liveIndex[end] == MANCALA);
+            }
+            lapEnd[pit] = end;
+        }
+    }
+
+    static SowingTable of(int boardSize, RuleVariant variant) {
+        Integer key = boardSize * RuleVariant.values().length + variant.ordinal();
+        SowingTable table = TABLES.get(key);
+        return table != null ? table : TABLES.computeIfAbsent(key, k -> new SowingTable(boardSize, variant));
+    }
+
+    private int[] nextPits(int boardSize, int player) {
+        int[] nextPits = new int[boardSize];
+        for (int pit = 0; pit < boardSize; pit++) {
+            int nextPit = (pit + 1) % boardSize;
+            while (!isSownBy(nextPit, player)) {
+                nextPit = (nextPit + 1) % boardSize;
+            }
+            nextPits[pit] = nextPit;
+        }
+        return nextPits;
+    }
+
+    private int[] lapPits(int boardSize, int player) {
+        int[] pits = new int[boardSize];
+        int count = 0;
+        for (int pit = 0; pit < boardSize; pit++) {
+            if (isSownBy(pit, player)) {
+                pits[count++] = pit;
+            }
+        }
+        return Arrays.copyOf(pits, count);
+    }
+
+    private boolean isSownBy(int pit, int player) {
+        if (liveIndex[pit] != MANCALA) {
+            return true;
+        }
+        return variant == RuleVariant.KALAH && pit == mancala[player];
+    }
+}
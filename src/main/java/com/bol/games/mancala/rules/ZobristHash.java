@@ -0,0 +1,43 @@
+package com.bol.games.mancala.rules;
+
+/**
+ * Zobrist-style position hash: the XOR of one key per (pit, pebble count) and a key for player two to
+ * move. Pebble counts are unbounded, so the keys are derived by mixing instead of being looked up in a
+ * random table.
+ */
+public final class ZobristHash {
+    private static final long PIT_SEED = 0x2545F4914F6CDD1DL;
+    private static final long MOVE_SEED = 0x5DEECE66DL;
+    private static final long PLAYER_TWO_KEY = mix(0x9E3779B97F4A7C15L);
+
+    private ZobristHash() {
+    }
+
+    public static long of(int[] board, int turnPlayer) {
+        long hash = turnPlayer == 0 ? 0 : PLAYER_TWO_KEY;
+        for (int pit = 0; pit < board.length; pit++) {
+            hash ^= pitKey(pit, board[pit]);
+        }
+        return hash;
+    }
+
+    /**
+     * Hash of playing {@code pit} from the position with the given hash, for caching hand results.
+     */
+    public static long withMove(long hash, int pit) {
+        return hash ^ mix(MOVE_SEED + pit);
+    }
+
+    private static long pitKey(int pit, int pebbles) {
+        return mix(PIT_SEED ^ ((long) pit << 32 | pebbles));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
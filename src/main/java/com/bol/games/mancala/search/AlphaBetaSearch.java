@@ -0,0 +1,250 @@
+package com.bol.games.mancala.search;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.tablebase.EndgameTablebase;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Iterative-deepening negamax with alpha-beta pruning over {@link PackedPosition}s. Scores are pebble
+ * differences from the point of view of the player to move; a hand that ends in the player's own Mancala
+ * keeps the same player to move, so its score is taken as is instead of being negated.
+ * Positions covered by the {@link EndgameTablebase} are scored exactly without searching further.
+ * An instance keeps per-search buffers and must not be shared between threads; the
+ * {@link TranspositionTable} can be.
+ */
+public class AlphaBetaSearch {
+    public static final int MAX_DEPTH = 64;
+
+    static final int INFINITY = 30000;
+    private static final long TIME_CHECK_MASK = 4095;
+
+    private final TranspositionTable transpositionTable;
+    private final AtomicBoolean stopSignal;
+    private final EndgameTablebase tablebase;
+    private final int[][] moveBuffers = new int[MAX_DEPTH + 1][PackedPosition.MAX_BOARD_SIZE];
+    private final int[][] orderBuffers = new int[MAX_DEPTH + 1][PackedPosition.MAX_BOARD_SIZE];
+    private long nodes;
+    private long deadline;
+    private boolean aborted;
+    private int rootBestPit;
+
+    public AlphaBetaSearch(TranspositionTable transpositionTable) {
+        this(transpositionTable, EndgameTablebase.empty());
+    }
+
+    public AlphaBetaSearch(TranspositionTable transpositionTable, EndgameTablebase tablebase) {
+        this(transpositionTable, tablebase, new AtomicBoolean());
+    }
+
+    AlphaBetaSearch(TranspositionTable transpositionTable, EndgameTablebase tablebase, AtomicBoolean stopSignal) {
+        this.transpositionTable = transpositionTable;
+        this.tablebase = tablebase;
+        this.stopSignal = stopSignal;
+    }
+
+    public SearchResult search(PackedPosition root, int maxDepth, long timeBudgetMillis) {
+        transpositionTable.newSearch();
+        return iterativeDeepening(root, maxDepth, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis), 1);
+    }
+
+    /**
+     * Deepens from {@code firstDepth} until {@code maxDepth}, the deadline or the shared stop signal.
+     * Lazy SMP helpers call this directly with staggered first depths so they fill the shared table
+     * ahead of the main thread.
+     */
+    SearchResult iterativeDeepening(PackedPosition root, int maxDepth, long deadline, int firstDepth) {
+        long start = System.nanoTime();
+        this.deadline = deadline;
+        nodes = 0;
+        aborted = false;
+
+        PackedPosition position = root.copy();
+        int bestPit = -1;
+        int bestScore = position.isFinished() ? finalScore(position) : evaluate(position);
+        int depthReached = 0;
+        if (!position.isFinished()) {
+            bestPit = firstLegalPit(position);
+            for (int depth = firstDepth; depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+                int score = negamax(position, depth, 0, -INFINITY, INFINITY);
+                if (aborted) {
+                    break;
+                }
+                bestScore = score;
+                bestPit = rootBestPit;
+                depthReached = depth;
+            }
+        }
+        return new SearchResult(bestPit, bestScore, principalVariation(root, bestPit, depthReached),
+                depthReached, nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Scores the hand from {@code pit} in {@code root} at the given depth, from the point of view of the
+     * player to move in {@code root}. Used to split the root moves between fork-join tasks.
+     */
+    int scoreRootMove(PackedPosition root, int pit, int depth, int alpha, int beta, long deadline) {
+        this.deadline = deadline;
+        aborted = false;
+        PackedPosition position = root.copy();
+        position.play(pit);
+        return position.getTurnPlayer() == root.getTurnPlayer()
+                ? negamax(position, depth - 1, 1, alpha, beta)
+                : -negamax(position, depth - 1, 1, -beta, -alpha);
+    }
+
+    boolean isAborted() {
+        return aborted;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    private int negamax(PackedPosition position, int depth, int ply, int alpha, int beta) {
+        nodes++;
+        if ((nodes & TIME_CHECK_MASK) == 0 && (System.nanoTime() > deadline || stopSignal.get())) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (position.isFinished()) {
+            return finalScore(position);
+        }
+        if (ply > 0 && tablebase.covers(position)) {
+            return tablebase.score(position);
+        }
+        if (depth == 0) {
+            return evaluate(position);
+        }
+
+        long key = position.hash();
+        long entry = transpositionTable.probe(key);
+        int hashPit = -1;
+        if (entry != TranspositionTable.MISS) {
+            hashPit = TranspositionTable.bestPit(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER_BOUND && score >= beta
+                        || bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+
+        int originalAlpha = alpha;
+        int[] moves = moveBuffers[ply];
+        int moveCount = orderMoves(position, hashPit, moves, orderBuffers[ply]);
+        int player = position.getTurnPlayer();
+        long low = position.getLow();
+        long high = position.getHigh();
+        int bestScore = -INFINITY;
+        int bestPit = -1;
+        for (int i = 0; i < moveCount; i++) {
+            int pit = moves[i];
+            position.play(pit);
+            int score = position.getTurnPlayer() == player
+                    ? negamax(position, depth - 1, ply + 1, alpha, beta)
+                    : -negamax(position, depth - 1, ply + 1, -beta, -alpha);
+            position.set(low, high);
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestPit = pit;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                : TranspositionTable.EXACT;
+        transpositionTable.store(key, depth, bestScore, bound, bestPit);
+        if (ply == 0) {
+            rootBestPit = bestPit;
+        }
+        return bestScore;
+    }
+
+    /**
+     * Orders the legal pits: the transposition table move first, then hands that end in the player's own
+     * Mancala, then the remaining pits from the one closest to the Mancala.
+     */
+    int orderMoves(PackedPosition position, int hashPit, int[] moves, int[] priorities) {
+        boolean playerOne = position.getTurnPlayer() == 0;
+        int firstPit = playerOne ? 0 : position.getPlayerTwoFirstPitIndex();
+        int mancala = playerOne ? position.getPlayerOneMancalaIndex() : position.getPlayerTwoMancalaIndex();
+        int sowablePits = position.getBoardSize() - 1;
+        int count = 0;
+        for (int pit = mancala - 1; pit >= firstPit; pit--) {
+            int pebbles = position.getPebbles(pit);
+            if (pebbles == 0) {
+                continue;
+            }
+            int priority = pit - firstPit;
+            if (pebbles % sowablePits == mancala - pit) {
+                priority += 100;
+            }
+            if (pit == hashPit) {
+                priority += 1000;
+            }
+            int insert = count++;
+            while (insert > 0 && priorities[insert - 1] < priority) {
+                moves[insert] = moves[insert - 1];
+                priorities[insert] = priorities[insert - 1];
+                insert--;
+            }
+            moves[insert] = pit;
+            priorities[insert] = priority;
+        }
+        return count;
+    }
+
+    int[] principalVariation(PackedPosition root, int bestPit, int depth) {
+        int[] variation = new int[depth];
+        if (bestPit < 0 || depth == 0) {
+            return new int[0];
+        }
+        PackedPosition position = root.copy();
+        int length = 0;
+        int pit = bestPit;
+        while (length < depth && pit >= 0 && position.isLegal(pit)) {
+            variation[length++] = pit;
+            position.play(pit);
+            long entry = transpositionTable.probe(position.hash());
+            pit = entry == TranspositionTable.MISS ? -1 : TranspositionTable.bestPit(entry);
+        }
+        return Arrays.copyOf(variation, length);
+    }
+
+    private int firstLegalPit(PackedPosition position) {
+        for (int pit = 0; pit < position.getBoardSize(); pit++) {
+            if (position.isLegal(pit)) {
+                return pit;
+            }
+        }
+        return -1;
+    }
+
+    static int evaluate(PackedPosition position) {
+        int difference = position.getPebbles(position.getPlayerOneMancalaIndex())
+                - position.getPebbles(position.getPlayerTwoMancalaIndex());
+        return position.getTurnPlayer() == 0 ? difference : -difference;
+    }
+
+    static int finalScore(PackedPosition position) {
+        int difference = position.getPlayerOneTotalPebbles() - position.getPlayerTwoTotalPebbles();
+        return position.getTurnPlayer() == 0 ? difference : -difference;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bol.games.mancala.search;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.tablebase.EndgameTablebase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Analyses every hand of a game at a fixed depth. The positions are independent, so each one is a task
+ * of its own on the search pool with its own {@link AlphaBetaSearch}; the shared
+ * {@link TranspositionTable} lets positions further into the game reuse the subtrees earlier ones
+ * already searched. Results are handed to the caller's thread as they complete, not in game order.
+ */
+public class GameAnalyzer {
+    private final TranspositionTable transpositionTable;
+    private final EndgameTablebase tablebase;
+    private final ForkJoinPool pool;
+
+    public GameAnalyzer(TranspositionTable transpositionTable, EndgameTablebase tablebase, ForkJoinPool pool) {
+        this.transpositionTable = transpositionTable;
+        this.tablebase = tablebase;
+        this.pool = pool;
+    }
+
+    /**
+     * Analyses {@code playedPits[i]} played from {@code positions.get(i)} and passes each result to
+     * {@code onEachMove} on the calling thread. If the callback throws, the remaining tasks are cancelled.
+     */
+    public void analyze(List<PackedPosition> positions, int[] playedPits, int depth, long timeBudgetMillis,
+                        Consumer<MoveAnalysis> onEachMove) throws InterruptedException {
+        transpositionTable.newSearch();
+        CompletionService<MoveAnalysis> completionService = new ExecutorCompletionService<>(pool);
+        List<Future<MoveAnalysis>> tasks = new ArrayList<>(positions.size());
+        for (int move = 0; move < positions.size(); move++) {
+            int moveIndex = move;
+            tasks.add(completionService.submit(() -> analyzeMove(moveIndex, positions.get(moveIndex),
+                    playedPits[moveIndex], depth, timeBudgetMillis)));
+        }
+        try {
+            for (int completed = 0; completed < tasks.size(); completed++) {
+                onEachMove.accept(completionService.take().get());
+            }
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : new IllegalStateException(ex.getCause());
+        } finally {
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private MoveAnalysis analyzeMove(int moveIndex, PackedPosition position, int playedPit, int depth, long timeBudgetMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        AlphaBetaSearch search = new AlphaBetaSearch(transpositionTable, tablebase);
+        SearchResult best = search.iterativeDeepening(position, depth, deadline, 1);
+        int playedEvaluation = best.getEvaluation();
+        if (best.getBestPit() != playedPit && best.getDepth() > 0) {
+            int score = search.scoreRootMove(position, playedPit, best.getDepth(),
+                    -AlphaBetaSearch.INFINITY, AlphaBetaSearch.INFINITY, deadline);
+            if (!search.isAborted()) {
+                playedEvaluation = score;
+            }
+        }
+        return new MoveAnalysis(moveIndex, playedPit, best.getBestPit(), best.getEvaluation(), playedEvaluation,
+                best.getDepth(), search.getNodes());
+    }
+}
@@ -0,0 +1,61 @@
+package com.bol.games.mancala.search;
+
+/**
+ * Search verdict on one hand of a game: the best pit of the position it was played from and the
+ * evaluations of the best and the played hand, both from the point of view of the player who played it.
+ */
+public class MoveAnalysis {
+    private final int moveIndex;
+    private final int playedPit;
+    private final int bestPit;
+    private final int bestEvaluation;
+    private final int playedEvaluation;
+    private final int depth;
+    private final long nodes;
+
+    public MoveAnalysis(int moveIndex, int playedPit, int bestPit, int bestEvaluation, int playedEvaluation, int depth, long nodes) {
+        this.moveIndex = moveIndex;
+        this.playedPit = playedPit;
+        this.bestPit = bestPit;
+        this.bestEvaluation = bestEvaluation;
+        this.playedEvaluation = playedEvaluation;
+        this.depth = depth;
+        this.nodes = nodes;
+    }
+
+    public int getMoveIndex() {
+        return moveIndex;
+    }
+
+    public int getPlayedPit() {
+        return playedPit;
+    }
+
+    public int getBestPit() {
+        return bestPit;
+    }
+
+    public int getBestEvaluation() {
+        return bestEvaluation;
+    }
+
+    public int getPlayedEvaluation() {
+        return playedEvaluation;
+    }
+
+    /**
+     * Pebbles the played hand gave away against the best one. Never negative: the two searches share a
+     * transposition table and can disagree slightly, in which case the played hand counts as best.
+     */
+    public int getEvaluationLoss() {
+        return Math.max(0, bestEvaluation - playedEvaluation);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,135 @@
+package com.bol.games.mancala.search;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.tablebase.EndgameTablebase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Multi-threaded search on top of {@link AlphaBetaSearch}. In {@link Mode#LAZY_SMP} every thread runs its
+ * own iterative deepening and the threads only cooperate through the shared {@link TranspositionTable};
+ * half of the helpers start one ply deeper so they fill the table ahead of the main thread. In
+ * {@link Mode#ROOT_SPLIT} each iteration searches the best root move first and then forks the remaining
+ * root moves with the resulting alpha bound.
+ */
+public class ParallelSearch {
+
+    public enum Mode {
+        SINGLE,
+        LAZY_SMP,
+        ROOT_SPLIT
+    }
+
+    private final TranspositionTable transpositionTable;
+    private final EndgameTablebase tablebase;
+    private final ForkJoinPool pool;
+    private final int threads;
+
+    public ParallelSearch(TranspositionTable transpositionTable, ForkJoinPool pool) {
+        this(transpositionTable, EndgameTablebase.empty(), pool);
+    }
+
+    public ParallelSearch(TranspositionTable transpositionTable, EndgameTablebase tablebase, ForkJoinPool pool) {
+        this.transpositionTable = transpositionTable;
+        this.tablebase = tablebase;
+        this.pool = pool;
+        this.threads = pool.getParallelism();
+    }
+
+    public SearchResult search(PackedPosition root, Mode mode, int maxDepth, long timeBudgetMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        transpositionTable.newSearch();
+        switch (mode) {
+            case LAZY_SMP:
+                return lazySmp(root, maxDepth, deadline);
+            case ROOT_SPLIT:
+                return rootSplit(root, maxDepth, deadline);
+            default:
+                return new AlphaBetaSearch(transpositionTable, tablebase).iterativeDeepening(root, maxDepth, deadline, 1);
+        }
+    }
+
+    private SearchResult lazySmp(PackedPosition root, int maxDepth, long deadline) {
+        long start = System.nanoTime();
+        AtomicBoolean stopSignal = new AtomicBoolean();
+        List<AlphaBetaSearch> helpers = new ArrayList<>();
+        List<ForkJoinTask<?>> helperTasks = new ArrayList<>();
+        for (int helper = 1; helper < threads; helper++) {
+            AlphaBetaSearch search = new AlphaBetaSearch(transpositionTable, tablebase, stopSignal);
+            int firstDepth = 1 + (helper & 1);
+            helpers.add(search);
+            helperTasks.add(pool.submit(() -> search.iterativeDeepening(root, maxDepth, deadline, firstDepth)));
+        }
+        SearchResult main;
+        try {
+            main = new AlphaBetaSearch(transpositionTable, tablebase, stopSignal).iterativeDeepening(root, maxDepth, deadline, 1);
+        } finally {
+            stopSignal.set(true);
+            helperTasks.forEach(ForkJoinTask::join);
+        }
+        long nodes = main.getNodes() + helpers.stream().mapToLong(AlphaBetaSearch::getNodes).sum();
+        return new SearchResult(main.getBestPit(), main.getEvaluation(), main.getPrincipalVariation(),
+                main.getDepth(), nodes, System.nanoTime() - start);
+    }
+
+    private SearchResult rootSplit(PackedPosition root, int maxDepth, long deadline) {
+        long start = System.nanoTime();
+        AtomicBoolean stopSignal = new AtomicBoolean();
+        AlphaBetaSearch principal = new AlphaBetaSearch(transpositionTable, tablebase, stopSignal);
+        int[] moves = new int[PackedPosition.MAX_BOARD_SIZE];
+        int moveCount = principal.orderMoves(root, -1, moves, new int[PackedPosition.MAX_BOARD_SIZE]);
+        int bestPit = moveCount > 0 ? moves[0] : -1;
+        int bestScore = root.isFinished() ? AlphaBetaSearch.finalScore(root) : AlphaBetaSearch.evaluate(root);
+        int depthReached = 0;
+        long nodes = 0;
+
+        for (int depth = 1; moveCount > 0 && depth <= Math.min(maxDepth, AlphaBetaSearch.MAX_DEPTH); depth++) {
+            int iterationDepth = depth;
+            int alpha = principal.scoreRootMove(root, moves[0], depth, -AlphaBetaSearch.INFINITY, AlphaBetaSearch.INFINITY, deadline);
+            if (principal.isAborted()) {
+                break;
+            }
+            int iterationBestIndex = 0;
+            int bound = alpha;
+            List<AlphaBetaSearch> siblings = new ArrayList<>();
+            List<ForkJoinTask<Integer>> siblingTasks = new ArrayList<>();
+            for (int i = 1; i < moveCount; i++) {
+                AlphaBetaSearch sibling = new AlphaBetaSearch(transpositionTable, tablebase, stopSignal);
+                int pit = moves[i];
+                siblings.add(sibling);
+                siblingTasks.add(pool.submit(() -> sibling.scoreRootMove(root, pit, iterationDepth, bound, AlphaBetaSearch.INFINITY, deadline)));
+            }
+            boolean aborted = false;
+            for (int i = 0; i < siblingTasks.size(); i++) {
+                int score = siblingTasks.get(i).join();
+                nodes += siblings.get(i).getNodes();
+                aborted |= siblings.get(i).isAborted();
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBestIndex = i + 1;
+                }
+            }
+            if (aborted) {
+                break;
+            }
+            int iterationBestPit = moves[iterationBestIndex];
+            System.arraycopy(moves, 0, moves, 1, iterationBestIndex);
+            moves[0] = iterationBestPit;
+            bestPit = iterationBestPit;
+            bestScore = alpha;
+            depthReached = depth;
+        }
+        nodes += principal.getNodes();
+        return new SearchResult(bestPit, bestScore, principal.principalVariation(root, bestPit, depthReached),
+                depthReached, nodes, System.nanoTime() - start);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bol.games.mancala.search;
+
+import java.util.concurrent.TimeUnit;
+
+public class SearchResult {
+    private final int bestPit;
+    private final int evaluation;
+    private final int[] principalVariation;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+
+    public SearchResult(int bestPit, int evaluation, int[] principalVariation, int depth, long nodes, long elapsedNanos) {
+        this.bestPit = bestPit;
+        this.evaluation = evaluation;
+        this.principalVariation = principalVariation;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getBestPit() {
+        return bestPit;
+    }
+
+    public int getEvaluation() {
+        return evaluation;
+    }
+
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
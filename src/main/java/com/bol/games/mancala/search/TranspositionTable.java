@@ -0,0 +1,102 @@
+package com.bol.games.mancala.search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free transposition table. Each entry is two longs: the packed data and the position
+ * key XOR-ed with that data, so an entry torn by concurrent writers simply fails verification instead of
+ * returning foreign data. Buckets hold two entries: the first keeps the deepest (or most recent
+ * search's) result, the second is always replaced.
+ */
+public class TranspositionTable {
+    public static final long MISS = 0;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int SCORE_OFFSET = 1 << 15;
+    private static final int DEPTH_SHIFT = 16;
+    private static final int BOUND_SHIFT = 24;
+    private static final int PIT_SHIFT = 26;
+    private static final int GENERATION_SHIFT = 32;
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+    private volatile int generation;
+
+    public TranspositionTable(int entryCount) {
+        int buckets = Integer.highestOneBit(Math.max(2, entryCount) / 2);
+        this.entries = new AtomicLongArray(buckets * 4);
+        this.bucketMask = buckets - 1;
+    }
+
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public long probe(long key) {
+        int index = bucketIndex(key);
+        for (int slot = index; slot < index + 4; slot += 2) {
+            long data = entries.getOpaque(slot + 1);
+            if (data != MISS && (entries.getOpaque(slot) ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    public void store(long key, int depth, int score, int bound, int bestPit) {
+        int index = bucketIndex(key);
+        long data = pack(depth, score, bound, bestPit);
+        long deepData = entries.getOpaque(index + 1);
+        boolean sameKey = (entries.getOpaque(index) ^ deepData) == key;
+        int slot = sameKey || deepData == MISS || depth >= depth(deepData) || generation(deepData) != generation
+                ? index
+                : index + 2;
+        entries.setOpaque(slot, key ^ data);
+        entries.setOpaque(slot + 1, data);
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.setOpaque(i, 0);
+        }
+    }
+
+    public int capacity() {
+        return entries.length() / 2;
+    }
+
+    private int bucketIndex(long key) {
+        return (int) (key & bucketMask) * 4;
+    }
+
+    private long pack(int depth, int score, int bound, int bestPit) {
+        return (long) (score + SCORE_OFFSET)
+                | (long) depth << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) (bestPit + 1) << PIT_SHIFT
+                | (long) generation << GENERATION_SHIFT;
+    }
+
+    public static int score(long data) {
+        return (int) (data & 0xFFFF) - SCORE_OFFSET;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int bestPit(long data) {
+        return ((int) (data >>> PIT_SHIFT) & 0x3F) - 1;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+}
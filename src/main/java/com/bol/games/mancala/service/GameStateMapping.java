@@ -0,0 +1,45 @@
+package com.bol.games.mancala.service;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.model.MancalaGameSession;
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.session.GameSession;
+
+import java.util.Optional;
+
+public final class GameStateMapping {
+
+    private GameStateMapping() {
+    }
+
+    public static MancalaGameState mapPositionToState(MancalaPosition position) {
+        MancalaGameState state = MancalaGameState.builder()
+                .board(position.getBoard())
+                .turnPlayer(position.getTurnPlayer())
+                .isFinished(position.isFinished())
+                .winningPlayer(Optional.ofNullable(position.getWinningPlayer()).orElse(-1))
+                .winningPlayerScore(Optional.ofNullable(position.getWinningPlayerScore()).orElse(0))
+                .message("")
+                .build();
+        if (position.isFinished()) {
+            state.setMessage(getMessageAboutWinnerAndScore(state));
+        }
+        return state;
+    }
+
+    public static MancalaGameSession mapSessionToModel(GameSession session) {
+        return MancalaGameSession.builder()
+                .gameId(session.getGameId())
+                .moveNumber(session.getMoveNumber())
+                .gameState(mapPositionToState(session.getPosition()))
+                .build();
+    }
+
+    private static String getMessageAboutWinnerAndScore(MancalaGameState state) {
+        return (state.getWinningPlayer() == Constants.PLAYER_ONE_ID ? "Player One" : "Player Two")
+                + " won with "
+                + state.getWinningPlayerScore()
+                + " pebbles";
+    }
+}
@@ -1,68 +1,156 @@
 package com.bol.games.mancala.service;
 
-import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaBatchResult;
+import com.bol.games.mancala.metrics.MancalaMetrics;
 import com.bol.games.mancala.model.MancalaGameState;
-import com.bol.games.mancala.rules.MancalaGame;
+import com.bol.games.mancala.model.MancalaLegalMove;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.rules.MancalaSuccessor;
+import com.bol.games.mancala.rules.MoveValidation;
+import com.bol.games.mancala.rules.PlayedSequence;
 import com.bol.games.mancala.service.interfaces.MancalaGameService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.bol.games.mancala.service.GameStateMapping.mapPositionToState;
 
 @Service
 public class MancalaGameServiceImpl implements MancalaGameService {
 
-    private MancalaGame mancalaGame;
+    private final MancalaGameEngine mancalaGameEngine;
+    private final MancalaMetrics mancalaMetrics;
+    private final MoveResultCache moveResultCache;
+
+    public MancalaGameServiceImpl(MancalaGameEngine mancalaGameEngine) {
+        this(mancalaGameEngine, MancalaMetrics.disabled());
+    }
+
+    public MancalaGameServiceImpl(MancalaGameEngine mancalaGameEngine, MancalaMetrics mancalaMetrics) {
+        this(mancalaGameEngine, mancalaMetrics, MoveResultCache.disabled());
+    }
 
-    public MancalaGameServiceImpl(MancalaGame mancalaGame) {
-        this.mancalaGame = mancalaGame;
+    @Autowired
+    public MancalaGameServiceImpl(MancalaGameEngine mancalaGameEngine, MancalaMetrics mancalaMetrics, MoveResultCache moveResultCache) {
+        this.mancalaGameEngine = mancalaGameEngine;
+        this.mancalaMetrics = mancalaMetrics;
+        this.moveResultCache = moveResultCache;
     }
 
     @Override
     public MancalaGameState playHand(int position, MancalaGameState state) {
-        mancalaGame.setBoard(state.getBoard());
-        mancalaGame.setLastPlayer(calculateLastPlayer(state.getTurnPlayer()));
+        long start = System.nanoTime();
         try {
-            mancalaGame.playHand(position);
-        } catch (RuntimeException ex) {
-            state.setMessage(ex.getMessage());
-            return state;
+            MoveValidation boardValidation = mancalaGameEngine.validateBoard(state.getBoard());
+            if (!boardValidation.isLegal()) {
+                return reject(state, boardValidation);
+            }
+            long key = moveResultCache.key(state.getBoard(), state.getTurnPlayer(), position);
+            MancalaPosition next = moveResultCache.get(key, state.getBoard(), state.getTurnPlayer(), position);
+            if (next == null) {
+                MancalaPosition current = mancalaGameEngine.position(state.getBoard(), state.getTurnPlayer());
+                MoveValidation validation = mancalaGameEngine.validate(current, position);
+                if (!validation.isLegal()) {
+                    return reject(state, validation);
+                }
+                next = mancalaGameEngine.play(current, position);
+                moveResultCache.put(key, state.getBoard(), state.getTurnPlayer(), position, next);
+            }
+            mancalaMetrics.recordHand(next);
+            if (next.isFinished()) {
+                mancalaMetrics.recordGameFinished(false);
+            }
+            return mapPositionToState(next);
+        } finally {
+            mancalaMetrics.recordStatelessMove(System.nanoTime() - start);
         }
-        MancalaGameState newState = mapMancalaGameToState(mancalaGame);
-        if (mancalaGame.isFinished()) {
-            newState.setMessage(getMessageAboutWinnerAndScore(newState));
-        }
-        return newState;
-    }
-
-    private String getMessageAboutWinnerAndScore(MancalaGameState newState) {
-        return (newState.getWinningPlayer() == Constants.PLAYER_ONE_ID ? "Player One" : "Player Two")
-                + " won with "
-                + newState.getWinningPlayerScore()
-                + " pebbles";
     }
 
-    private int calculateLastPlayer(int turnPlayer) {
-        return turnPlayer == Constants.PLAYER_ONE_ID ? Constants.PLAYER_TWO_ID : Constants.PLAYER_ONE_ID;
+    private MancalaGameState reject(MancalaGameState state, MoveValidation validation) {
+        mancalaMetrics.recordRejection(validation);
+        state.setMessage(validation.getMessage());
+        state.setRejection(validation);
+        return state;
     }
 
     @Override
     public MancalaGameState resetGame() {
-        mancalaGame.resetBoard();
+        mancalaMetrics.recordGameStarted(false);
+        return mapPositionToState(mancalaGameEngine.newGame());
+    }
 
-        return mapMancalaGameToState(mancalaGame);
+    @Override
+    public MancalaBatchResult playBatch(MancalaBatchRequest batchRequest, boolean includeIntermediateStates) {
+        if (!includeIntermediateStates) {
+            return playBatch(batchRequest, (Consumer<MancalaGameState>) null);
+        }
+        List<MancalaGameState> intermediateStates = new ArrayList<>();
+        MancalaBatchResult result = playBatch(batchRequest, intermediateStates::add);
+        result.setIntermediateStates(intermediateStates);
+        return result;
     }
 
-    private MancalaGameState mapMancalaGameToState(MancalaGame mancalaGame) {
-        Integer winnerId = mancalaGame.getWinningPlayer();
-        return MancalaGameState.builder()
-                .board(mancalaGame.getBoard())
-                .turnPlayer(mancalaGame.nextPlayer())
-                .isFinished(mancalaGame.isFinished())
-                .winningPlayer(Optional.ofNullable(winnerId).orElse(-1))
-                .winningPlayerScore(Optional.ofNullable(winnerId)
-                        .map(id -> id == Constants.PLAYER_ONE_ID ? mancalaGame.getPlayerOneTotalPebbles() : mancalaGame.getPlayerTwoTotalPebbles())
-                        .orElse(0))
-                .message("")
+    @Override
+    public MancalaBatchResult playBatch(MancalaBatchRequest batchRequest, Consumer<MancalaGameState> intermediateStates) {
+        MancalaGameState state = batchRequest.getGameState();
+        int[] positions = batchRequest.getPositions() == null ? new int[0] : batchRequest.getPositions();
+        MancalaPosition first;
+        if (state == null) {
+            mancalaMetrics.recordGameStarted(false);
+            first = mancalaGameEngine.newGame();
+        } else {
+            MoveValidation boardValidation = mancalaGameEngine.validateBoard(state.getBoard());
+            if (!boardValidation.isLegal()) {
+                return MancalaBatchResult.builder()
+                        .gameState(reject(state, boardValidation))
+                        .illegalMoveIndex(positions.length > 0 ? 0 : null)
+                        .build();
+            }
+            first = mancalaGameEngine.position(state.getBoard(), state.getTurnPlayer());
+        }
+        PlayedSequence played = mancalaGameEngine.playSequence(first, positions,
+                intermediateStates == null ? null : position -> intermediateStates.accept(mapPositionToState(position)));
+        MancalaGameState finalState = mapPositionToState(played.getPosition());
+        if (played.getAppliedHands() > 0 && played.getPosition().isFinished()) {
+            mancalaMetrics.recordGameFinished(false);
+        }
+        if (played.getRejectedHand() >= 0) {
+            mancalaMetrics.recordRejection(played.getRejection());
+            finalState.setMessage(played.getRejection().getMessage());
+            finalState.setRejection(played.getRejection());
+        }
+        return MancalaBatchResult.builder()
+                .gameState(finalState)
+                .appliedMoves(played.getAppliedHands())
+                .illegalMoveIndex(played.getRejectedHand() >= 0 ? played.getRejectedHand() : null)
                 .build();
     }
+
+    @Override
+    public List<MancalaLegalMove> legalMoves(MancalaGameState state) {
+        MoveValidation boardValidation = mancalaGameEngine.validateBoard(state.getBoard());
+        if (!boardValidation.isLegal()) {
+            mancalaMetrics.recordRejection(boardValidation);
+            return Collections.emptyList();
+        }
+        List<MancalaSuccessor> successors = mancalaGameEngine.successors(
+                mancalaGameEngine.position(state.getBoard(), state.getTurnPlayer()));
+        List<MancalaLegalMove> legalMoves = new ArrayList<>(successors.size());
+        for (MancalaSuccessor successor : successors) {
+            MancalaPosition position = successor.getPosition();
+            legalMoves.add(MancalaLegalMove.builder()
+                    .pit(successor.getPit())
+                    .extraTurn(position.isLastHandExtraTurn())
+                    .capture(position.isLastHandCapture())
+                    .gameState(mapPositionToState(position))
+                    .build());
+        }
+        return legalMoves;
+    }
 }
@@ -0,0 +1,91 @@
+package com.bol.games.mancala.service;
+
+import com.bol.games.mancala.lobby.MatchmakingLobby;
+import com.bol.games.mancala.metrics.MancalaMetrics;
+import com.bol.games.mancala.model.MancalaGameSession;
+import com.bol.games.mancala.model.MancalaLobbyMatch;
+import com.bol.games.mancala.push.GameUpdatePublisher;
+import com.bol.games.mancala.push.SseGameUpdateSink;
+import com.bol.games.mancala.service.interfaces.MancalaGameSessionService;
+import com.bol.games.mancala.session.GameSessionStore;
+import com.bol.games.mancala.session.IllegalMoveException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.bol.games.mancala.service.GameStateMapping.mapSessionToModel;
+
+@Service
+public class MancalaGameSessionServiceImpl implements MancalaGameSessionService {
+
+    private final GameSessionStore gameSessionStore;
+    private final GameUpdatePublisher gameUpdatePublisher;
+    private final MancalaMetrics mancalaMetrics;
+    private final MatchmakingLobby matchmakingLobby;
+    private final long pushTimeoutMillis;
+
+    public MancalaGameSessionServiceImpl(GameSessionStore gameSessionStore, GameUpdatePublisher gameUpdatePublisher,
+                                         MancalaMetrics mancalaMetrics, MatchmakingLobby matchmakingLobby,
+                                         @Value("${mancala.push.timeout:PT30M}") Duration pushTimeout) {
+        this.gameSessionStore = gameSessionStore;
+        this.gameUpdatePublisher = gameUpdatePublisher;
+        this.mancalaMetrics = mancalaMetrics;
+        this.matchmakingLobby = matchmakingLobby;
+        this.pushTimeoutMillis = pushTimeout.toMillis();
+    }
+
+    @Override
+    public MancalaGameSession createGame() {
+        return mapSessionToModel(gameSessionStore.create());
+    }
+
+    @Override
+    public MancalaGameSession getGame(String gameId) {
+        return mapSessionToModel(gameSessionStore.get(gameId));
+    }
+
+    @Override
+    public MancalaGameSession playHand(String gameId, int position, int expectedMoveNumber) {
+        long start = System.nanoTime();
+        try {
+            return mapSessionToModel(gameSessionStore.play(gameId, position, expectedMoveNumber));
+        } catch (IllegalMoveException ex) {
+            mancalaMetrics.recordRejection(ex.getRejection());
+            MancalaGameSession current = getGame(gameId);
+            current.getGameState().setMessage(ex.getMessage());
+            current.getGameState().setRejection(ex.getRejection());
+            return current;
+        } finally {
+            mancalaMetrics.recordSessionMove(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void abandonGame(String gameId) {
+        gameSessionStore.remove(gameId);
+    }
+
+    @Override
+    public SseEmitter subscribe(String gameId) {
+        SseEmitter emitter = new SseEmitter(pushTimeoutMillis);
+        Runnable unsubscribe = gameUpdatePublisher.subscribe(gameId, new SseGameUpdateSink(emitter));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+        return emitter;
+    }
+
+    @Override
+    public CompletableFuture<MancalaLobbyMatch> joinLobby(Integer skill) {
+        return matchmakingLobby.join(skill != null ? skill : 0).thenApply(match -> MancalaLobbyMatch.builder()
+                .game(mapSessionToModel(match.getSession()))
+                .playerId(match.getPlayerId())
+                .botOpponent(match.isBotOpponent())
+                .waitedMillis(TimeUnit.NANOSECONDS.toMillis(match.getWaitedNanos()))
+                .build());
+    }
+}
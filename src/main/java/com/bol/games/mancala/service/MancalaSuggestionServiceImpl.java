@@ -0,0 +1,241 @@
+package com.bol.games.mancala.service;
+
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaGameAnalysis;
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.model.MancalaMoveAnalysis;
+import com.bol.games.mancala.model.MancalaMoveSuggestion;
+import com.bol.games.mancala.model.MancalaPositionEvaluation;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.rules.MoveValidation;
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.rules.PlayedSequence;
+import com.bol.games.mancala.rules.RuleVariant;
+import com.bol.games.mancala.search.AlphaBetaSearch;
+import com.bol.games.mancala.search.GameAnalyzer;
+import com.bol.games.mancala.search.MoveAnalysis;
+import com.bol.games.mancala.search.ParallelSearch;
+import com.bol.games.mancala.search.SearchResult;
+import com.bol.games.mancala.search.TranspositionTable;
+import com.bol.games.mancala.service.interfaces.MancalaSuggestionService;
+import com.bol.games.mancala.tablebase.EndgameTablebase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Service
+public class MancalaSuggestionServiceImpl implements MancalaSuggestionService {
+    static final String KALAH_ONLY = "Suggestions, evaluations and analyses are only available for the KALAH rules";
+
+    private final MancalaGameEngine mancalaGameEngine;
+    private final EndgameTablebase tablebase;
+    private final ParallelSearch parallelSearch;
+    private final GameAnalyzer gameAnalyzer;
+    private final ParallelSearch.Mode parallelMode;
+    private final int maxDepth;
+    private final long maxTimeMillis;
+    private final int evaluateDepth;
+    private final int analysisDepth;
+    private final int blunderThreshold;
+
+    public MancalaSuggestionServiceImpl(MancalaGameEngine mancalaGameEngine,
+                                        TranspositionTable transpositionTable,
+                                        EndgameTablebase tablebase,
+                                        ForkJoinPool searchPool,
+                                        @Value("${mancala.search.parallel-mode:LAZY_SMP}") ParallelSearch.Mode parallelMode,
+                                        @Value("${mancala.search.max-depth:32}") int maxDepth,
+                                        @Value("${mancala.search.max-time-millis:5000}") long maxTimeMillis,
+                                        @Value("${mancala.search.evaluate-depth:12}") int evaluateDepth,
+                                        @Value("${mancala.search.analysis-depth:12}") int analysisDepth,
+                                        @Value("${mancala.search.blunder-threshold:4}") int blunderThreshold) {
+        this.mancalaGameEngine = mancalaGameEngine;
+        this.tablebase = tablebase;
+        this.parallelSearch = new ParallelSearch(transpositionTable, tablebase, searchPool);
+        this.gameAnalyzer = new GameAnalyzer(transpositionTable, tablebase, searchPool);
+        this.parallelMode = parallelMode;
+        this.maxDepth = Math.min(maxDepth, AlphaBetaSearch.MAX_DEPTH);
+        this.maxTimeMillis = maxTimeMillis;
+        this.evaluateDepth = Math.min(evaluateDepth, this.maxDepth);
+        this.analysisDepth = Math.min(analysisDepth, this.maxDepth);
+        this.blunderThreshold = blunderThreshold;
+    }
+
+    @Override
+    public MancalaMoveSuggestion suggestMove(MancalaGameState gameState, Integer depth, Long timeMillis) {
+        if (!isKalah()) {
+            return MancalaMoveSuggestion.builder().bestPit(-1).message(KALAH_ONLY).build();
+        }
+        String refusal = refuseBoard(gameState.getBoard());
+        if (refusal != null) {
+            return MancalaMoveSuggestion.builder().bestPit(-1).message(refusal).build();
+        }
+        PackedPosition position = PackedPosition.fromState(gameState);
+        if (position.isFinished()) {
+            return MancalaMoveSuggestion.builder().bestPit(-1).message("The game is already finished").build();
+        }
+        SearchResult result = parallelSearch.search(position, parallelMode,
+                Math.min(Optional.ofNullable(depth).orElse(maxDepth), maxDepth),
+                Math.min(Optional.ofNullable(timeMillis).orElse(maxTimeMillis), maxTimeMillis));
+        return mapSearchResultToSuggestion(result);
+    }
+
+    @Override
+    public MancalaPositionEvaluation evaluatePosition(MancalaGameState gameState) {
+        if (!isKalah()) {
+            return MancalaPositionEvaluation.builder().message(KALAH_ONLY).build();
+        }
+        String refusal = refuseBoard(gameState.getBoard());
+        if (refusal != null) {
+            return MancalaPositionEvaluation.builder().message(refusal).build();
+        }
+        PackedPosition position = PackedPosition.fromState(gameState);
+        if (position.isFinished()) {
+            int difference = position.getPlayerOneTotalPebbles() - position.getPlayerTwoTotalPebbles();
+            return exactEvaluation(position.getTurnPlayer() == 0 ? difference : -difference, "finished");
+        }
+        if (tablebase.covers(position)) {
+            return exactEvaluation(tablebase.score(position), "tablebase");
+        }
+        SearchResult result = parallelSearch.search(position, parallelMode, evaluateDepth, maxTimeMillis);
+        return MancalaPositionEvaluation.builder()
+                .evaluation(result.getEvaluation())
+                .exact(false)
+                .source("search")
+                .depth(result.getDepth())
+                .message("")
+                .build();
+    }
+
+    @Override
+    public MancalaGameAnalysis analyzeGame(MancalaBatchRequest game, Integer depth) {
+        List<MancalaMoveAnalysis> moves = new ArrayList<>();
+        MancalaGameAnalysis analysis = analyzeGame(game, depth, moves::add);
+        moves.sort((first, second) -> Integer.compare(first.getMoveIndex(), second.getMoveIndex()));
+        analysis.setMoves(moves);
+        return analysis;
+    }
+
+    /**
+     * Replays the hands with the rule engine, which stops at the first illegal one, and searches the
+     * position before every accepted hand in parallel. {@code analyzedMoves} receives each move as soon as
+     * it is searched, so not in game order.
+     */
+    @Override
+    public MancalaGameAnalysis analyzeGame(MancalaBatchRequest game, Integer depth, Consumer<MancalaMoveAnalysis> analyzedMoves) {
+        if (!isKalah()) {
+            return MancalaGameAnalysis.builder().message(KALAH_ONLY).build();
+        }
+        long start = System.nanoTime();
+        int searchDepth = Math.min(Optional.ofNullable(depth).orElse(analysisDepth), maxDepth);
+        int[] pits = game.getPositions() == null ? new int[0] : game.getPositions();
+        List<PackedPosition> positions = new ArrayList<>(pits.length);
+        MancalaPosition first;
+        if (game.getGameState() == null) {
+            first = mancalaGameEngine.newGame();
+        } else {
+            String refusal = refuseBoard(game.getGameState().getBoard());
+            if (refusal != null) {
+                return MancalaGameAnalysis.builder().message(refusal).build();
+            }
+            first = mancalaGameEngine.position(game.getGameState().getBoard(), game.getGameState().getTurnPlayer());
+        }
+        positions.add(PackedPosition.fromPosition(first));
+        PlayedSequence played = mancalaGameEngine.playSequence(first, pits,
+                position -> positions.add(PackedPosition.fromPosition(position)));
+
+        AtomicLong nodes = new AtomicLong();
+        String message = "";
+        try {
+            gameAnalyzer.analyze(positions.subList(0, played.getAppliedHands()), pits, searchDepth, maxTimeMillis, move -> {
+                nodes.addAndGet(move.getNodes());
+                analyzedMoves.accept(mapMoveAnalysis(move));
+            });
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            message = "The analysis was interrupted";
+        }
+        return MancalaGameAnalysis.builder()
+                .analyzedMoves(played.getAppliedHands())
+                .illegalMoveIndex(played.getRejectedHand() >= 0 ? played.getRejectedHand() : null)
+                .depth(searchDepth)
+                .nodes(nodes.get())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .message(played.getRejectedHand() >= 0 ? played.getRejection().getMessage() : message)
+                .build();
+    }
+
+    /**
+     * Returns why the board cannot be searched, or null if it can. The engine checks its size; the rest are
+     * the limits of {@link PackedPosition}, and sowing keeps a board within them, so a board that passes
+     * stays packable for the whole game.
+     */
+    private String refuseBoard(int[] board) {
+        MoveValidation validation = mancalaGameEngine.validateBoard(board);
+        if (!validation.isLegal()) {
+            return validation.getMessage();
+        }
+        if (board.length > PackedPosition.MAX_BOARD_SIZE) {
+            return "Searches support boards of up to " + PackedPosition.MAX_BOARD_SIZE + " pits";
+        }
+        long total = 0;
+        for (int pebbles : board) {
+            if (pebbles < 0) {
+                return "Pits cannot hold a negative number of pebbles";
+            }
+            total += pebbles;
+        }
+        return total > PackedPosition.MAX_PEBBLES ? "Searches support at most " + PackedPosition.MAX_PEBBLES + " pebbles" : null;
+    }
+
+    /**
+     * The search, the tablebase and {@link PackedPosition} implement the Kalah rules only.
+     */
+    private boolean isKalah() {
+        return mancalaGameEngine.getVariant() == RuleVariant.KALAH;
+    }
+
+    private MancalaMoveAnalysis mapMoveAnalysis(MoveAnalysis move) {
+        return MancalaMoveAnalysis.builder()
+                .moveIndex(move.getMoveIndex())
+                .playedPit(move.getPlayedPit())
+                .bestPit(move.getBestPit())
+                .evaluation(move.getBestEvaluation())
+                .playedEvaluation(move.getPlayedEvaluation())
+                .evaluationLoss(move.getEvaluationLoss())
+                .blunder(move.getEvaluationLoss() >= blunderThreshold)
+                .depth(move.getDepth())
+                .nodes(move.getNodes())
+                .build();
+    }
+
+    private MancalaPositionEvaluation exactEvaluation(int evaluation, String source) {
+        return MancalaPositionEvaluation.builder()
+                .evaluation(evaluation)
+                .exact(true)
+                .source(source)
+                .message("")
+                .build();
+    }
+
+    private MancalaMoveSuggestion mapSearchResultToSuggestion(SearchResult result) {
+        return MancalaMoveSuggestion.builder()
+                .bestPit(result.getBestPit())
+                .evaluation(result.getEvaluation())
+                .principalVariation(result.getPrincipalVariation())
+                .depth(result.getDepth())
+                .nodes(result.getNodes())
+                .elapsedMillis(result.getElapsedMillis())
+                .nodesPerSecond(result.getNodesPerSecond())
+                .threads(parallelMode == ParallelSearch.Mode.SINGLE ? 1 : parallelSearch.getThreads())
+                .message("")
+                .build();
+    }
+}
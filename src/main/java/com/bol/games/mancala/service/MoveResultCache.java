@@ -0,0 +1,100 @@
+package com.bol.games.mancala.service;
+
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.rules.ZobristHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache of accepted hands, keyed by the {@link ZobristHash} of the board, the player to move and
+ * the pit. Eviction is Caffeine's W-TinyLFU, which keeps the openings and bot lines that repeat while
+ * one-off positions pass through. Entries hold a private copy of the parent board, compared on every hit
+ * so a hash collision is a miss, and an immutable {@link MancalaPosition} that is only ever copied out.
+ * Hits, misses and evictions are published as the {@code cache.*} meters with {@code cache=mancala.moves}.
+ * <p>
+ * A stateless request carries no hash of its own, so the key is computed from the whole board each time.
+ * Looking it up boxes it into a {@link Long}; that one small allocation per hand is accepted, since the
+ * state answered from a hit copies the result board anyway.
+ */
+@Component
+public class MoveResultCache {
+    public static final String NAME = "mancala.moves";
+
+    private final Cache<Long, Entry> cache;
+
+    @Autowired
+    public MoveResultCache(@Value("${mancala.cache.max-entries:100000}") long maxEntries, MeterRegistry registry) {
+        this.cache = maxEntries > 0 ? Caffeine.newBuilder().maximumSize(maxEntries).recordStats().build() : null;
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        }
+    }
+
+    private MoveResultCache() {
+        this.cache = null;
+    }
+
+    /**
+     * A cache that never holds anything, for services built without one.
+     */
+    public static MoveResultCache disabled() {
+        return new MoveResultCache();
+    }
+
+    public long key(int[] board, int turnPlayer, int pit) {
+        if (cache == null) {
+            return 0;
+        }
+        return ZobristHash.withMove(ZobristHash.of(board, turnPlayer), pit);
+    }
+
+    /**
+     * Returns the position {@code pit} led to from this board and player, or null if it is not cached.
+     */
+    public MancalaPosition get(long key, int[] board, int turnPlayer, int pit) {
+        if (cache == null) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(key);
+        return entry != null && entry.matches(board, turnPlayer, pit) ? entry.result : null;
+    }
+
+    public void put(long key, int[] board, int turnPlayer, int pit, MancalaPosition result) {
+        if (cache != null) {
+            cache.put(key, new Entry(board.clone(), turnPlayer, pit, result));
+        }
+    }
+
+    long size() {
+        if (cache == null) {
+            return 0;
+        }
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static final class Entry {
+        private final int[] board;
+        private final int turnPlayer;
+        private final int pit;
+        private final MancalaPosition result;
+
+        private Entry(int[] board, int turnPlayer, int pit, MancalaPosition result) {
+            this.board = board;
+            this.turnPlayer = turnPlayer;
+            this.pit = pit;
+            this.result = result;
+        }
+
+        private boolean matches(int[] board, int turnPlayer, int pit) {
+            return this.pit == pit && this.turnPlayer == turnPlayer && Arrays.equals(this.board, board);
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package com.bol.games.mancala.service.interfaces;
 
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaBatchResult;
 import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.model.MancalaLegalMove;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface MancalaGameService {
     MancalaGameState playHand(int position, MancalaGameState gameState);
     MancalaGameState resetGame();
+    MancalaBatchResult playBatch(MancalaBatchRequest batchRequest, boolean includeIntermediateStates);
+    MancalaBatchResult playBatch(MancalaBatchRequest batchRequest, Consumer<MancalaGameState> intermediateStates);
+    List<MancalaLegalMove> legalMoves(MancalaGameState gameState);
 }
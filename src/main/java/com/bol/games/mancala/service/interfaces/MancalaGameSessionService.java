@@ -0,0 +1,16 @@
+package com.bol.games.mancala.service.interfaces;
+
+import com.bol.games.mancala.model.MancalaGameSession;
+import com.bol.games.mancala.model.MancalaLobbyMatch;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface MancalaGameSessionService {
+    MancalaGameSession createGame();
+    MancalaGameSession getGame(String gameId);
+    MancalaGameSession playHand(String gameId, int position, int expectedMoveNumber);
+    void abandonGame(String gameId);
+    SseEmitter subscribe(String gameId);
+    CompletableFuture<MancalaLobbyMatch> joinLobby(Integer skill);
+}
@@ -0,0 +1,17 @@
+package com.bol.games.mancala.service.interfaces;
+
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaGameAnalysis;
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.model.MancalaMoveAnalysis;
+import com.bol.games.mancala.model.MancalaMoveSuggestion;
+import com.bol.games.mancala.model.MancalaPositionEvaluation;
+
+import java.util.function.Consumer;
+
+public interface MancalaSuggestionService {
+    MancalaMoveSuggestion suggestMove(MancalaGameState gameState, Integer depth, Long timeMillis);
+    MancalaPositionEvaluation evaluatePosition(MancalaGameState gameState);
+    MancalaGameAnalysis analyzeGame(MancalaBatchRequest game, Integer depth);
+    MancalaGameAnalysis analyzeGame(MancalaBatchRequest game, Integer depth, Consumer<MancalaMoveAnalysis> analyzedMoves);
+}
@@ -0,0 +1,11 @@
+package com.bol.games.mancala.session;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class GameNotFoundException extends RuntimeException {
+    public GameNotFoundException(String gameId) {
+        super("Game " + gameId + " does not exist or has expired");
+    }
+}
@@ -0,0 +1,41 @@
+package com.bol.games.mancala.session;
+
+import com.bol.games.mancala.rules.MancalaPosition;
+
+/**
+ * Immutable state of one server-side game. Every accepted hand produces a new instance, which the
+ * {@link GameSessionStore} swaps in with a compare-and-set against the instance the hand was played on.
+ */
+public final class GameSession {
+    private final String gameId;
+    private final MancalaPosition position;
+    private final int moveNumber;
+    private final long lastActivityMillis;
+
+    GameSession(String gameId, MancalaPosition position, int moveNumber, long lastActivityMillis) {
+        this.gameId = gameId;
+        this.position = position;
+        this.moveNumber = moveNumber;
+        this.lastActivityMillis = lastActivityMillis;
+    }
+
+    GameSession next(MancalaPosition nextPosition, long now) {
+        return new GameSession(gameId, nextPosition, moveNumber + 1, now);
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public MancalaPosition getPosition() {
+        return position;
+    }
+
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+}
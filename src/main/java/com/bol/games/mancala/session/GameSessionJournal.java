@@ -0,0 +1,28 @@
+package com.bol.games.mancala.session;
+
+/**
+ * Makes the changes of the {@link GameSessionStore} durable. Unlike a {@link GameSessionListener} it is a
+ * step of the change itself: it runs on the caller's thread before the listeners hear of the change, and
+ * an exception it throws fails the change and is rolled back where the store still can.
+ */
+public interface GameSessionJournal {
+    GameSessionJournal NONE = new GameSessionJournal() {
+        @Override
+        public void created(GameSession session) {
+        }
+
+        @Override
+        public void played(GameSession session, int pit) {
+        }
+
+        @Override
+        public void removed(GameSession session, long timeMillis) {
+        }
+    };
+
+    void created(GameSession session);
+
+    void played(GameSession session, int pit);
+
+    void removed(GameSession session, long timeMillis);
+}
@@ -0,0 +1,15 @@
+package com.bol.games.mancala.session;
+
+/**
+ * Receives every change the {@link GameSessionStore} publishes, after it became visible to other threads.
+ */
+public interface GameSessionListener {
+    void onCreated(GameSession session);
+
+    void onPlayed(GameSession session, int pit);
+
+    /**
+     * Called when {@code session}, the game's last state, was abandoned by its players or evicted as idle.
+     */
+    void onRemoved(GameSession session, long timeMillis);
+}
@@ -0,0 +1,213 @@
+package com.bol.games.mancala.session;
+
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.rules.MoveValidation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-memory home of all server-side games. Games are never locked: a hand is computed from the current
+ * {@link GameSession} and only published if that session is still the current one, so concurrent hands on
+ * the same game resolve to exactly one winner while different games never contend. Games idle for longer
+ * than the TTL are swept periodically, and new games are refused once {@code maxGames} are live.
+ * <p>
+ * Every change is first handed to the {@link GameSessionJournal}, whose failure fails the change, and then
+ * to the listeners, none of which can keep the others from hearing of it.
+ */
+@Component
+public class GameSessionStore {
+    private static final Logger log = LoggerFactory.getLogger(GameSessionStore.class);
+
+    /**
+     * Game ids are the only credential a client needs to play, so they stay unguessable, but the
+     * {@link SecureRandom} behind {@link UUID#randomUUID()} serialises every caller on one lock; each thread
+     * draws from its own generator instead.
+     */
+    private static final ThreadLocal<SecureRandom> GAME_ID_RANDOM = ThreadLocal.withInitial(() -> {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("No DRBG SecureRandom available", ex);
+        }
+    });
+
+    private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final List<GameSessionListener> listeners = new CopyOnWriteArrayList<>();
+    private final MancalaGameEngine mancalaGameEngine;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final int maxGames;
+    private volatile GameSessionJournal journal = GameSessionJournal.NONE;
+
+    @Autowired
+    public GameSessionStore(MancalaGameEngine mancalaGameEngine,
+                            @Value("${mancala.session.ttl:PT30M}") Duration ttl,
+                            @Value("${mancala.session.max-games:100000}") int maxGames) {
+        this(mancalaGameEngine, ttl, maxGames, Clock.systemUTC());
+    }
+
+    GameSessionStore(MancalaGameEngine mancalaGameEngine, Duration ttl, int maxGames, Clock clock) {
+        this.mancalaGameEngine = mancalaGameEngine;
+        this.ttlMillis = ttl.toMillis();
+        this.maxGames = maxGames;
+        this.clock = clock;
+    }
+
+    public GameSession create() {
+        if (sessions.size() >= maxGames) {
+            evictIdleGames();
+            if (sessions.size() >= maxGames) {
+                throw new SessionLimitExceededException(maxGames);
+            }
+        }
+        GameSession session = new GameSession(newGameId(), mancalaGameEngine.newGame(), 0, clock.millis());
+        journal.created(session);
+        sessions.put(session.getGameId(), session);
+        notifyListeners(listener -> listener.onCreated(session));
+        return session;
+    }
+
+    private static String newGameId() {
+        byte[] bytes = new byte[16];
+        GAME_ID_RANDOM.get().nextBytes(bytes);
+        bytes[6] = (byte) (bytes[6] & 0x0f | 0x40);
+        bytes[8] = (byte) (bytes[8] & 0x3f | 0x80);
+        long mostSignificant = 0;
+        long leastSignificant = 0;
+        for (int index = 0; index < 8; index++) {
+            mostSignificant = mostSignificant << 8 | bytes[index] & 0xff;
+            leastSignificant = leastSignificant << 8 | bytes[index + 8] & 0xff;
+        }
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+
+    /**
+     * Puts back a game recovered from persistent storage, without notifying the listeners.
+     */
+    public GameSession restore(String gameId, MancalaPosition position, int moveNumber, long lastActivityMillis) {
+        GameSession session = new GameSession(gameId, position, moveNumber, lastActivityMillis);
+        sessions.put(gameId, session);
+        return session;
+    }
+
+    public GameSession get(String gameId) {
+        GameSession session = sessions.get(gameId);
+        if (session == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        return session;
+    }
+
+    /**
+     * Plays {@code pit} on the game if it is still at {@code expectedMoveNumber}. Illegal hands surface as
+     * {@link IllegalMoveException} and leave the game untouched.
+     */
+    public GameSession play(String gameId, int pit, int expectedMoveNumber) {
+        while (true) {
+            GameSession current = get(gameId);
+            if (current.getMoveNumber() != expectedMoveNumber) {
+                throw new StaleMoveException(gameId, expectedMoveNumber, current.getMoveNumber());
+            }
+            MoveValidation validation = mancalaGameEngine.validate(current.getPosition(), pit);
+            if (!validation.isLegal()) {
+                throw new IllegalMoveException(validation);
+            }
+            GameSession next = current.next(mancalaGameEngine.play(current.getPosition(), pit), clock.millis());
+            if (sessions.replace(gameId, current, next)) {
+                journalPlayed(current, next, pit);
+                notifyListeners(listener -> listener.onPlayed(next, pit));
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Journals a hand that is already published, so that only the winner of the compare-and-set writes a
+     * record. If that fails the game goes back to {@code current}; when a later hand was already played on
+     * top of this one, which the journal would then never be able to replay, the write is retried instead.
+     */
+    private void journalPlayed(GameSession current, GameSession next, int pit) {
+        try {
+            journal.played(next, pit);
+        } catch (RuntimeException ex) {
+            if (sessions.replace(current.getGameId(), next, current)) {
+                throw ex;
+            }
+            journal.played(next, pit);
+        }
+    }
+
+    public void remove(String gameId) {
+        GameSession removed = sessions.remove(gameId);
+        if (removed == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        long now = clock.millis();
+        try {
+            journal.removed(removed, now);
+        } catch (RuntimeException ex) {
+            sessions.putIfAbsent(gameId, removed);
+            throw ex;
+        }
+        notifyListeners(listener -> listener.onRemoved(removed, now));
+    }
+
+    @Scheduled(fixedDelayString = "${mancala.session.sweep-interval:PT1M}")
+    public void evictIdleGames() {
+        long now = clock.millis();
+        long idleSince = now - ttlMillis;
+        sessions.forEach(1024, (gameId, session) -> {
+            if (session.getLastActivityMillis() < idleSince && sessions.remove(gameId, session)) {
+                try {
+                    journal.removed(session, now);
+                } catch (RuntimeException ex) {
+                    sessions.putIfAbsent(gameId, session);
+                    log.warn("Could not evict idle game {}", gameId, ex);
+                    return;
+                }
+                notifyListeners(listener -> listener.onRemoved(session, now));
+            }
+        });
+    }
+
+    private void notifyListeners(Consumer<GameSessionListener> notification) {
+        for (GameSessionListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException ex) {
+                log.warn("Game session listener {} failed", listener.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    public void setJournal(GameSessionJournal journal) {
+        this.journal = journal;
+    }
+
+    public void addListener(GameSessionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void forEach(Consumer<GameSession> action) {
+        sessions.values().forEach(action);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
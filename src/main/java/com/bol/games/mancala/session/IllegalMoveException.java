@@ -0,0 +1,20 @@
+package com.bol.games.mancala.session;
+
+import com.bol.games.mancala.rules.MoveValidation;
+
+/**
+ * Refused hand on a server-side game. Illegal hands are routine traffic rather than faults, so the
+ * exception carries no stack trace.
+ */
+public class IllegalMoveException extends RuntimeException {
+    private final MoveValidation rejection;
+
+    public IllegalMoveException(MoveValidation rejection) {
+        super(rejection.getMessage(), null, false, false);
+        this.rejection = rejection;
+    }
+
+    public MoveValidation getRejection() {
+        return rejection;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bol.games.mancala.session;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SessionLimitExceededException extends RuntimeException {
+    public SessionLimitExceededException(int maxGames) {
+        super("The server already hosts the maximum of " + maxGames + " games");
+    }
+}
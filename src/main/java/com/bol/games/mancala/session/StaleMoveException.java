@@ -0,0 +1,11 @@
+package com.bol.games.mancala.session;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StaleMoveException extends RuntimeException {
+    public StaleMoveException(String gameId, int expectedMoveNumber, int actualMoveNumber) {
+        super("Game " + gameId + " is at move " + actualMoveNumber + ", not " + expectedMoveNumber);
+    }
+}
@@ -0,0 +1,79 @@
+package com.bol.games.mancala.simulation;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.MancalaGame;
+import com.bol.games.mancala.rules.PackedPosition;
+
+import java.util.SplittableRandom;
+
+/**
+ * Takes an extra turn when one is on offer and otherwise the hand that adds the most pebbles to the
+ * player's own Mancala, breaking ties at random. Boards too large for a {@link PackedPosition} are tried
+ * out on a scratch {@link MancalaGame} that is reset from one reused array.
+ */
+final class GreedyStrategy implements UnpackedSimulationStrategy {
+    private static final int EXTRA_TURN_SCORE = 1000;
+
+    private MancalaGame scratch;
+    private int[] scratchBoard;
+
+    @Override
+    public int choosePit(PackedPosition position, SplittableRandom random) {
+        int first = position.getTurnPlayer() == Constants.PLAYER_ONE_ID ? 0 : position.getPlayerTwoFirstPitIndex();
+        int mancala = first + position.getPitsPerPlayer();
+        long low = position.getLow();
+        long high = position.getHigh();
+        int before = position.getPebbles(mancala);
+        int bestPit = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int pit = first; pit < mancala; pit++) {
+            if (position.getPebbles(pit) == 0) {
+                continue;
+            }
+            int outcome = position.play(pit);
+            int score = 2 * (position.getPebbles(mancala) - before) + ((outcome & PackedPosition.EXTRA_TURN) != 0 ? EXTRA_TURN_SCORE : 0);
+            position.set(low, high);
+            if (score > bestScore) {
+                bestPit = pit;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                bestPit = pit;
+            }
+        }
+        return bestPit;
+    }
+
+    @Override
+    public int choosePit(MancalaGame game, SplittableRandom random) {
+        int[] board = game.getBoard();
+        if (scratch == null || scratchBoard.length != board.length) {
+            scratch = new MancalaGame(board.length, 0);
+            scratchBoard = new int[board.length];
+        }
+        int first = game.nextPlayer() == Constants.PLAYER_ONE_ID ? 0 : game.getPlayerTwoFirstPitIndex();
+        int mancala = first + game.getPitsPerPlayer();
+        int bestPit = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int pit = first; pit < mancala; pit++) {
+            if (board[pit] == 0) {
+                continue;
+            }
+            System.arraycopy(board, 0, scratchBoard, 0, board.length);
+            scratch.setBoard(scratchBoard);
+            scratch.setLastPlayer(game.getLastPlayer());
+            scratch.tryPlayHand(pit);
+            int score = 2 * (scratchBoard[mancala] - board[mancala]) + (scratch.isLastHandExtraTurn() ? EXTRA_TURN_SCORE : 0);
+            if (score > bestScore) {
+                bestPit = pit;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                bestPit = pit;
+            }
+        }
+        return bestPit;
+    }
+}
@@ -0,0 +1,135 @@
+package com.bol.games.mancala.simulation;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.PackedPosition;
+
+import java.util.SplittableRandom;
+
+/**
+ * Monte Carlo tree search with UCT selection and uniformly random playouts. The tree lives in
+ * preallocated arrays, one node per playout, that are reused for every hand, so choosing a pit allocates
+ * nothing. Because an extra turn keeps the same player to move, each node records who made the hand
+ * leading to it and is rewarded from that player's point of view.
+ */
+final class MonteCarloStrategy implements SimulationStrategy {
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private final int playouts;
+    private final int[] pit;
+    private final int[] mover;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] untried;
+    private final int[] visits;
+    private final double[] reward;
+    private final int[] path = new int[SelfPlaySimulator.MAX_GAME_LENGTH];
+    private int nodes;
+
+    MonteCarloStrategy(int playouts) {
+        this.playouts = playouts;
+        int capacity = playouts + 1;
+        this.pit = new int[capacity];
+        this.mover = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.nextSibling = new int[capacity];
+        this.untried = new int[capacity];
+        this.visits = new int[capacity];
+        this.reward = new double[capacity];
+    }
+
+    @Override
+    public int choosePit(PackedPosition position, SplittableRandom random) {
+        long rootLow = position.getLow();
+        long rootHigh = position.getHigh();
+        nodes = 0;
+        newNode(-1, -1, position);
+        for (int playout = 0; playout < playouts; playout++) {
+            position.set(rootLow, rootHigh);
+            int depth = 0;
+            int node = 0;
+            path[depth++] = node;
+            while (untried[node] == 0 && firstChild[node] >= 0) {
+                node = selectChild(node);
+                position.play(pit[node]);
+                path[depth++] = node;
+            }
+            if (untried[node] != 0 && depth < path.length) {
+                int chosen = nthSetBit(untried[node], random.nextInt(Integer.bitCount(untried[node])));
+                untried[node] &= ~(1 << chosen);
+                int player = position.getTurnPlayer();
+                position.play(chosen);
+                int child = newNode(chosen, player, position);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+                node = child;
+                path[depth++] = node;
+            }
+            int winner = playOut(position, random);
+            for (int step = 0; step < depth; step++) {
+                int visited = path[step];
+                visits[visited]++;
+                reward[visited] += winner == mover[visited] ? 1.0 : winner < 0 ? 0.5 : 0.0;
+            }
+        }
+        position.set(rootLow, rootHigh);
+        int best = -1;
+        for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+            if (best < 0 || visits[child] > visits[best]) {
+                best = child;
+            }
+        }
+        return best >= 0 ? pit[best] : nthSetBit(legalPits(position), 0);
+    }
+
+    private int newNode(int chosenPit, int player, PackedPosition position) {
+        int node = nodes++;
+        pit[node] = chosenPit;
+        mover[node] = player;
+        firstChild[node] = -1;
+        nextSibling[node] = -1;
+        untried[node] = position.isFinished() ? 0 : legalPits(position);
+        visits[node] = 0;
+        reward[node] = 0;
+        return node;
+    }
+
+    private int selectChild(int node) {
+        double logVisits = Math.log(visits[node]);
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            double value = reward[child] / visits[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+            if (value > bestValue) {
+                best = child;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    private static int playOut(PackedPosition position, SplittableRandom random) {
+        while (!position.isFinished()) {
+            int legal = legalPits(position);
+            position.play(nthSetBit(legal, random.nextInt(Integer.bitCount(legal))));
+        }
+        return position.getWinningPlayer();
+    }
+
+    private static int legalPits(PackedPosition position) {
+        int first = position.getTurnPlayer() == Constants.PLAYER_ONE_ID ? 0 : position.getPlayerTwoFirstPitIndex();
+        int legal = 0;
+        for (int pit = first; pit < first + position.getPitsPerPlayer(); pit++) {
+            if (position.getPebbles(pit) > 0) {
+                legal |= 1 << pit;
+            }
+        }
+        return legal;
+    }
+
+    private static int nthSetBit(int bits, int n) {
+        for (int skipped = 0; skipped < n; skipped++) {
+            bits &= bits - 1;
+        }
+        return Integer.numberOfTrailingZeros(bits);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bol.games.mancala.simulation;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.MancalaGame;
+import com.bol.games.mancala.rules.PackedPosition;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a uniformly random legal hand, on packed positions and on boards too large for them alike.
+ */
+final class RandomStrategy implements UnpackedSimulationStrategy {
+
+    @Override
+    public int choosePit(PackedPosition position, SplittableRandom random) {
+        int first = position.getTurnPlayer() == Constants.PLAYER_ONE_ID ? 0 : position.getPlayerTwoFirstPitIndex();
+        int legal = 0;
+        for (int pit = first; pit < first + position.getPitsPerPlayer(); pit++) {
+            if (position.getPebbles(pit) > 0) {
+                legal++;
+            }
+        }
+        int chosen = random.nextInt(legal);
+        for (int pit = first; ; pit++) {
+            if (position.getPebbles(pit) > 0 && chosen-- == 0) {
+                return pit;
+            }
+        }
+    }
+
+    @Override
+    public int choosePit(MancalaGame game, SplittableRandom random) {
+        int[] board = game.getBoard();
+        int first = game.nextPlayer() == Constants.PLAYER_ONE_ID ? 0 : game.getPlayerTwoFirstPitIndex();
+        int legal = 0;
+        for (int pit = first; pit < first + game.getPitsPerPlayer(); pit++) {
+            if (board[pit] > 0) {
+                legal++;
+            }
+        }
+        int chosen = random.nextInt(legal);
+        for (int pit = first; ; pit++) {
+            if (board[pit] > 0 && chosen-- == 0) {
+                return pit;
+            }
+        }
+    }
+}
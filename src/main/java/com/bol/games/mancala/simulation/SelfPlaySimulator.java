@@ -0,0 +1,183 @@
+package com.bol.games.mancala.simulation;
+
+import com.bol.games.mancala.rules.MancalaGame;
+import com.bol.games.mancala.rules.PackedPosition;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Plays a board variant against itself on all cores to measure win rates, game lengths, and how often
+ * hands earn an extra turn or capture. Every worker thread owns its {@link PackedPosition}, random
+ * generator and strategies, claims games from a shared counter in chunks and records into
+ * {@link SimulationStatistics}; a separate thread hands a report to the {@link SimulationReportWriter}
+ * at every interval while the run progresses. Variants that do not fit a {@link PackedPosition}, such as
+ * 20 or 30 pits, are played on a {@link MancalaGame} instead, by {@link UnpackedSimulationStrategy}s.
+ * <p>
+ * Usage: {@code gradle simulate -PsimulationArgs="14 6 1000000 random greedy build/simulation.csv"}
+ */
+public class SelfPlaySimulator {
+    static final int MAX_GAME_LENGTH = 1024;
+    private static final int GAMES_PER_CLAIM = 256;
+
+    private final int boardSize;
+    private final int pebblesPerPit;
+    private final PackedPosition startPosition;
+    private final Supplier<SimulationStrategy> playerOneStrategy;
+    private final Supplier<SimulationStrategy> playerTwoStrategy;
+
+    public SelfPlaySimulator(int boardSize, int pebblesPerPit,
+                             Supplier<SimulationStrategy> playerOneStrategy, Supplier<SimulationStrategy> playerTwoStrategy) {
+        this.boardSize = boardSize;
+        this.pebblesPerPit = pebblesPerPit;
+        this.startPosition = fitsPackedPosition(boardSize, pebblesPerPit) ? PackedPosition.newGame(boardSize, pebblesPerPit) : null;
+        this.playerOneStrategy = playerOneStrategy;
+        this.playerTwoStrategy = playerTwoStrategy;
+    }
+
+    private static boolean fitsPackedPosition(int boardSize, int pebblesPerPit) {
+        return boardSize <= PackedPosition.MAX_BOARD_SIZE && (boardSize - 2) * pebblesPerPit <= PackedPosition.MAX_PEBBLES;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int boardSize = args.length > 0 ? Integer.parseInt(args[0]) : 14;
+        int pebblesPerPit = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long games = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000;
+        String playerOne = args.length > 3 ? args[3] : "random";
+        String playerTwo = args.length > 4 ? args[4] : playerOne;
+        SelfPlaySimulator simulator = new SelfPlaySimulator(boardSize, pebblesPerPit,
+                SimulationStrategy.named(playerOne), SimulationStrategy.named(playerTwo));
+        try (SimulationReportWriter writer = args.length > 5 ? SimulationReportWriter.csv(Path.of(args[5]))
+                : SimulationReportWriter.console(System.out)) {
+            simulator.run(games, Runtime.getRuntime().availableProcessors(), Duration.ofSeconds(1), writer, System.nanoTime());
+        }
+    }
+
+    /**
+     * Plays {@code games} games on {@code threads} threads and returns the final report, which is also
+     * written last. Runs with one thread and the same seed play the same games.
+     */
+    public SimulationReport run(long games, int threads, Duration reportInterval, SimulationReportWriter writer, long seed)
+            throws InterruptedException, IOException {
+        List<SimulationStrategy[]> players = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            players.add(newPlayers());
+        }
+        SimulationStatistics statistics = new SimulationStatistics(MAX_GAME_LENGTH);
+        AtomicLong claimed = new AtomicLong();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long start = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                SplittableRandom random = seeds.split();
+                SimulationStrategy[] strategies = players.get(worker);
+                running.add(workers.submit(() -> playGames(games, claimed, strategies, random, statistics)));
+            }
+            long intervalNanos = reportInterval.toNanos();
+            reporter.scheduleAtFixedRate(() -> writer.write(statistics.snapshot(System.nanoTime() - start), false),
+                    intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Simulation failed", ex.getCause());
+        } finally {
+            workers.shutdownNow();
+            reporter.shutdown();
+            reporter.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        SimulationReport report = statistics.snapshot(System.nanoTime() - start);
+        writer.write(report, true);
+        return report;
+    }
+
+    /**
+     * Creates the strategies of one worker, which hands them to no other thread.
+     */
+    private SimulationStrategy[] newPlayers() {
+        SimulationStrategy[] strategies = {playerOneStrategy.get(), playerTwoStrategy.get()};
+        if (startPosition == null && !(strategies[0] instanceof UnpackedSimulationStrategy
+                && strategies[1] instanceof UnpackedSimulationStrategy)) {
+            throw new IllegalArgumentException("Boards over " + PackedPosition.MAX_BOARD_SIZE + " pits or "
+                    + PackedPosition.MAX_PEBBLES + " pebbles can only be simulated with the random and greedy strategies");
+        }
+        return strategies;
+    }
+
+    private void playGames(long games, AtomicLong claimed, SimulationStrategy[] strategies, SplittableRandom random,
+                           SimulationStatistics statistics) {
+        PackedPosition position = startPosition != null ? startPosition.copy() : null;
+        MancalaGame mancalaGame = startPosition == null ? new MancalaGame(boardSize, pebblesPerPit) : null;
+        UnpackedSimulationStrategy[] unpackedStrategies = startPosition == null ? new UnpackedSimulationStrategy[]{
+                (UnpackedSimulationStrategy) strategies[0], (UnpackedSimulationStrategy) strategies[1]} : null;
+        SimulationStatistics.LengthHistogram lengths = statistics.newHistogram();
+        long first;
+        while ((first = claimed.getAndAdd(GAMES_PER_CLAIM)) < games) {
+            for (long game = first; game < Math.min(first + GAMES_PER_CLAIM, games); game++) {
+                if (position != null) {
+                    position.set(startPosition.getLow(), startPosition.getHigh());
+                    playGame(position, strategies, random, statistics, lengths);
+                } else {
+                    mancalaGame.resetBoard();
+                    playGame(mancalaGame, unpackedStrategies, random, statistics, lengths);
+                }
+            }
+        }
+    }
+
+    private void playGame(PackedPosition position, SimulationStrategy[] strategies, SplittableRandom random,
+                          SimulationStatistics statistics, SimulationStatistics.LengthHistogram lengths) {
+        int hands = 0;
+        int extraTurns = 0;
+        int captures = 0;
+        while (!position.isFinished()) {
+            int pit = strategies[position.getTurnPlayer()].choosePit(position, random);
+            int outcome = position.play(pit);
+            hands++;
+            if ((outcome & PackedPosition.EXTRA_TURN) != 0) {
+                extraTurns++;
+            }
+            if ((outcome & PackedPosition.CAPTURE) != 0) {
+                captures++;
+            }
+        }
+        lengths.record(hands);
+        statistics.recordGame(position.getWinningPlayer(), hands, extraTurns, captures);
+    }
+
+    private void playGame(MancalaGame mancalaGame, UnpackedSimulationStrategy[] strategies, SplittableRandom random,
+                          SimulationStatistics statistics, SimulationStatistics.LengthHistogram lengths) {
+        int hands = 0;
+        int extraTurns = 0;
+        int captures = 0;
+        while (!mancalaGame.isFinished()) {
+            mancalaGame.tryPlayHand(strategies[mancalaGame.nextPlayer()].choosePit(mancalaGame, random));
+            hands++;
+            if (mancalaGame.isLastHandExtraTurn()) {
+                extraTurns++;
+            }
+            if (mancalaGame.isLastHandCapture()) {
+                captures++;
+            }
+        }
+        lengths.record(hands);
+        Integer winner = mancalaGame.getWinningPlayer();
+        statistics.recordGame(winner != null ? winner : -1, hands, extraTurns, captures);
+    }
+}
@@ -0,0 +1,127 @@
+package com.bol.games.mancala.simulation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals of a simulation at one point in time. Rates are per game, except the extra-turn and capture
+ * frequencies, which are per hand.
+ */
+public class SimulationReport {
+    private final long games;
+    private final long playerOneWins;
+    private final long playerTwoWins;
+    private final long draws;
+    private final long hands;
+    private final long extraTurns;
+    private final long captures;
+    private final long[] gameLengths;
+    private final long elapsedNanos;
+
+    SimulationReport(long games, long playerOneWins, long playerTwoWins, long draws, long hands, long extraTurns,
+                     long captures, long[] gameLengths, long elapsedNanos) {
+        this.games = games;
+        this.playerOneWins = playerOneWins;
+        this.playerTwoWins = playerTwoWins;
+        this.draws = draws;
+        this.hands = hands;
+        this.extraTurns = extraTurns;
+        this.captures = captures;
+        this.gameLengths = gameLengths;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getPlayerOneWins() {
+        return playerOneWins;
+    }
+
+    public long getPlayerTwoWins() {
+        return playerTwoWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    public long getExtraTurns() {
+        return extraTurns;
+    }
+
+    public long getCaptures() {
+        return captures;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Number of games that took {@code hands} hands. The last bucket counts every longer game as well.
+     */
+    public long getGamesOfLength(int hands) {
+        return gameLengths[hands];
+    }
+
+    public int getMaxGameLength() {
+        return gameLengths.length - 1;
+    }
+
+    public double getPlayerOneWinRate() {
+        return perGame(playerOneWins);
+    }
+
+    public double getPlayerTwoWinRate() {
+        return perGame(playerTwoWins);
+    }
+
+    public double getDrawRate() {
+        return perGame(draws);
+    }
+
+    public double getMeanGameLength() {
+        return perGame(hands);
+    }
+
+    public double getExtraTurnFrequency() {
+        return hands == 0 ? 0 : (double) extraTurns / hands;
+    }
+
+    public double getCaptureFrequency() {
+        return hands == 0 ? 0 : (double) captures / hands;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Game length in hands that {@code percentile} percent of the games did not exceed, read from the
+     * histogram, or 0 before the first game.
+     */
+    public int getGameLengthPercentile(double percentile) {
+        long total = 0;
+        for (long count : gameLengths) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int length = 0; length < gameLengths.length; length++) {
+            seen += gameLengths[length];
+            if (seen >= rank && seen > 0) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    private double perGame(long count) {
+        return games == 0 ? 0 : (double) count / games;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bol.games.mancala.simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives the reports of a running simulation, one per reporting interval and a final one at the end.
+ * Calls come from one reporting thread at a time.
+ */
+public interface SimulationReportWriter extends Closeable {
+    void write(SimulationReport report, boolean last);
+
+    @Override
+    default void close() {
+    }
+
+    static SimulationReportWriter console(PrintStream out) {
+        return (report, last) -> out.printf(Locale.ROOT,
+                "%s%,d games in %d s (%,.0f/s): P1 %.2f%% P2 %.2f%% draw %.2f%% | length mean %.1f p50 %d p99 %d"
+                        + " | extra turns %.2f%% captures %.2f%% of hands%n",
+                last ? "final: " : "",
+                report.getGames(), TimeUnit.NANOSECONDS.toSeconds(report.getElapsedNanos()), report.getGamesPerSecond(),
+                100 * report.getPlayerOneWinRate(), 100 * report.getPlayerTwoWinRate(), 100 * report.getDrawRate(),
+                report.getMeanGameLength(), report.getGameLengthPercentile(50), report.getGameLengthPercentile(99),
+                100 * report.getExtraTurnFrequency(), 100 * report.getCaptureFrequency());
+    }
+
+    /**
+     * Appends one row per report to {@code file}, so the run can be followed with {@code tail -f} or
+     * plotted while it progresses. The final row is followed by the game-length distribution.
+     */
+    static SimulationReportWriter csv(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+        out.println("elapsed_ms,games,player_one_wins,player_two_wins,draws,hands,extra_turns,captures,"
+                + "length_p50,length_p90,length_p99");
+        out.flush();
+        return new SimulationReportWriter() {
+            @Override
+            public void write(SimulationReport report, boolean last) {
+                out.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d%n",
+                        TimeUnit.NANOSECONDS.toMillis(report.getElapsedNanos()), report.getGames(),
+                        report.getPlayerOneWins(), report.getPlayerTwoWins(), report.getDraws(), report.getHands(),
+                        report.getExtraTurns(), report.getCaptures(),
+                        report.getGameLengthPercentile(50), report.getGameLengthPercentile(90),
+                        report.getGameLengthPercentile(99));
+                if (last) {
+                    out.println();
+                    out.println("length,games");
+                    for (int length = 0; length <= report.getMaxGameLength(); length++) {
+                        if (report.getGamesOfLength(length) > 0) {
+                            out.printf(Locale.ROOT, "%d,%d%n", length, report.getGamesOfLength(length));
+                        }
+                    }
+                }
+                out.flush();
+            }
+
+            @Override
+            public void close() {
+                out.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.bol.games.mancala.simulation;
+
+import com.bol.games.mancala.constants.Constants;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of a running simulation. Workers add to {@link LongAdder}s, which spread contended updates over
+ * cells, and each worker records game lengths in its own histogram, so the hot path never contends on a
+ * shared counter. {@link #snapshot(long)} sums everything up while the workers keep going; a snapshot
+ * taken mid-run may be a few games out of step between counters.
+ */
+public class SimulationStatistics {
+    private final LongAdder games = new LongAdder();
+    private final LongAdder playerOneWins = new LongAdder();
+    private final LongAdder playerTwoWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder hands = new LongAdder();
+    private final LongAdder extraTurns = new LongAdder();
+    private final LongAdder captures = new LongAdder();
+    private final List<LengthHistogram> histograms = new CopyOnWriteArrayList<>();
+    private final int maxGameLength;
+
+    public SimulationStatistics(int maxGameLength) {
+        this.maxGameLength = maxGameLength;
+    }
+
+    /**
+     * Returns a histogram for one worker thread. Only that thread may record into it.
+     */
+    LengthHistogram newHistogram() {
+        LengthHistogram histogram = new LengthHistogram(maxGameLength);
+        histograms.add(histogram);
+        return histogram;
+    }
+
+    void recordGame(int winner, int gameHands, int gameExtraTurns, int gameCaptures) {
+        if (winner == Constants.PLAYER_ONE_ID) {
+            playerOneWins.increment();
+        } else if (winner == Constants.PLAYER_TWO_ID) {
+            playerTwoWins.increment();
+        } else {
+            draws.increment();
+        }
+        hands.add(gameHands);
+        extraTurns.add(gameExtraTurns);
+        captures.add(gameCaptures);
+        games.increment();
+    }
+
+    public SimulationReport snapshot(long elapsedNanos) {
+        long[] lengths = new long[maxGameLength + 1];
+        for (LengthHistogram histogram : histograms) {
+            histogram.addTo(lengths);
+        }
+        return new SimulationReport(games.sum(), playerOneWins.sum(), playerTwoWins.sum(), draws.sum(), hands.sum(),
+                extraTurns.sum(), captures.sum(), lengths, elapsedNanos);
+    }
+
+    /**
+     * Single-writer histogram of game lengths in hands; the last bucket collects all longer games. The
+     * owner publishes with {@code lazySet}, which is enough for the reporting thread to see recent counts
+     * without a read-modify-write.
+     */
+    static final class LengthHistogram {
+        private final AtomicLongArray counts;
+
+        private LengthHistogram(int maxGameLength) {
+            this.counts = new AtomicLongArray(maxGameLength + 1);
+        }
+
+        void record(int gameHands) {
+            int bucket = Math.min(gameHands, counts.length() - 1);
+            counts.lazySet(bucket, counts.get(bucket) + 1);
+        }
+
+        private void addTo(long[] lengths) {
+            for (int bucket = 0; bucket < lengths.length; bucket++) {
+                lengths[bucket] += counts.get(bucket);
+            }
+        }
+    }
+}
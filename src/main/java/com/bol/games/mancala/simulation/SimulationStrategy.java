@@ -0,0 +1,74 @@
+package com.bol.games.mancala.simulation;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.search.AlphaBetaSearch;
+import com.bol.games.mancala.search.TranspositionTable;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Picks the hands of one player in self-play. Instances are owned by a single simulation thread, so they
+ * may keep buffers or a private {@link TranspositionTable}; the simulator asks a {@link Supplier} for one
+ * instance per thread.
+ */
+public interface SimulationStrategy {
+    long NO_TIME_LIMIT_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * Returns a legal pit for the player to move in {@code position}, which is not finished. The position
+     * must be left as it was.
+     */
+    int choosePit(PackedPosition position, SplittableRandom random);
+
+    static UnpackedSimulationStrategy random() {
+        return new RandomStrategy();
+    }
+
+    /**
+     * Takes an extra turn when one is on offer and otherwise the hand that adds the most pebbles to the
+     * player's own Mancala, breaking ties at random.
+     */
+    static UnpackedSimulationStrategy greedy() {
+        return new GreedyStrategy();
+    }
+
+    /**
+     * Plays the best hand found by a fixed-depth {@link AlphaBetaSearch} with a table of
+     * {@code transpositionTableEntries} entries.
+     */
+    static SimulationStrategy search(int depth, int transpositionTableEntries) {
+        AlphaBetaSearch search = new AlphaBetaSearch(new TranspositionTable(transpositionTableEntries));
+        return (position, random) -> search.search(position, depth, NO_TIME_LIMIT_MILLIS).getBestPit();
+    }
+
+    /**
+     * Plays the most visited hand after {@code playouts} Monte Carlo tree search playouts.
+     */
+    static SimulationStrategy mcts(int playouts) {
+        return new MonteCarloStrategy(playouts);
+    }
+
+    /**
+     * Parses {@code random}, {@code greedy}, {@code search:<depth>} or {@code mcts:<playouts>} into a
+     * supplier of per-thread instances.
+     */
+    static Supplier<SimulationStrategy> named(String name) {
+        if (name.equals("random")) {
+            return SimulationStrategy::random;
+        }
+        if (name.equals("greedy")) {
+            return SimulationStrategy::greedy;
+        }
+        if (name.startsWith("search:")) {
+            int depth = Integer.parseInt(name.substring("search:".length()));
+            return () -> search(depth, 1 << 16);
+        }
+        if (name.startsWith("mcts:")) {
+            int playouts = Integer.parseInt(name.substring("mcts:".length()));
+            return () -> mcts(playouts);
+        }
+        throw new IllegalArgumentException("Unknown strategy " + name + ", expected random, greedy, search:<depth> or mcts:<playouts>");
+    }
+}
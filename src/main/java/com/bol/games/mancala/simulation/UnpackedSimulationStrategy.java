@@ -0,0 +1,19 @@
+package com.bol.games.mancala.simulation;
+
+import com.bol.games.mancala.rules.MancalaGame;
+import com.bol.games.mancala.rules.PackedPosition;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link SimulationStrategy} that also plays boards too large for a {@link PackedPosition}, such as 20 or
+ * 30 pits, on the int[] engine. The simulator only plays those boards when both players implement it.
+ */
+public interface UnpackedSimulationStrategy extends SimulationStrategy {
+
+    /**
+     * Returns a legal pit for the player to move in {@code game}, which is not finished. The game must be
+     * left as it was.
+     */
+    int choosePit(MancalaGame game, SplittableRandom random);
+}
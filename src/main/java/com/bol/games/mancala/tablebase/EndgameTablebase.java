@@ -0,0 +1,105 @@
+package com.bol.games.mancala.tablebase;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.PackedPosition;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped endgame tablebase. The file holds, for every distribution of at most
+ * {@link #getMaxSeeds()} pebbles over the live pits, the exact number of pebbles the player to move gains
+ * over the opponent from there on with perfect play. Only positions with player one to move are stored;
+ * player two's positions are looked up through the mirrored board. The mapping is shared by every JVM on
+ * the host that opens the same file, and lookups read straight from the page cache.
+ */
+public class EndgameTablebase implements Closeable {
+    static final int MAGIC = 0x4D544231;
+    static final int HEADER_BYTES = 16;
+
+    private static final EndgameTablebase EMPTY = new EndgameTablebase();
+
+    private final FileChannel channel;
+    private final ByteBuffer values;
+    private final PositionRanking ranking;
+    private final int boardSize;
+    private final int maxSeeds;
+
+    private EndgameTablebase() {
+        this.channel = null;
+        this.values = null;
+        this.ranking = null;
+        this.boardSize = 0;
+        this.maxSeeds = -1;
+    }
+
+    private EndgameTablebase(FileChannel channel, MappedByteBuffer mapped) {
+        this.channel = channel;
+        if (mapped.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a Mancala endgame tablebase");
+        }
+        this.boardSize = mapped.getInt(8);
+        this.maxSeeds = mapped.getInt(12);
+        this.ranking = new PositionRanking(boardSize - 2, maxSeeds);
+        mapped.position(HEADER_BYTES);
+        this.values = mapped.slice();
+        if (values.capacity() != ranking.size()) {
+            throw new IllegalArgumentException("Tablebase file is truncated");
+        }
+    }
+
+    public static EndgameTablebase empty() {
+        return EMPTY;
+    }
+
+    public static EndgameTablebase open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new EndgameTablebase(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public boolean covers(PackedPosition position) {
+        return position.getBoardSize() == boardSize
+                && position.getPlayerOneLivePebbles() + position.getPlayerTwoLivePebbles() <= maxSeeds;
+    }
+
+    /**
+     * Pebbles the player to move gains over the opponent from here on; only valid when {@link #covers}.
+     */
+    public int value(PackedPosition position) {
+        return values.get((int) ranking.rank(position));
+    }
+
+    /**
+     * Final pebble difference from the point of view of the player to move; only valid when {@link #covers}.
+     */
+    public int score(PackedPosition position) {
+        int storeDifference = position.getPebbles(position.getPlayerOneMancalaIndex())
+                - position.getPebbles(position.getPlayerTwoMancalaIndex());
+        return (position.getTurnPlayer() == Constants.PLAYER_ONE_ID ? storeDifference : -storeDifference) + value(position);
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getMaxSeeds() {
+        return maxSeeds;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
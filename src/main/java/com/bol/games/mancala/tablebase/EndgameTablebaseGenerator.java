@@ -0,0 +1,118 @@
+package com.bol.games.mancala.tablebase;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.PackedPosition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Offline generator for {@link EndgameTablebase} files. Pebbles never leave a Mancala, and a hand that
+ * drops none into a Mancala only moves pebbles forward on the mover's own side, so every position depends
+ * only on positions with fewer pebbles on the board or on the same number of pebbles moved further
+ * along. The generator therefore solves one pebble count at a time, starting from the empty board, and
+ * resolves dependencies inside a layer by memoized recursion. Positions of a layer are spread over all
+ * cores.
+ */
+public class EndgameTablebaseGenerator {
+    private static final byte UNKNOWN = Byte.MIN_VALUE;
+    private static final int VERSION = 1;
+
+    private final int boardSize;
+    private final PositionRanking ranking;
+    private final byte[] values;
+    private final ThreadLocal<int[]> pitSeeds;
+
+    public EndgameTablebaseGenerator(int boardSize, int maxSeeds) {
+        if (maxSeeds > PackedPosition.MAX_PEBBLES || maxSeeds < 0) {
+            throw new IllegalArgumentException("Tablebases cover at most " + PackedPosition.MAX_PEBBLES + " pebbles");
+        }
+        this.boardSize = boardSize;
+        this.ranking = new PositionRanking(boardSize - 2, maxSeeds);
+        if (ranking.size() > Integer.MAX_VALUE - EndgameTablebase.HEADER_BYTES) {
+            throw new IllegalArgumentException("A tablebase for " + maxSeeds + " pebbles does not fit in one file");
+        }
+        this.values = new byte[(int) ranking.size()];
+        this.pitSeeds = ThreadLocal.withInitial(() -> new int[boardSize - 2]);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "kalah-14.tb");
+        int maxSeeds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        int boardSize = args.length > 2 ? Integer.parseInt(args[2]) : 14;
+        long start = System.nanoTime();
+        new EndgameTablebaseGenerator(boardSize, maxSeeds).generate(file, ForkJoinPool.commonPool());
+        System.out.printf("Wrote %s for up to %d pebbles in %d ms%n", file, maxSeeds, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void generate(Path file, ForkJoinPool pool) throws IOException {
+        Arrays.fill(values, UNKNOWN);
+        for (int seeds = 0; seeds <= ranking.getMaxSeeds(); seeds++) {
+            long first = ranking.layerOffset(seeds);
+            long last = first + ranking.layerSize(seeds);
+            pool.submit(() -> LongStream.range(first, last).parallel().forEach(this::solve)).join();
+        }
+        write(file);
+    }
+
+    private int solve(long rank) {
+        byte known = values[(int) rank];
+        if (known != UNKNOWN) {
+            return known;
+        }
+        PackedPosition position = positionOf(rank);
+        int value;
+        if (position.isFinished()) {
+            value = position.getPlayerOneLivePebbles() - position.getPlayerTwoLivePebbles();
+        } else {
+            value = Integer.MIN_VALUE;
+            long low = position.getLow();
+            long high = position.getHigh();
+            for (int pit = 0; pit < position.getPlayerOneMancalaIndex(); pit++) {
+                if (position.getPebbles(pit) == 0) {
+                    continue;
+                }
+                position.play(pit);
+                int gain = position.getPebbles(position.getPlayerOneMancalaIndex());
+                int childValue = solve(ranking.rank(position));
+                value = Math.max(value, gain + (position.getTurnPlayer() == Constants.PLAYER_ONE_ID ? childValue : -childValue));
+                position.set(low, high);
+            }
+        }
+        values[(int) rank] = (byte) value;
+        return value;
+    }
+
+    private PackedPosition positionOf(long rank) {
+        int[] seeds = pitSeeds.get();
+        ranking.unrank(rank, seeds);
+        int half = boardSize / 2;
+        int[] board = new int[boardSize];
+        for (int pit = 0; pit < seeds.length; pit++) {
+            board[pit < half - 1 ? pit : pit + 1] = seeds[pit];
+        }
+        return PackedPosition.of(board, Constants.PLAYER_ONE_ID);
+    }
+
+    private void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(EndgameTablebase.HEADER_BYTES);
+            header.putInt(EndgameTablebase.MAGIC).putInt(VERSION).putInt(boardSize).putInt(ranking.getMaxSeeds()).flip();
+            channel.write(header);
+            ByteBuffer body = ByteBuffer.wrap(values);
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bol.games.mancala.tablebase;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.PackedPosition;
+
+/**
+ * Perfect, minimal ranking of the live pits of a board by the combinatorial number system. All
+ * distributions of up to {@code maxSeeds} pebbles over {@code pits} pits are numbered without gaps,
+ * ordered first by the number of pebbles and then lexicographically by pit. Pit 0 is the first pit of the
+ * player to move and the opponent's pits follow the player's own.
+ */
+public class PositionRanking {
+    private final int pits;
+    private final int maxSeeds;
+    private final long[][] binomials;
+
+    public PositionRanking(int pits, int maxSeeds) {
+        this.pits = pits;
+        this.maxSeeds = maxSeeds;
+        this.binomials = new long[maxSeeds + pits + 1][pits + 1];
+        for (int n = 0; n < binomials.length; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, pits); k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + (k <= n - 1 ? binomials[n - 1][k] : 0);
+            }
+        }
+    }
+
+    public long size() {
+        return layerOffset(maxSeeds + 1);
+    }
+
+    /**
+     * Number of distributions with fewer than {@code seeds} pebbles, which is where that layer starts.
+     */
+    public long layerOffset(int seeds) {
+        return seeds == 0 ? 0 : binomials[seeds - 1 + pits][pits];
+    }
+
+    public long layerSize(int seeds) {
+        return compositions(seeds, pits);
+    }
+
+    public long rank(int[] pitSeeds) {
+        int remaining = 0;
+        for (int pit = 0; pit < pits; pit++) {
+            remaining += pitSeeds[pit];
+        }
+        long rank = layerOffset(remaining);
+        for (int pit = 0; pit < pits - 1; pit++) {
+            int partsLeft = pits - pit;
+            rank += compositions(remaining, partsLeft) - compositions(remaining - pitSeeds[pit], partsLeft);
+            remaining -= pitSeeds[pit];
+        }
+        return rank;
+    }
+
+    /**
+     * Ranks the live pits of {@code position} as seen by its player to move, without allocating.
+     */
+    public long rank(PackedPosition position) {
+        int half = position.getPlayerTwoFirstPitIndex();
+        int firstPit = position.getTurnPlayer() == Constants.PLAYER_ONE_ID ? 0 : half;
+        int remaining = position.getPlayerOneLivePebbles() + position.getPlayerTwoLivePebbles();
+        long rank = layerOffset(remaining);
+        for (int pit = 0; pit < pits - 1; pit++) {
+            int boardPit = (firstPit + (pit < half - 1 ? pit : pit + 1)) % position.getBoardSize();
+            int seeds = position.getPebbles(boardPit);
+            int partsLeft = pits - pit;
+            rank += compositions(remaining, partsLeft) - compositions(remaining - seeds, partsLeft);
+            remaining -= seeds;
+        }
+        return rank;
+    }
+
+    public int unrank(long rank, int[] pitSeeds) {
+        int seeds = 0;
+        while (layerOffset(seeds + 1) <= rank) {
+            seeds++;
+        }
+        long offset = rank - layerOffset(seeds);
+        int remaining = seeds;
+        for (int pit = 0; pit < pits - 1; pit++) {
+            int partsLeft = pits - pit;
+            int value = 0;
+            long skipped = compositions(remaining, partsLeft - 1);
+            while (offset >= skipped) {
+                offset -= skipped;
+                value++;
+                skipped = compositions(remaining - value, partsLeft - 1);
+            }
+            pitSeeds[pit] = value;
+            remaining -= value;
+        }
+        pitSeeds[pits - 1] = remaining;
+        return seeds;
+    }
+
+    /**
+     * Number of ways to put {@code seeds} pebbles in {@code parts} pits.
+     */
+    private long compositions(int seeds, int parts) {
+        if (seeds < 0) {
+            return 0;
+        }
+        if (parts == 0) {
+            return seeds == 0 ? 1 : 0;
+        }
+        return binomials[seeds + parts - 1][parts - 1];
+    }
+
+    public int getPits() {
+        return pits;
+    }
+
+    public int getMaxSeeds() {
+        return maxSeeds;
+    }
+}
@@ -0,0 +1,102 @@
+package com.bol.games.mancala.tournament;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Maximum-likelihood Elo ratings under the Bradley-Terry model, with draws counted as half a win. The
+ * strengths are fitted with the minorization-maximization iteration and every pair that met gets one
+ * virtual draw, so an entrant that won or lost every game still has a finite rating. The confidence
+ * intervals come from the Fisher information of each rating with the others held fixed. Ratings are
+ * centred on {@link #MEAN_RATING}.
+ */
+public final class EloRatings {
+    public static final double MEAN_RATING = 1500;
+
+    private static final double ELO_PER_NATURAL_UNIT = 400 / Math.log(10);
+    private static final double Z_95 = 1.96;
+    private static final int MAX_ITERATIONS = 10_000;
+    private static final double TOLERANCE = 1e-10;
+
+    private EloRatings() {
+    }
+
+    /**
+     * Returns the standings ordered from the highest rating down.
+     */
+    public static List<TournamentStanding> compute(TournamentResults results) {
+        int size = results.size();
+        double[][] games = new double[size][size];
+        double[] wins = new double[size];
+        for (int entrant = 0; entrant < size; entrant++) {
+            for (int opponent = 0; opponent < size; opponent++) {
+                long played = results.getGames(entrant, opponent);
+                if (played > 0) {
+                    games[entrant][opponent] = played + 1;
+                    wins[entrant] += results.getPoints(entrant, opponent) + 0.5;
+                }
+            }
+        }
+
+        double[] strength = new double[size];
+        Arrays.fill(strength, 1.0);
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double change = 0;
+            for (int entrant = 0; entrant < size; entrant++) {
+                double denominator = 0;
+                for (int opponent = 0; opponent < size; opponent++) {
+                    if (games[entrant][opponent] > 0) {
+                        denominator += games[entrant][opponent] / (strength[entrant] + strength[opponent]);
+                    }
+                }
+                if (denominator > 0) {
+                    double updated = wins[entrant] / denominator;
+                    change = Math.max(change, Math.abs(Math.log(updated / strength[entrant])));
+                    strength[entrant] = updated;
+                }
+            }
+            normalize(strength, wins);
+            if (change < TOLERANCE) {
+                break;
+            }
+        }
+
+        List<TournamentStanding> standings = new ArrayList<>(size);
+        for (int entrant = 0; entrant < size; entrant++) {
+            double information = 0;
+            for (int opponent = 0; opponent < size; opponent++) {
+                if (games[entrant][opponent] > 0) {
+                    double expected = strength[entrant] / (strength[entrant] + strength[opponent]);
+                    information += games[entrant][opponent] * expected * (1 - expected);
+                }
+            }
+            double error = information > 0 ? Z_95 * ELO_PER_NATURAL_UNIT / Math.sqrt(information) : Double.POSITIVE_INFINITY;
+            standings.add(new TournamentStanding(results.getEntrants().get(entrant), results.getGames(entrant),
+                    results.getPoints(entrant), MEAN_RATING + ELO_PER_NATURAL_UNIT * Math.log(strength[entrant]), error));
+        }
+        standings.sort(Comparator.comparingDouble(TournamentStanding::getElo).reversed());
+        return standings;
+    }
+
+    /**
+     * Scales the strengths of the entrants that played to a geometric mean of one; the others stay at one.
+     */
+    private static void normalize(double[] strength, double[] wins) {
+        double logSum = 0;
+        int rated = 0;
+        for (int entrant = 0; entrant < strength.length; entrant++) {
+            if (wins[entrant] > 0) {
+                logSum += Math.log(strength[entrant]);
+                rated++;
+            }
+        }
+        double geometricMean = rated > 0 ? Math.exp(logSum / rated) : 1;
+        for (int entrant = 0; entrant < strength.length; entrant++) {
+            if (wins[entrant] > 0) {
+                strength[entrant] /= geometricMean;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bol.games.mancala.tournament;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Text file with a tournament's settings, the number of rounds played and the results so far, rewritten
+ * after every round. It is written to a temporary file and moved into place, so a crash leaves the
+ * previous round's checkpoint intact. Only a checkpoint with the same settings is resumed.
+ */
+final class TournamentCheckpoint {
+    private static final String HEADER = "mancala-tournament 1";
+
+    private TournamentCheckpoint() {
+    }
+
+    static void write(Path file, String settings, int completedRounds, TournamentResults results) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temporary)) {
+            out.write(HEADER);
+            out.newLine();
+            out.write("settings " + settings);
+            out.newLine();
+            out.write("rounds " + completedRounds);
+            out.newLine();
+            for (int entrant = 0; entrant < results.size(); entrant++) {
+                for (int opponent = 0; opponent < results.size(); opponent++) {
+                    if (results.getGames(entrant, opponent) > 0) {
+                        out.write("pair " + entrant + " " + opponent + " " + results.getGames(entrant, opponent)
+                                + " " + results.getHalfPoints(entrant, opponent));
+                        out.newLine();
+                    }
+                }
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Adds the checkpointed results to {@code results} and returns the number of rounds already played, or
+     * 0 when there is no checkpoint yet.
+     */
+    static int read(Path file, String settings, TournamentResults results) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            if (!HEADER.equals(in.readLine()) || !("settings " + settings).equals(in.readLine())) {
+                throw new IllegalStateException("Checkpoint " + file + " belongs to a different tournament");
+            }
+            String rounds = in.readLine();
+            if (rounds == null || !rounds.startsWith("rounds ")) {
+                throw new IllegalStateException("Checkpoint " + file + " is incomplete");
+            }
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split(" ");
+                results.add(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                        Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+            }
+            return Integer.parseInt(rounds.substring("rounds ".length()));
+        }
+    }
+}
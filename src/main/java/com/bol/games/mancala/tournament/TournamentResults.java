@@ -0,0 +1,74 @@
+package com.bol.games.mancala.tournament;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Games and points per ordered pair of entrants, recorded concurrently by the game tasks. Points are
+ * kept in half points so a draw stays an integer.
+ */
+public class TournamentResults {
+    private final List<String> entrants;
+    private final AtomicLongArray games;
+    private final AtomicLongArray halfPoints;
+
+    public TournamentResults(List<String> entrants) {
+        this.entrants = List.copyOf(entrants);
+        this.games = new AtomicLongArray(entrants.size() * entrants.size());
+        this.halfPoints = new AtomicLongArray(entrants.size() * entrants.size());
+    }
+
+    /**
+     * Records one game between {@code first} and {@code second}; {@code firstHalfPoints} is 2 for a win
+     * of {@code first}, 1 for a draw and 0 for a loss.
+     */
+    public void recordGame(int first, int second, int firstHalfPoints) {
+        add(first, second, 1, firstHalfPoints);
+        add(second, first, 1, 2 - firstHalfPoints);
+    }
+
+    void add(int entrant, int opponent, long gameCount, long entrantHalfPoints) {
+        games.addAndGet(index(entrant, opponent), gameCount);
+        halfPoints.addAndGet(index(entrant, opponent), entrantHalfPoints);
+    }
+
+    public List<String> getEntrants() {
+        return entrants;
+    }
+
+    public int size() {
+        return entrants.size();
+    }
+
+    public long getGames(int entrant, int opponent) {
+        return games.get(index(entrant, opponent));
+    }
+
+    public double getPoints(int entrant, int opponent) {
+        return halfPoints.get(index(entrant, opponent)) / 2.0;
+    }
+
+    long getHalfPoints(int entrant, int opponent) {
+        return halfPoints.get(index(entrant, opponent));
+    }
+
+    public long getGames(int entrant) {
+        long total = 0;
+        for (int opponent = 0; opponent < size(); opponent++) {
+            total += getGames(entrant, opponent);
+        }
+        return total;
+    }
+
+    public double getPoints(int entrant) {
+        double total = 0;
+        for (int opponent = 0; opponent < size(); opponent++) {
+            total += getPoints(entrant, opponent);
+        }
+        return total;
+    }
+
+    private int index(int entrant, int opponent) {
+        return entrant * entrants.size() + opponent;
+    }
+}
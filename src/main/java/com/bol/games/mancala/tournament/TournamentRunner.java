@@ -0,0 +1,230 @@
+package com.bol.games.mancala.tournament;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.simulation.SimulationStrategy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Plays {@link SimulationStrategy} entrants against each other and rates them with {@link EloRatings}.
+ * A tournament is a sequence of rounds; every pairing of a round plays the same number of games with
+ * each entrant as player one. The games of a round are independent tasks on a work-stealing pool, and
+ * each worker thread owns its own instance of every strategy, so a game only touches thread-confined
+ * state apart from the shared {@link TournamentResults}. Round-robin rounds follow the circle method;
+ * Swiss rounds pair entrants with equal scores who have not met yet. With a checkpoint file the results
+ * are saved after every round and a restarted tournament continues from the last saved round.
+ * <p>
+ * Usage: {@code gradle tournament -PtournamentArgs="14 6 ROUND_ROBIN 2 50 build/tournament.txt random greedy search:4 mcts:500"}
+ */
+public class TournamentRunner {
+    public enum Format {
+        ROUND_ROBIN,
+        SWISS
+    }
+
+    private final int boardSize;
+    private final int pebblesPerPit;
+    private final PackedPosition startPosition;
+    private final List<String> names;
+    private final List<Supplier<SimulationStrategy>> strategies;
+
+    public TournamentRunner(int boardSize, int pebblesPerPit, Map<String, Supplier<SimulationStrategy>> entrants) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two entrants");
+        }
+        this.boardSize = boardSize;
+        this.pebblesPerPit = pebblesPerPit;
+        this.startPosition = PackedPosition.newGame(boardSize, pebblesPerPit);
+        this.names = new ArrayList<>(entrants.keySet());
+        this.strategies = new ArrayList<>(entrants.values());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 8) {
+            System.err.println("Usage: <board size> <pebbles> <ROUND_ROBIN|SWISS> <rounds> <games per color> <checkpoint|-> <entrant> <entrant>...");
+            System.exit(1);
+        }
+        Map<String, Supplier<SimulationStrategy>> entrants = new LinkedHashMap<>();
+        for (int arg = 6; arg < args.length; arg++) {
+            entrants.put(args[arg], SimulationStrategy.named(args[arg]));
+        }
+        TournamentRunner runner = new TournamentRunner(Integer.parseInt(args[0]), Integer.parseInt(args[1]), entrants);
+        List<TournamentStanding> standings = runner.run(Format.valueOf(args[2]), Integer.parseInt(args[3]),
+                Integer.parseInt(args[4]), Runtime.getRuntime().availableProcessors(), 1,
+                args[5].equals("-") ? null : Path.of(args[5]), (round, current) -> {
+                    System.out.println("After round " + round + ":");
+                    current.forEach(System.out::println);
+                });
+        System.out.println("Final standings:");
+        standings.forEach(System.out::println);
+    }
+
+    /**
+     * Plays the tournament and returns the final standings. {@code rounds} counts Swiss rounds, or complete
+     * round-robin cycles. {@code checkpoint} may be null; {@code afterEachRound} receives the number of
+     * rounds played and the standings so far. With strategies that keep nothing between hands, such as
+     * {@code random}, {@code greedy} and {@code mcts}, the same seed plays the same games whatever the
+     * number of threads.
+     */
+    public List<TournamentStanding> run(Format format, int rounds, int gamesPerColor, int threads, long seed,
+                                        Path checkpoint, RoundListener afterEachRound) throws IOException {
+        TournamentResults results = new TournamentResults(names);
+        String settings = boardSize + " " + pebblesPerPit + " " + format + " " + rounds
+                + " " + gamesPerColor + " " + seed + " " + String.join(",", names);
+        int completed = checkpoint != null ? TournamentCheckpoint.read(checkpoint, settings, results) : 0;
+        int totalRounds = format == Format.SWISS ? rounds : rounds * circleRounds();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ThreadLocal<Map<Integer, SimulationStrategy>> ownStrategies = ThreadLocal.withInitial(HashMap::new);
+        try {
+            for (int round = completed; round < totalRounds; round++) {
+                List<int[]> pairings = format == Format.SWISS ? swissPairings(results) : circlePairings(round % circleRounds());
+                SplittableRandom gameSeeds = new SplittableRandom(seed + round * 0x9E3779B97F4A7C15L);
+                List<ForkJoinTask<?>> games = new ArrayList<>();
+                for (int[] pairing : pairings) {
+                    for (int game = 0; game < 2 * gamesPerColor; game++) {
+                        int playerOne = game < gamesPerColor ? pairing[0] : pairing[1];
+                        int playerTwo = game < gamesPerColor ? pairing[1] : pairing[0];
+                        SplittableRandom random = gameSeeds.split();
+                        games.add(pool.submit(() -> playGame(playerOne, playerTwo, random, ownStrategies.get(), results)));
+                    }
+                }
+                games.forEach(ForkJoinTask::join);
+                if (checkpoint != null) {
+                    TournamentCheckpoint.write(checkpoint, settings, round + 1, results);
+                }
+                if (afterEachRound != null) {
+                    afterEachRound.roundPlayed(round + 1, EloRatings.compute(results));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return EloRatings.compute(results);
+    }
+
+    private void playGame(int playerOne, int playerTwo, SplittableRandom random,
+                          Map<Integer, SimulationStrategy> threadStrategies, TournamentResults results) {
+        SimulationStrategy[] players = {
+                threadStrategies.computeIfAbsent(playerOne, entrant -> strategies.get(entrant).get()),
+                threadStrategies.computeIfAbsent(playerTwo, entrant -> strategies.get(entrant).get())};
+        PackedPosition position = startPosition.copy();
+        while (!position.isFinished()) {
+            position.play(players[position.getTurnPlayer()].choosePit(position, random));
+        }
+        int winner = position.getWinningPlayer();
+        results.recordGame(playerOne, playerTwo, winner == 0 ? 2 : winner == 1 ? 0 : 1);
+    }
+
+    private int circleRounds() {
+        return names.size() % 2 == 0 ? names.size() - 1 : names.size();
+    }
+
+    /**
+     * Pairings of one round-robin round by the circle method: the first slot stays put and the others
+     * rotate. With an odd number of entrants the extra slot is a bye.
+     */
+    List<int[]> circlePairings(int round) {
+        int slots = names.size() + names.size() % 2;
+        int[] order = new int[slots];
+        order[0] = 0;
+        for (int slot = 1; slot < slots; slot++) {
+            order[slot] = 1 + (slot - 1 + round) % (slots - 1);
+        }
+        List<int[]> pairings = new ArrayList<>();
+        for (int slot = 0; slot < slots / 2; slot++) {
+            int first = order[slot];
+            int second = order[slots - 1 - slot];
+            if (first < names.size() && second < names.size()) {
+                pairings.add(slot % 2 == 0 ? new int[]{first, second} : new int[]{second, first});
+            }
+        }
+        return pairings;
+    }
+
+    /**
+     * Pairings of one Swiss round: entrants ordered by points, each paired with the highest ranked one below
+     * it that it has not played yet, backtracking when that leaves someone without a new opponent. Only when
+     * no pairing without rematches exists does everyone simply take the next one down. With an odd number of
+     * entrants the lowest ranked of those who played the most games, so never the one who sat out last,
+     * sits out.
+     */
+    List<int[]> swissPairings(TournamentResults results) {
+        Integer[] ranking = new Integer[names.size()];
+        Arrays.setAll(ranking, entrant -> entrant);
+        Arrays.sort(ranking, Comparator.comparingDouble((Integer entrant) -> -results.getPoints(entrant))
+                .thenComparingInt(entrant -> entrant));
+        boolean[] paired = new boolean[names.size()];
+        if (names.size() % 2 == 1) {
+            int bye = ranking[ranking.length - 1];
+            for (int rank = ranking.length - 2; rank >= 0; rank--) {
+                if (results.getGames(ranking[rank]) > results.getGames(bye)) {
+                    bye = ranking[rank];
+                }
+            }
+            paired[bye] = true;
+        }
+        List<int[]> pairings = new ArrayList<>();
+        if (pairWithoutRematches(ranking, paired.clone(), results, pairings)) {
+            return pairings;
+        }
+        for (int rank = 0; rank < ranking.length; rank++) {
+            if (paired[ranking[rank]]) {
+                continue;
+            }
+            for (int below = rank + 1; below < ranking.length; below++) {
+                if (!paired[ranking[below]]) {
+                    paired[ranking[rank]] = true;
+                    paired[ranking[below]] = true;
+                    pairings.add(new int[]{ranking[rank], ranking[below]});
+                    break;
+                }
+            }
+        }
+        return pairings;
+    }
+
+    private boolean pairWithoutRematches(Integer[] ranking, boolean[] paired, TournamentResults results, List<int[]> pairings) {
+        int rank = 0;
+        while (rank < ranking.length && paired[ranking[rank]]) {
+            rank++;
+        }
+        if (rank == ranking.length) {
+            return true;
+        }
+        int entrant = ranking[rank];
+        paired[entrant] = true;
+        for (int below = rank + 1; below < ranking.length; below++) {
+            int opponent = ranking[below];
+            if (paired[opponent] || results.getGames(entrant, opponent) > 0) {
+                continue;
+            }
+            paired[opponent] = true;
+            pairings.add(new int[]{entrant, opponent});
+            if (pairWithoutRematches(ranking, paired, results, pairings)) {
+                return true;
+            }
+            pairings.remove(pairings.size() - 1);
+            paired[opponent] = false;
+        }
+        paired[entrant] = false;
+        return false;
+    }
+
+    @FunctionalInterface
+    public interface RoundListener {
+        void roundPlayed(int roundsPlayed, List<TournamentStanding> standings);
+    }
+}
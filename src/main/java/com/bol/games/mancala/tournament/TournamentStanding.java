@@ -0,0 +1,45 @@
+package com.bol.games.mancala.tournament;
+
+public class TournamentStanding {
+    private final String name;
+    private final long games;
+    private final double points;
+    private final double elo;
+    private final double eloError;
+
+    public TournamentStanding(String name, long games, double points, double elo, double eloError) {
+        this.name = name;
+        this.games = games;
+        this.points = points;
+        this.elo = elo;
+        this.eloError = eloError;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public double getPoints() {
+        return points;
+    }
+
+    public double getElo() {
+        return elo;
+    }
+
+    /**
+     * Half-width of the 95% confidence interval of {@link #getElo()}, infinite before the first game.
+     */
+    public double getEloError() {
+        return eloError;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-16s %7d games %9.1f points %7.0f Elo +/- %.0f", name, games, points, elo, eloError);
+    }
+}
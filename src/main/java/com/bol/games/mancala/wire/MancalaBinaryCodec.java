@@ -0,0 +1,153 @@
+package com.bol.games.mancala.wire;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.rules.MoveValidation;
+
+/**
+ * Compact binary encoding of {@link MancalaGameState} for {@code application/x-mancala}. A state is one
+ * header byte, the number of pits and every pit as unsigned LEB128 varints, and the winner's score as a
+ * varint when there is a winner:
+ * <pre>
+ * header: bit 0 turn player, bit 1 finished, bits 2-3 winner (0 none, 1 player one, 2 player two),
+ *         bits 4-6 rejection ({@link MoveValidation} ordinal, 0 when the hand was not refused)
+ * </pre>
+ * A default board takes 16 bytes. The message is not sent: it only restates the rejection or the winner
+ * and score, and decoded states carry the rejection's message or an empty one.
+ */
+public final class MancalaBinaryCodec {
+    public static final int MAX_PITS = 1024;
+
+    private static final int TURN_BIT = 1;
+    private static final int FINISHED_BIT = 1 << 1;
+    private static final int WINNER_SHIFT = 2;
+    private static final int WINNER_MASK = 3 << WINNER_SHIFT;
+    private static final int REJECTION_SHIFT = 4;
+    private static final int REJECTION_MASK = 7 << REJECTION_SHIFT;
+    private static final int RESERVED_BITS = ~(TURN_BIT | FINISHED_BIT | WINNER_MASK | REJECTION_MASK) & 0xFF;
+    private static final MoveValidation[] REJECTIONS = MoveValidation.values();
+
+    private MancalaBinaryCodec() {
+    }
+
+    public static byte[] encode(MancalaGameState state) {
+        int[] board = state.getBoard();
+        int winnerCode = winnerCode(state.getWinningPlayer());
+        int size = 1 + varintSize(board.length);
+        for (int pebbles : board) {
+            size += varintSize(pebbles);
+        }
+        int score = state.getWinningPlayerScore() != null ? state.getWinningPlayerScore() : 0;
+        if (winnerCode != 0) {
+            size += varintSize(score);
+        }
+
+        byte[] bytes = new byte[size];
+        bytes[0] = (byte) ((state.getTurnPlayer() == Constants.PLAYER_TWO_ID ? TURN_BIT : 0)
+                | (state.isFinished() ? FINISHED_BIT : 0)
+                | winnerCode << WINNER_SHIFT
+                | (state.getRejection() != null ? state.getRejection().ordinal() : 0) << REJECTION_SHIFT);
+        int offset = writeVarint(bytes, 1, board.length);
+        for (int pebbles : board) {
+            offset = writeVarint(bytes, offset, pebbles);
+        }
+        if (winnerCode != 0) {
+            writeVarint(bytes, offset, score);
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes one state that spans all of {@code bytes}. Throws {@link IllegalArgumentException} for
+     * truncated, oversized or trailing input.
+     */
+    public static MancalaGameState decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        int header = reader.readByte();
+        if ((header & RESERVED_BITS) != 0) {
+            throw new IllegalArgumentException("Unknown header bits " + Integer.toBinaryString(header));
+        }
+        int winnerCode = (header & WINNER_MASK) >>> WINNER_SHIFT;
+        if (winnerCode == 3) {
+            throw new IllegalArgumentException("Unknown winner code " + winnerCode);
+        }
+        int rejection = (header & REJECTION_MASK) >>> REJECTION_SHIFT;
+        if (rejection >= REJECTIONS.length) {
+            throw new IllegalArgumentException("Unknown rejection code " + rejection);
+        }
+        int pits = reader.readVarint();
+        if (pits < 0 || pits > MAX_PITS) {
+            throw new IllegalArgumentException("A board has at most " + MAX_PITS + " pits");
+        }
+        int[] board = new int[pits];
+        for (int pit = 0; pit < pits; pit++) {
+            board[pit] = reader.readVarint();
+        }
+        int score = winnerCode != 0 ? reader.readVarint() : 0;
+        if (reader.offset != bytes.length) {
+            throw new IllegalArgumentException("Trailing bytes after the game state");
+        }
+        return MancalaGameState.builder()
+                .board(board)
+                .turnPlayer((header & TURN_BIT) != 0 ? Constants.PLAYER_TWO_ID : Constants.PLAYER_ONE_ID)
+                .isFinished((header & FINISHED_BIT) != 0)
+                .winningPlayer(winnerCode - 1)
+                .winningPlayerScore(score)
+                .message(rejection != 0 ? REJECTIONS[rejection].getMessage() : "")
+                .rejection(rejection != 0 ? REJECTIONS[rejection] : null)
+                .build();
+    }
+
+    private static int winnerCode(Integer winningPlayer) {
+        if (winningPlayer == null) {
+            return 0;
+        }
+        return winningPlayer == Constants.PLAYER_ONE_ID ? 1 : winningPlayer == Constants.PLAYER_TWO_ID ? 2 : 0;
+    }
+
+    static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] bytes, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int offset;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private int readByte() {
+            if (offset >= bytes.length) {
+                throw new IllegalArgumentException("Game state is truncated");
+            }
+            return bytes[offset++] & 0xFF;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint is longer than five bytes");
+        }
+    }
+}
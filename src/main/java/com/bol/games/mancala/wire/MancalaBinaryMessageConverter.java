@@ -0,0 +1,52 @@
+package com.bol.games.mancala.wire;
+
+import com.bol.games.mancala.model.MancalaGameState;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads and writes {@link MancalaGameState} as {@code application/x-mancala}, see {@link MancalaBinaryCodec}.
+ * Clients opt in with the {@code Accept} and {@code Content-Type} headers; JSON stays the default.
+ */
+public class MancalaBinaryMessageConverter extends AbstractHttpMessageConverter<MancalaGameState> {
+    public static final String MEDIA_TYPE_VALUE = "application/x-mancala";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int MAX_BODY_BYTES = 1 + 5 + 5 * (MancalaBinaryCodec.MAX_PITS + 1);
+
+    public MancalaBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MancalaGameState.class.equals(clazz);
+    }
+
+    @Override
+    protected MancalaGameState readInternal(Class<? extends MancalaGameState> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] body;
+        try (InputStream input = inputMessage.getBody()) {
+            body = input.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (body.length > MAX_BODY_BYTES) {
+            throw new HttpMessageNotReadableException("Game state is larger than " + MAX_BODY_BYTES + " bytes", inputMessage);
+        }
+        try {
+            return MancalaBinaryCodec.decode(body);
+        } catch (IllegalArgumentException ex) {
+            throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(MancalaGameState state, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(MancalaBinaryCodec.encode(state));
+    }
+}
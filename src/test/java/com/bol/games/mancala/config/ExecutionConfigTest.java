@@ -0,0 +1,49 @@
+package com.bol.games.mancala.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionConfigTest {
+
+    @Test
+    public void givenABusyComputePoolWithAFullQueue_whenSubmittingAnotherSearch_thenItIsRefused() throws Exception {
+        ExecutorService computeExecutor = new ExecutionConfig().computeExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        try {
+            computeExecutor.execute(() -> {
+                running.countDown();
+                awaitQuietly(release);
+            });
+            running.await();
+            computeExecutor.execute(() -> awaitQuietly(release));
+            assertThrows(ComputeCapacityExceededException.class, () -> computeExecutor.execute(() -> { }));
+        } finally {
+            release.countDown();
+            computeExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenTheVirtualMode_whenCreatingTheRequestExecutor_thenItNeedsAJava21Runtime() {
+        if (Runtime.version().feature() >= ExecutionConfig.VIRTUAL_THREADS_RELEASE) {
+            assertNotNull(new ExecutionConfig().virtualThreadRequests());
+        } else {
+            IllegalStateException refused = assertThrows(IllegalStateException.class,
+                    () -> new ExecutionConfig().virtualThreadRequests());
+            assertTrue(refused.getMessage().contains("Java " + ExecutionConfig.VIRTUAL_THREADS_RELEASE));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
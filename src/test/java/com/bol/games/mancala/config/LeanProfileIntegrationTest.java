@@ -0,0 +1,39 @@
+package com.bol.games.mancala.config;
+
+import com.bol.games.mancala.model.MancalaGameState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("lean")
+public class LeanProfileIntegrationTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    public void givenTheLeanProfile_whenStarted_thenTheDocsAreLeftOutAndTheSearchIsNotBuiltYet() {
+        assertTrue(context.getBeanNamesForType(Docket.class).length == 0);
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity("/swagger-ui/", String.class).getStatusCode());
+        assertFalse(context.getBeanFactory().containsSingleton("transpositionTable"));
+        assertTrue(context.getBeanFactory().containsSingleton("gameSessionStore"));
+        assertTrue(context.getBeanFactory().containsSingleton("sessionMetrics"));
+        assertTrue(context.getBeanFactory().containsSingleton("matchmakingLobby"));
+    }
+
+    @Test
+    public void givenTheLeanProfile_whenCallingTheApi_thenTheBeansAreCreatedOnDemand() {
+        MancalaGameState freshState = restTemplate.getForObject("/v1/reset", MancalaGameState.class);
+        assertNotNull(freshState);
+        assertEquals(0, freshState.getTurnPlayer());
+    }
+}
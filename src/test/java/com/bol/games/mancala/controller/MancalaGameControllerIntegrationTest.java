@@ -1,6 +1,13 @@
 package com.bol.games.mancala.controller;
 
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaBatchResult;
+import com.bol.games.mancala.model.MancalaGameAnalysis;
+import com.bol.games.mancala.model.MancalaGameSession;
 import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.model.MancalaMoveSuggestion;
+import com.bol.games.mancala.wire.MancalaBinaryCodec;
+import com.bol.games.mancala.wire.MancalaBinaryMessageConverter;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -30,6 +37,89 @@ public class MancalaGameControllerIntegrationTest {
         assertEquals(0, gameState.getTurnPlayer());
     }
 
+    @Test
+    public void whenCallingSuggestEndpointWithAFreshBoard_thenALegalPitIsSuggested() {
+        MancalaGameState freshState = this.restTemplate.getForObject(uri("/v1/reset/"), MancalaGameState.class);
+        ResponseEntity<MancalaMoveSuggestion> entity = this.restTemplate.exchange(
+                RequestEntity.post(uri("/v1/suggest?depth=6")).header(HttpHeaders.ORIGIN, "http://localhost:8888").body(freshState),
+                MancalaMoveSuggestion.class);
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        MancalaMoveSuggestion suggestion = entity.getBody();
+        assertNotNull(suggestion);
+        assertTrue(suggestion.getBestPit() >= 0 && suggestion.getBestPit() < 6);
+        assertEquals(6, suggestion.getDepth());
+        assertEquals(suggestion.getBestPit(), suggestion.getPrincipalVariation()[0]);
+    }
+
+    @Test
+    public void whenPlayingAServerSideGame_thenOnlyTheExpectedMoveNumberIsAccepted() {
+        MancalaGameSession created = this.restTemplate.postForObject(uri("/v1/games"), null, MancalaGameSession.class);
+        assertNotNull(created);
+        String playPath = "/v1/games/" + created.getGameId() + "/play?position=2&expectedMove=0";
+        ResponseEntity<MancalaGameSession> played = this.restTemplate.postForEntity(uri(playPath), null, MancalaGameSession.class);
+        assertEquals(HttpStatus.OK, played.getStatusCode());
+        assertEquals(1, played.getBody().getMoveNumber());
+        ResponseEntity<String> replayed = this.restTemplate.postForEntity(uri(playPath), null, String.class);
+        assertEquals(HttpStatus.CONFLICT, replayed.getStatusCode());
+    }
+
+    @Test
+    public void whenStreamingABatch_thenTheResultHasTheStateAfterEveryHand() {
+        MancalaGameState freshState = this.restTemplate.getForObject(uri("/v1/reset/"), MancalaGameState.class);
+        ResponseEntity<MancalaBatchResult> entity = this.restTemplate.postForEntity(uri("/v1/play/batch/stream"),
+                new MancalaBatchRequest(freshState, new int[]{2, 9, 13}), MancalaBatchResult.class);
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        MancalaBatchResult result = entity.getBody();
+        assertNotNull(result);
+        assertEquals(2, result.getAppliedMoves());
+        assertEquals(2, result.getIllegalMoveIndex());
+        assertEquals(2, result.getIntermediateStates().size());
+        assertArrayEquals(result.getIntermediateStates().get(1).getBoard(), result.getGameState().getBoard());
+    }
+
+    @Test
+    public void whenStreamingAGameAnalysis_thenEveryAcceptedHandIsAnalyzed() {
+        ResponseEntity<MancalaGameAnalysis> entity = this.restTemplate.postForEntity(uri("/v1/analyze/stream?depth=4"),
+                new MancalaBatchRequest(null, new int[]{2, 0, 9, 9}), MancalaGameAnalysis.class);
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        MancalaGameAnalysis analysis = entity.getBody();
+        assertNotNull(analysis);
+        assertEquals(3, analysis.getAnalyzedMoves());
+        assertEquals(3, analysis.getIllegalMoveIndex());
+        assertEquals(3, analysis.getMoves().size());
+        analysis.getMoves().forEach(move -> {
+            assertEquals(4, move.getDepth());
+            assertEquals(move.isBlunder(), move.getEvaluationLoss() >= 4);
+        });
+    }
+
+    @Test
+    public void givenTheBinaryMediaType_whenPlayingAHand_thenTheStateIsExchangedInTheCompactFormat() {
+        MancalaGameState freshState = this.restTemplate.getForObject(uri("/v1/reset/"), MancalaGameState.class);
+        ResponseEntity<byte[]> entity = this.restTemplate.exchange(
+                RequestEntity.post(uri("/v1/play?position=2"))
+                        .contentType(MancalaBinaryMessageConverter.MEDIA_TYPE)
+                        .accept(MancalaBinaryMessageConverter.MEDIA_TYPE)
+                        .body(MancalaBinaryCodec.encode(freshState)),
+                byte[].class);
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertEquals(MancalaBinaryMessageConverter.MEDIA_TYPE, entity.getHeaders().getContentType());
+        MancalaGameState played = MancalaBinaryCodec.decode(entity.getBody());
+        assertEquals(0, played.getBoard()[2]);
+        assertEquals(1, played.getBoard()[6]);
+    }
+
+    @Test
+    public void givenAPlayedHand_whenScrapingPrometheus_thenTheGameInstrumentsArePublished() {
+        MancalaGameState freshState = this.restTemplate.getForObject(uri("/v1/reset/"), MancalaGameState.class);
+        this.restTemplate.postForObject(uri("/v1/play?position=2"), freshState, MancalaGameState.class);
+        String scrape = this.restTemplate.getForObject(uri("/actuator/prometheus"), String.class);
+        assertNotNull(scrape);
+        assertTrue(scrape.contains("mancala_move_seconds_bucket{"));
+        assertTrue(scrape.contains("mancala_move_rejected_total{"));
+        assertTrue(scrape.contains("mancala_sessions_active"));
+    }
+
     private URI uri(String path) {
         return restTemplate.getRestTemplate().getUriTemplateHandler().expand(path);
     }
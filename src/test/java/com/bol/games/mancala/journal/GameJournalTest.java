@@ -0,0 +1,223 @@
+package com.bol.games.mancala.journal;
+
+import com.bol.games.mancala.constants.Constants;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MancalaPosition;
+import com.bol.games.mancala.rules.RuleVariant;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameJournalTest {
+    private static final int SEGMENT_BYTES = 64 * JournalRecord.BYTES;
+
+    private final MancalaGameEngine engine = new MancalaGameEngine(14, 6);
+    private Path directory;
+
+    @BeforeEach
+    public void before() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    public void after() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void givenGamesPlayedAcrossSegments_whenRecovering_thenEveryGameIsRestored() throws IOException {
+        GameSessionStore store = newStore();
+        List<String> gameIds;
+        try (GameJournal journal = newJournal(store)) {
+            gameIds = playRandomGames(store, 20, new Random(7));
+            store.remove(gameIds.remove(0));
+        }
+        assertTrue(MoveJournal.segments(directory).size() > 1);
+
+        GameSessionStore recovered = newStore();
+        newJournal(recovered).close();
+        assertSameGames(store, recovered, gameIds);
+    }
+
+    @Test
+    public void givenASnapshotFollowedByMoreHands_whenRecovering_thenBothAreCombined() throws IOException {
+        GameSessionStore store = newStore();
+        List<String> gameIds;
+        try (GameJournal journal = newJournal(store)) {
+            Random random = new Random(11);
+            gameIds = playRandomGames(store, 10, random);
+            journal.snapshot();
+            for (String gameId : gameIds) {
+                playRandomHands(store, gameId, 3, random);
+            }
+            gameIds.addAll(playRandomGames(store, 5, random));
+        }
+
+        GameSessionStore recovered = newStore();
+        newJournal(recovered).close();
+        assertSameGames(store, recovered, gameIds);
+    }
+
+    @Test
+    public void givenHandsJournaledOutOfOrder_whenRecovering_thenTheyAreAppliedByMoveNumber() throws IOException {
+        String gameId = UUID.randomUUID().toString();
+        try (MoveJournal journal = MoveJournal.open(directory, SEGMENT_BYTES, true)) {
+            journal.append(JournalRecord.created(gameId, 1));
+            journal.append(JournalRecord.played(gameId, 2, 9, 3));
+            journal.append(JournalRecord.played(gameId, 1, 2, 2)).join();
+        }
+
+        GameSessionStore recovered = newStore();
+        new JournalRecovery(engine).recover(directory, recovered);
+        MancalaPosition expected = engine.play(engine.play(engine.newGame(), 2), 9);
+        assertEquals(expected, recovered.get(gameId).getPosition());
+        assertEquals(2, recovered.get(gameId).getMoveNumber());
+        assertEquals(3, recovered.get(gameId).getLastActivityMillis());
+    }
+
+    @Test
+    public void givenATornRecordAtTheTail_whenRecovering_thenTheJournalEndsBeforeIt() throws IOException {
+        String gameId = UUID.randomUUID().toString();
+        try (MoveJournal journal = MoveJournal.open(directory, SEGMENT_BYTES, true)) {
+            journal.append(JournalRecord.created(gameId, 1));
+            journal.append(JournalRecord.played(gameId, 1, 2, 2));
+            journal.append(JournalRecord.played(gameId, 2, 9, 3)).join();
+        }
+        try (FileChannel segment = FileChannel.open(MoveJournal.segments(directory).get(0), StandardOpenOption.WRITE)) {
+            segment.write(ByteBuffer.wrap(new byte[]{42}), 2L * JournalRecord.BYTES + 20);
+        }
+
+        GameSessionStore recovered = newStore();
+        JournalRecovery recovery = new JournalRecovery(engine);
+        assertEquals(2L * JournalRecord.BYTES, recovery.recover(directory, recovered));
+        assertEquals(1, recovered.get(gameId).getMoveNumber());
+        try (MoveJournal reopened = MoveJournal.open(directory, SEGMENT_BYTES, true)) {
+            assertEquals(2L * JournalRecord.BYTES, reopened.getWrittenOffset());
+        }
+    }
+
+    @Test
+    public void givenAHandTheReplayRefuses_whenRecovering_thenOnlyThatGameIsDropped() throws IOException {
+        String damagedGameId = UUID.randomUUID().toString();
+        String gameId = UUID.randomUUID().toString();
+        try (MoveJournal journal = MoveJournal.open(directory, SEGMENT_BYTES, true)) {
+            journal.append(JournalRecord.created(damagedGameId, 1));
+            journal.append(JournalRecord.created(gameId, 1));
+            journal.append(JournalRecord.played(damagedGameId, 1, 6, 2));
+            journal.append(JournalRecord.played(damagedGameId, 2, 9, 3));
+            journal.append(JournalRecord.played(gameId, 1, 2, 2)).join();
+        }
+
+        GameSessionStore recovered = newStore();
+        JournalRecovery recovery = new JournalRecovery(engine);
+        recovery.recover(directory, recovered);
+        assertEquals(1, recovery.getDroppedGames());
+        assertEquals(1, recovered.size());
+        assertEquals(1, recovered.get(gameId).getMoveNumber());
+    }
+
+    @Test
+    public void givenASnapshotOfAnotherRuleVariant_whenRecovering_thenItIsRefused() throws IOException {
+        GameSessionStore store = newStore();
+        try (GameJournal journal = newJournal(store)) {
+            playRandomGames(store, 2, new Random(3));
+            journal.snapshot();
+        }
+
+        MancalaGameEngine owareEngine = new MancalaGameEngine(14, 6, RuleVariant.OWARE);
+        IOException refused = assertThrows(IOException.class,
+                () -> new JournalRecovery(owareEngine).recover(directory, new GameSessionStore(owareEngine, Duration.ofDays(1), 1000)));
+        assertTrue(refused.getMessage().contains("KALAH"));
+    }
+
+    @Test
+    public void givenAPitBeyondEightBits_whenWritingARecord_thenItReadsBack() {
+        ByteBuffer buffer = ByteBuffer.allocate(JournalRecord.BYTES);
+        JournalRecord.played(UUID.randomUUID().toString(), 1, 1_000, 5).writeTo(buffer, 0);
+        assertTrue(JournalRecord.isValid(buffer, 0));
+        assertEquals(JournalRecord.PLAYED, JournalRecord.type(buffer, 0));
+        assertEquals(1_000, JournalRecord.pit(buffer, 0));
+        assertThrows(IllegalArgumentException.class, () -> JournalRecord.played(UUID.randomUUID().toString(), 1, JournalRecord.MAX_PITS, 5));
+    }
+
+    @Test
+    public void givenAMoveNumberBeyondSixteenBits_whenWritingARecord_thenEveryFieldReadsBack() {
+        String gameId = UUID.randomUUID().toString();
+        long timeMillis = 1_647_518_400_123L;
+        ByteBuffer buffer = ByteBuffer.allocate(JournalRecord.BYTES);
+        JournalRecord.played(gameId, 70_000, 12, timeMillis).writeTo(buffer, 0);
+        assertTrue(JournalRecord.isValid(buffer, 0));
+        assertEquals(JournalRecord.PLAYED, JournalRecord.type(buffer, 0));
+        assertEquals(70_000, JournalRecord.moveNumber(buffer, 0));
+        assertEquals(12, JournalRecord.pit(buffer, 0));
+        assertEquals(timeMillis, JournalRecord.timeMillis(buffer, 0));
+        assertEquals(gameId, new UUID(JournalRecord.gameIdHigh(buffer, 0), JournalRecord.gameIdLow(buffer, 0)).toString());
+    }
+
+    private GameSessionStore newStore() {
+        return new GameSessionStore(engine, Duration.ofDays(1), 1000);
+    }
+
+    private GameJournal newJournal(GameSessionStore store) throws IOException {
+        return new GameJournal(store, engine, directory.toString(), SEGMENT_BYTES, true);
+    }
+
+    private List<String> playRandomGames(GameSessionStore store, int games, Random random) {
+        List<String> gameIds = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+            String gameId = store.create().getGameId();
+            playRandomHands(store, gameId, 1 + random.nextInt(40), random);
+            gameIds.add(gameId);
+        }
+        return gameIds;
+    }
+
+    private void playRandomHands(GameSessionStore store, String gameId, int hands, Random random) {
+        for (int hand = 0; hand < hands; hand++) {
+            GameSession session = store.get(gameId);
+            MancalaPosition position = session.getPosition();
+            if (position.isFinished()) {
+                return;
+            }
+            int firstPit = position.getTurnPlayer() == Constants.PLAYER_ONE_ID ? 0 : 7;
+            List<Integer> legalPits = new ArrayList<>();
+            for (int pit = firstPit; pit < firstPit + 6; pit++) {
+                if (position.getPebbles(pit) > 0) {
+                    legalPits.add(pit);
+                }
+            }
+            store.play(gameId, legalPits.get(random.nextInt(legalPits.size())), session.getMoveNumber());
+        }
+    }
+
+    private void assertSameGames(GameSessionStore expected, GameSessionStore actual, List<String> gameIds) {
+        assertEquals(gameIds.size(), actual.size());
+        for (String gameId : gameIds) {
+            GameSession original = expected.get(gameId);
+            GameSession restored = actual.get(gameId);
+            assertEquals(original.getPosition(), restored.getPosition());
+            assertEquals(original.getMoveNumber(), restored.getMoveNumber());
+            assertEquals(original.getLastActivityMillis(), restored.getLastActivityMillis());
+        }
+    }
+}
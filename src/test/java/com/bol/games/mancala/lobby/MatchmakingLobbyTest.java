@@ -0,0 +1,158 @@
+package com.bol.games.mancala.lobby;
+
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchmakingLobbyTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private ExecutorService botExecutor;
+    private GameSessionStore store;
+    private SimpleMeterRegistry registry;
+    private MatchmakingLobby lobby;
+
+    @BeforeEach
+    public void before() {
+        botExecutor = Executors.newSingleThreadExecutor();
+        MancalaGameEngine engine = new MancalaGameEngine(14, 6);
+        store = new GameSessionStore(engine, Duration.ofMinutes(30), 100000);
+        registry = new SimpleMeterRegistry();
+        lobby = new MatchmakingLobby(store, new LobbyBot(store, engine, botExecutor), registry, 100, TIMEOUT, nanoClock::get);
+    }
+
+    @AfterEach
+    public void after() {
+        botExecutor.shutdownNow();
+    }
+
+    @Test
+    public void whenTwoPlayersOfTheSameBucketJoin_thenTheyArePairedInOneNewGame() {
+        CompletableFuture<LobbyMatch> first = lobby.join(1510);
+        assertFalse(first.isDone());
+        assertEquals(1, lobby.getWaitingCount());
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(3));
+        LobbyMatch second = lobby.join(1590).join();
+
+        LobbyMatch opener = first.join();
+        assertSame(opener.getSession(), second.getSession());
+        assertEquals(0, opener.getPlayerId());
+        assertEquals(1, second.getPlayerId());
+        assertFalse(opener.isBotOpponent());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(3), opener.getWaitedNanos());
+        assertEquals(0, second.getWaitedNanos());
+        assertEquals(0, opener.getSession().getMoveNumber());
+        assertArrayEquals(new MancalaGameEngine(14, 6).newGame().getBoard(), opener.getSession().getPosition().getBoard());
+        assertEquals(0, lobby.getWaitingCount());
+        assertEquals(2, registry.get("mancala.lobby.pairing").tag("opponent", MatchmakingLobby.PLAYER).timer().count());
+    }
+
+    @Test
+    public void givenPlayersOfDifferentBuckets_whenTheTimeoutPasses_thenEachPlaysTheBot() throws Exception {
+        CompletableFuture<LobbyMatch> low = lobby.join(1450);
+        CompletableFuture<LobbyMatch> high = lobby.join(1550);
+        lobby.matchTimedOutPlayers();
+        assertFalse(low.isDone());
+        assertEquals(2, lobby.getWaitingCount());
+
+        nanoClock.addAndGet(TIMEOUT.toNanos());
+        lobby.matchTimedOutPlayers();
+        assertNotSame(low.join().getSession(), high.join().getSession());
+        assertTrue(low.join().isBotOpponent());
+        assertEquals(0, low.join().getPlayerId());
+        assertEquals(0, lobby.getWaitingCount());
+        assertEquals(2, registry.get("mancala.lobby.pairing").tag("opponent", MatchmakingLobby.BOT).timer().count());
+
+        String gameId = low.join().getSession().getGameId();
+        store.play(gameId, 2, 0);
+        GameSession answered = awaitTurnOfPlayerOne(gameId);
+        assertEquals(0, answered.getPosition().getTurnPlayer());
+        assertTrue(answered.getMoveNumber() >= 2);
+    }
+
+    @Test
+    public void givenAWaitingPlayerThatLeft_whenTheNextPlayerJoins_thenItKeepsWaiting() {
+        lobby.join(0).cancel(false);
+        CompletableFuture<LobbyMatch> next = lobby.join(0);
+        assertFalse(next.isDone());
+        assertEquals(1, lobby.getWaitingCount());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void whenManyPlayersJoinConcurrently_thenEveryGameHasExactlyTwoPlayers() throws Exception {
+        int threads = 8;
+        int joinsPerThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<CompletableFuture<LobbyMatch>>>> results = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int skillOffset = thread;
+            results.add(executor.submit(() -> {
+                start.await();
+                List<CompletableFuture<LobbyMatch>> matches = new ArrayList<>();
+                for (int join = 0; join < joinsPerThread; join++) {
+                    matches.add(lobby.join((join + skillOffset) % 3 * 100));
+                }
+                return matches;
+            }));
+        }
+        start.countDown();
+        List<CompletableFuture<LobbyMatch>> matches = new ArrayList<>();
+        for (Future<List<CompletableFuture<LobbyMatch>>> result : results) {
+            matches.addAll(result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        nanoClock.addAndGet(TIMEOUT.toNanos());
+        lobby.matchTimedOutPlayers();
+
+        Map<String, int[]> playersPerGame = new HashMap<>();
+        for (CompletableFuture<LobbyMatch> future : matches) {
+            LobbyMatch match = future.join();
+            int[] players = playersPerGame.computeIfAbsent(match.getSession().getGameId(), gameId -> new int[3]);
+            players[match.isBotOpponent() ? 2 : match.getPlayerId()]++;
+        }
+        int botGames = 0;
+        for (int[] players : playersPerGame.values()) {
+            if (players[2] == 1) {
+                botGames++;
+                assertEquals(0, players[0] + players[1]);
+            } else {
+                assertArrayEquals(new int[]{1, 1, 0}, players);
+            }
+        }
+        assertEquals(threads * joinsPerThread, 2 * playersPerGame.size() - botGames);
+        assertTrue(botGames <= 3);
+        assertEquals(0, lobby.getWaitingCount());
+    }
+
+    private GameSession awaitTurnOfPlayerOne(String gameId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        GameSession session = store.get(gameId);
+        while (session.getPosition().getTurnPlayer() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            session = store.get(gameId);
+        }
+        return session;
+    }
+}
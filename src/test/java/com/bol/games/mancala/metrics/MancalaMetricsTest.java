@@ -0,0 +1,55 @@
+package com.bol.games.mancala.metrics;
+
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MoveValidation;
+import com.bol.games.mancala.service.MancalaGameServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MancalaMetricsTest {
+    private SimpleMeterRegistry registry;
+    private MancalaGameServiceImpl mancalaGameService;
+
+    @BeforeEach
+    public void before() {
+        registry = new SimpleMeterRegistry();
+        mancalaGameService = new MancalaGameServiceImpl(new MancalaGameEngine(14, 6), new MancalaMetrics(registry));
+    }
+
+    @Test
+    public void whenCreated_thenEveryInstrumentIsRegisteredUpFront() {
+        assertNotNull(registry.find("mancala.move").tag("mode", MancalaMetrics.STATELESS).timer());
+        assertNotNull(registry.find("mancala.move").tag("mode", MancalaMetrics.SESSION).timer());
+        for (MoveValidation reason : MoveValidation.values()) {
+            assertEquals(!reason.isLegal(), registry.find("mancala.move.rejected").tag("reason", reason.name()).counter() != null);
+        }
+        assertNotNull(registry.find("mancala.games.abandoned").counter());
+        assertNotNull(registry.find("mancala.hand.pebbles").summary());
+    }
+
+    @Test
+    public void whenPlayingHands_thenLatencyPebblesExtraTurnsAndRejectionsAreRecorded() {
+        MancalaGameState state = mancalaGameService.resetGame();
+        state = mancalaGameService.playHand(0, state);
+        mancalaGameService.playHand(6, state);
+
+        assertEquals(2, registry.get("mancala.move").tag("mode", MancalaMetrics.STATELESS).timer().count());
+        assertEquals(1, registry.get("mancala.games.started").tag("mode", MancalaMetrics.STATELESS).counter().count());
+        assertEquals(1, registry.get("mancala.hand.pebbles").summary().count());
+        assertEquals(6, registry.get("mancala.hand.pebbles").summary().totalAmount());
+        assertEquals(1, registry.get("mancala.hand.extra.turns").counter().count());
+        assertEquals(0, registry.get("mancala.hand.captures").counter().count());
+        assertEquals(1, registry.get("mancala.move.rejected").tag("reason", MoveValidation.MANCALA_PIT.name()).counter().count());
+    }
+
+    @Test
+    public void whenABatchStopsAtAnIllegalHand_thenTheRejectionIsCounted() {
+        mancalaGameService.playBatch(new MancalaBatchRequest(mancalaGameService.resetGame(), new int[]{2, 2}), false);
+        assertEquals(1, registry.get("mancala.move.rejected").tag("reason", MoveValidation.EMPTY_PIT.name()).counter().count());
+    }
+}
@@ -0,0 +1,154 @@
+package com.bol.games.mancala.push;
+
+import com.bol.games.mancala.model.MancalaGameSession;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.session.GameNotFoundException;
+import com.bol.games.mancala.session.GameSession;
+import com.bol.games.mancala.session.GameSessionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameUpdatePublisherTest {
+    private static final int BUFFER_SIZE = 4;
+
+    private ExecutorService pushExecutor;
+    private GameSessionStore store;
+    private GameUpdatePublisher publisher;
+
+    @BeforeEach
+    public void before() {
+        pushExecutor = Executors.newFixedThreadPool(2);
+        store = new GameSessionStore(new MancalaGameEngine(14, 6), Duration.ofMinutes(30), 100);
+        publisher = new GameUpdatePublisher(store, pushExecutor, BUFFER_SIZE);
+    }
+
+    @AfterEach
+    public void after() {
+        pushExecutor.shutdownNow();
+    }
+
+    @Test
+    public void whenHandsArePlayed_thenTheSubscriberReceivesEveryMoveInOrder() throws Exception {
+        GameSession created = store.create();
+        RecordingSink sink = new RecordingSink(null, 3);
+        publisher.subscribe(created.getGameId(), sink);
+        store.play(created.getGameId(), 2, 0);
+        store.play(created.getGameId(), 9, 1);
+
+        assertTrue(sink.received.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2), sink.moveNumbers());
+        assertFalse(sink.closed);
+    }
+
+    @Test
+    public void givenASubscriberThatStopsReading_whenItsBufferOverflows_thenOnlyItIsDropped() throws Exception {
+        GameSession created = store.create();
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(stuck, 1);
+        RecordingSink fast = new RecordingSink(null, 1 + 2 * BUFFER_SIZE);
+        publisher.subscribe(created.getGameId(), slow);
+        publisher.subscribe(created.getGameId(), fast);
+        assertTrue(slow.received.await(5, TimeUnit.SECONDS));
+
+        GameSession current = created;
+        for (int hand = 0; hand < 2 * BUFFER_SIZE; hand++) {
+            int pit = current.getPosition().getTurnPlayer() == 0 ? firstNonEmpty(current, 0) : firstNonEmpty(current, 7);
+            current = store.play(created.getGameId(), pit, current.getMoveNumber());
+            fast.awaitEvents(hand + 2);
+        }
+
+        assertTrue(fast.received.await(5, TimeUnit.SECONDS));
+        assertTrue(slow.closed);
+        assertFalse(fast.closed);
+        assertEquals(1, publisher.getSubscriberCount());
+        stuck.countDown();
+    }
+
+    @Test
+    public void whenTheGameIsRemoved_thenTheSubscriberIsToldAndDisconnected() throws Exception {
+        GameSession created = store.create();
+        RecordingSink sink = new RecordingSink(null, 2);
+        publisher.subscribe(created.getGameId(), sink);
+        store.remove(created.getGameId());
+
+        assertTrue(sink.received.await(5, TimeUnit.SECONDS));
+        assertEquals(GameUpdateSubscription.REMOVED, sink.events.get(1));
+        assertTrue(sink.disconnected.await(5, TimeUnit.SECONDS));
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void givenAnUnknownGame_whenSubscribing_thenGameNotFoundAndNoSubscriptionIsLeft() {
+        assertThrows(GameNotFoundException.class, () -> publisher.subscribe("no-such-game", new RecordingSink(null, 1)));
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    private int firstNonEmpty(GameSession session, int firstPit) {
+        int pit = firstPit;
+        while (session.getPosition().getPebbles(pit) == 0) {
+            pit++;
+        }
+        return pit;
+    }
+
+    private static class RecordingSink implements GameUpdateSink {
+        private final CountDownLatch blockAfterFirst;
+        private final CountDownLatch received;
+        private final CountDownLatch disconnected = new CountDownLatch(1);
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final List<Object> payloads = new CopyOnWriteArrayList<>();
+        private volatile boolean closed;
+
+        private RecordingSink(CountDownLatch blockAfterFirst, int expectedEvents) {
+            this.blockAfterFirst = blockAfterFirst;
+            this.received = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void send(String event, Object payload) {
+            events.add(event);
+            payloads.add(payload);
+            received.countDown();
+            if (blockAfterFirst != null) {
+                try {
+                    blockAfterFirst.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void sendHeartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            disconnected.countDown();
+        }
+
+        private void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+
+        private List<Integer> moveNumbers() {
+            return payloads.stream().map(payload -> ((MancalaGameSession) payload).getMoveNumber()).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bol.games.mancala.rules;
+
+import com.bol.games.mancala.constants.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MancalaGameEngineConcurrencyTest {
+    private static final int GAMES = 4000;
+    private static final int THREADS = 16;
+
+    private final MancalaGameEngine sharedEngine = new MancalaGameEngine(14, 6);
+
+    @Test
+    public void whenPlayingThousandsOfInterleavedGamesOnOneEngine_thenEveryGameMatchesItsSequentialReplay() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<PlayedGame>> futures = new ArrayList<>();
+            for (int seed = 0; seed < GAMES; seed++) {
+                int gameSeed = seed;
+                futures.add(executor.submit(() -> playRandomGame(sharedEngine, gameSeed)));
+            }
+            MancalaGameEngine referenceEngine = new MancalaGameEngine(14, 6);
+            for (Future<PlayedGame> future : futures) {
+                PlayedGame concurrent = future.get(1, TimeUnit.MINUTES);
+                PlayedGame sequential = playRandomGame(referenceEngine, concurrent.seed);
+                assertEquals(sequential.moves, concurrent.moves);
+                assertEquals(sequential.finalPosition, concurrent.finalPosition);
+                assertTrue(concurrent.finalPosition.isFinished());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void whenPlayingAMove_thenTheInputPositionIsLeftUntouched() {
+        MancalaPosition start = sharedEngine.newGame();
+        int[] before = start.getBoard();
+        sharedEngine.play(start, 2);
+        assertArrayEquals(before, start.getBoard());
+    }
+
+    private PlayedGame playRandomGame(MancalaGameEngine engine, int seed) {
+        Random random = new Random(seed);
+        MancalaPosition position = engine.newGame();
+        List<Integer> moves = new ArrayList<>();
+        while (!position.isFinished()) {
+            int pit = pickLegalPit(position, random);
+            moves.add(pit);
+            position = engine.play(position, pit);
+            assertEquals(72, Arrays.stream(position.getBoard()).sum());
+        }
+        return new PlayedGame(seed, moves, position);
+    }
+
+    private int pickLegalPit(MancalaPosition position, Random random) {
+        int firstPit = position.getTurnPlayer() == Constants.PLAYER_ONE_ID ? 0 : 7;
+        List<Integer> legalPits = new ArrayList<>();
+        for (int pit = firstPit; pit < firstPit + 6; pit++) {
+            if (position.getPebbles(pit) > 0) {
+                legalPits.add(pit);
+            }
+        }
+        return legalPits.get(random.nextInt(legalPits.size()));
+    }
+
+    private static class PlayedGame {
+        private final int seed;
+        private final List<Integer> moves;
+        private final MancalaPosition finalPosition;
+
+        private PlayedGame(int seed, List<Integer> moves, MancalaPosition finalPosition) {
+            this.seed = seed;
+            this.moves = moves;
+            this.finalPosition = finalPosition;
+        }
+    }
+}
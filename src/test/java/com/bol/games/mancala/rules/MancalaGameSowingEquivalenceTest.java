@@ -0,0 +1,194 @@
+package com.bol.games.mancala.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MancalaGameSowingEquivalenceTest {
+    private static final int SAMPLES = 20000;
+
+    @Test
+    public void givenRandomBoards_whenPlayingAnyLegalPit_thenClosedFormSowingMatchesPebbleByPebbleSowing() {
+        Random random = new Random(2022);
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            int boardSize = 2 * (2 + random.nextInt(14));
+            int[] board = randomBoard(random, boardSize);
+            int turnPlayer = random.nextInt(2);
+            int pitsPerPlayer = boardSize / 2 - 1;
+            int pit = (turnPlayer == 0 ? 0 : boardSize / 2) + random.nextInt(pitsPerPlayer);
+            if (board[pit] == 0 || isFinished(board)) {
+                continue;
+            }
+
+            MancalaGame mancalaGame = new MancalaGame(boardSize, 6);
+            mancalaGame.setBoard(board.clone());
+            mancalaGame.setLastPlayer(1 - turnPlayer);
+            mancalaGame.playHand(pit);
+
+            int[] expectedBoard = board.clone();
+            int expectedTurnPlayer = playHandPebbleByPebble(expectedBoard, turnPlayer, pit);
+            assertArrayEquals(expectedBoard, mancalaGame.getBoard(), "board size " + boardSize + ", pit " + pit);
+            assertEquals(expectedTurnPlayer, mancalaGame.nextPlayer());
+            assertEquals(sum(expectedBoard, 0, pitsPerPlayer + 1), mancalaGame.getPlayerOneTotalPebbles());
+            assertEquals(sum(expectedBoard, pitsPerPlayer + 1, boardSize), mancalaGame.getPlayerTwoTotalPebbles());
+        }
+    }
+
+    @Test
+    public void givenRandomBoards_whenGeneratingSuccessors_thenEachMatchesPlayingThatPitAlone() {
+        Random random = new Random(2023);
+        for (int sample = 0; sample < SAMPLES / 10; sample++) {
+            int boardSize = 2 * (2 + random.nextInt(14));
+            MancalaGameEngine engine = new MancalaGameEngine(boardSize, 6);
+            MancalaPosition parent = engine.position(randomBoard(random, boardSize), random.nextInt(2));
+            List<MancalaSuccessor> successors = engine.successors(parent);
+
+            int expectedPit = 0;
+            for (MancalaSuccessor successor : successors) {
+                while (!engine.validate(parent, expectedPit).isLegal()) {
+                    expectedPit++;
+                }
+                assertEquals(expectedPit, successor.getPit());
+                MancalaPosition played = engine.play(parent, expectedPit);
+                assertEquals(played, successor.getPosition(), "board size " + boardSize + ", pit " + expectedPit);
+                assertEquals(played.isLastHandCapture(), successor.getPosition().isLastHandCapture());
+                assertEquals(played.isLastHandExtraTurn(), successor.getPosition().isLastHandExtraTurn());
+                expectedPit++;
+            }
+            for (int pit = expectedPit; pit < boardSize; pit++) {
+                assertFalse(engine.validate(parent, pit).isLegal());
+            }
+        }
+    }
+
+    @Test
+    public void givenRandomBoards_whenPlayingOware_thenTableSowingMatchesPebbleByPebbleSowing() {
+        Random random = new Random(2024);
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            int boardSize = 2 * (2 + random.nextInt(14));
+            int[] board = randomBoard(random, boardSize);
+            int turnPlayer = random.nextInt(2);
+            int pitsPerPlayer = boardSize / 2 - 1;
+            int pit = (turnPlayer == 0 ? 0 : boardSize / 2) + random.nextInt(pitsPerPlayer);
+            if (board[pit] == 0 || isFinished(board)) {
+                continue;
+            }
+
+            MancalaGame mancalaGame = new MancalaGame(boardSize, 6, RuleVariant.OWARE);
+            mancalaGame.setBoard(board.clone());
+            mancalaGame.setLastPlayer(1 - turnPlayer);
+            mancalaGame.playHand(pit);
+
+            int[] expectedBoard = board.clone();
+            boolean expectedCapture = playOwareHandPebbleByPebble(expectedBoard, turnPlayer, pit);
+            assertArrayEquals(expectedBoard, mancalaGame.getBoard(), "board size " + boardSize + ", pit " + pit);
+            assertEquals(1 - turnPlayer, mancalaGame.nextPlayer());
+            assertEquals(expectedCapture, mancalaGame.isLastHandCapture());
+            assertFalse(mancalaGame.isLastHandExtraTurn());
+            assertEquals(sum(expectedBoard, 0, pitsPerPlayer + 1), mancalaGame.getPlayerOneTotalPebbles());
+            assertEquals(sum(expectedBoard, pitsPerPlayer + 1, boardSize), mancalaGame.getPlayerTwoTotalPebbles());
+        }
+    }
+
+    @Test
+    public void givenOware_whenACaptureWouldTakeEveryPebbleOfTheOpponent_thenNothingIsCaptured() {
+        MancalaGame grandSlam = new MancalaGame(14, 6, RuleVariant.OWARE);
+        grandSlam.setBoard(new int[]{0, 0, 0, 0, 0, 2, 0, 1, 1, 0, 0, 0, 0, 0});
+        grandSlam.setLastPlayer(1);
+        grandSlam.playHand(5);
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0}, grandSlam.getBoard());
+        assertFalse(grandSlam.isLastHandCapture());
+
+        MancalaGame capture = new MancalaGame(14, 6, RuleVariant.OWARE);
+        capture.setBoard(new int[]{0, 0, 0, 0, 0, 2, 0, 1, 1, 1, 0, 0, 0, 0});
+        capture.setLastPlayer(1);
+        capture.playHand(5);
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 0, 4, 0, 0, 1, 0, 0, 0, 0}, capture.getBoard());
+        assertTrue(capture.isLastHandCapture());
+        assertEquals(1, capture.nextPlayer());
+    }
+
+    private int[] randomBoard(Random random, int boardSize) {
+        int[] board = new int[boardSize];
+        int maxPebbles = random.nextBoolean() ? 8 : 200;
+        for (int pit = 0; pit < boardSize; pit++) {
+            board[pit] = random.nextInt(maxPebbles);
+        }
+        return board;
+    }
+
+    private boolean isFinished(int[] board) {
+        int pitsPerPlayer = board.length / 2 - 1;
+        return sum(board, 0, pitsPerPlayer) == 0 || sum(board, pitsPerPlayer + 1, board.length - 1) == 0;
+    }
+
+    private int sum(int[] board, int from, int to) {
+        int total = 0;
+        for (int pit = from; pit < to; pit++) {
+            total += board[pit];
+        }
+        return total;
+    }
+
+    private int playHandPebbleByPebble(int[] board, int turnPlayer, int pit) {
+        int playerOneMancala = board.length / 2 - 1;
+        int playerTwoMancala = board.length - 1;
+        int pebbles = board[pit];
+        board[pit] = 0;
+        int current = pit;
+        while (pebbles > 0) {
+            current = current < playerTwoMancala ? current + 1 : 0;
+            if (turnPlayer == 0 && current == playerTwoMancala) {
+                current = 0;
+            } else if (turnPlayer == 1 && current == playerOneMancala) {
+                current++;
+            }
+            board[current]++;
+            pebbles--;
+        }
+        boolean ownPit = turnPlayer == 0
+                ? current < playerOneMancala
+                : current > playerOneMancala && current < playerTwoMancala;
+        if (ownPit && board[current] == 1) {
+            int mancala = turnPlayer == 0 ? playerOneMancala : playerTwoMancala;
+            int opposite = board.length - 2 - current;
+            board[mancala] += board[current] + board[opposite];
+            board[current] = 0;
+            board[opposite] = 0;
+        }
+        int ownMancala = turnPlayer == 0 ? playerOneMancala : playerTwoMancala;
+        return current == ownMancala ? turnPlayer : 1 - turnPlayer;
+    }
+
+    private boolean playOwareHandPebbleByPebble(int[] board, int turnPlayer, int pit) {
+        int playerOneMancala = board.length / 2 - 1;
+        int playerTwoMancala = board.length - 1;
+        int pebbles = board[pit];
+        board[pit] = 0;
+        int current = pit;
+        while (pebbles > 0) {
+            current = (current + 1) % board.length;
+            if (current != pit && current != playerOneMancala && current != playerTwoMancala) {
+                board[current]++;
+                pebbles--;
+            }
+        }
+        int opponentFirst = turnPlayer == 0 ? playerOneMancala + 1 : 0;
+        int opponentMancala = turnPlayer == 0 ? playerTwoMancala : playerOneMancala;
+        int captured = 0;
+        for (int run = current; run >= opponentFirst && run < opponentMancala && (board[run] == 2 || board[run] == 3); run--) {
+            captured += board[run];
+        }
+        if (captured == 0 || captured == sum(board, opponentFirst, opponentMancala)) {
+            return false;
+        }
+        for (int run = current; run >= opponentFirst && run < opponentMancala && (board[run] == 2 || board[run] == 3); run--) {
+            board[run] = 0;
+        }
+        board[turnPlayer == 0 ? playerOneMancala : playerTwoMancala] += captured;
+        return true;
+    }
+}
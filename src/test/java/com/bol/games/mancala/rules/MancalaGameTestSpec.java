@@ -3,6 +3,9 @@ package com.bol.games.mancala.rules;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MancalaGameTestSpec {
@@ -46,6 +49,19 @@ public class MancalaGameTestSpec {
         });
     }
 
+    @Test
+    public void givenIllegalHands_whenValidating_thenEachReasonIsReportedAndTheBoardIsUntouched() {
+        givenResetBoard();
+        int[] before = mancalaGame.getBoard().clone();
+        assertEquals(MoveValidation.OUTSIDE_BOARD, mancalaGame.tryPlayHand(-1));
+        assertEquals(MoveValidation.OUTSIDE_BOARD, mancalaGame.tryPlayHand(14));
+        assertEquals(MoveValidation.MANCALA_PIT, mancalaGame.tryPlayHand(6));
+        assertEquals(MoveValidation.OPPONENT_PIT, mancalaGame.tryPlayHand(12));
+        assertArrayEquals(before, mancalaGame.getBoard());
+        assertEquals(MoveValidation.LEGAL, mancalaGame.tryPlayHand(2));
+        assertEquals(MoveValidation.EMPTY_PIT, mancalaGame.validateHand(2));
+    }
+
     @Test
     public void givenFirstTurnWhenNextPlayer_thenPlayerOne() {
         givenResetBoard();
@@ -169,4 +185,21 @@ public class MancalaGameTestSpec {
         assertFalse(mancalaGame.playHand(1));
     }
 
+    @Test
+    public void givenRandomGames_whenPlayingHands_thenPlayerTotalsMatchACountOfTheBoard() {
+        Random random = new Random(7);
+        for (int game = 0; game < 200; game++) {
+            givenResetBoard();
+            while (!mancalaGame.isFinished()) {
+                int firstPit = mancalaGame.nextPlayer() == 0 ? 0 : 7;
+                int pit = firstPit + random.nextInt(6);
+                if (mancalaGame.getBoard()[pit] > 0) {
+                    mancalaGame.playHand(pit);
+                }
+                assertEquals(IntStream.rangeClosed(0, 6).map(i -> mancalaGame.getBoard()[i]).sum(), mancalaGame.getPlayerOneTotalPebbles());
+                assertEquals(IntStream.rangeClosed(7, 13).map(i -> mancalaGame.getBoard()[i]).sum(), mancalaGame.getPlayerTwoTotalPebbles());
+            }
+        }
+    }
+
 }
@@ -0,0 +1,76 @@
+package com.bol.games.mancala.rules;
+
+import com.bol.games.mancala.model.MancalaGameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedPositionTest {
+
+    @Test
+    public void givenRandomGames_whenPlayingPackedPositions_thenTheyFollowTheEngine() {
+        Random random = new Random(5);
+        for (int boardSize = 6; boardSize <= 14; boardSize += 2) {
+            int pebbles = 126 / (boardSize - 2);
+            MancalaGameEngine engine = new MancalaGameEngine(boardSize, pebbles);
+            for (int game = 0; game < 300; game++) {
+                MancalaPosition position = engine.newGame();
+                PackedPosition packed = PackedPosition.newGame(boardSize, pebbles);
+                while (!position.isFinished()) {
+                    int pit = pickLegalPit(packed, random);
+                    int outcome = packed.play(pit);
+                    MancalaPosition next = engine.play(position, pit);
+                    assertArrayEquals(next.getBoard(), packed.toBoard());
+                    assertEquals(next.getTurnPlayer(), packed.getTurnPlayer());
+                    assertEquals(next.isFinished(), packed.isFinished());
+                    assertEquals(position.getTurnPlayer() == next.getTurnPlayer(), (outcome & PackedPosition.EXTRA_TURN) != 0);
+                    position = next;
+                }
+                assertEquals(position.getWinningPlayer() == null ? -1 : position.getWinningPlayer(), packed.getWinningPlayer());
+            }
+        }
+    }
+
+    @Test
+    public void whenRestoringTheSavedLongs_thenTheMoveIsUndone() {
+        PackedPosition packed = PackedPosition.newGame(14, 6);
+        long low = packed.getLow();
+        long high = packed.getHigh();
+        long hash = packed.hash();
+        packed.play(2);
+        assertNotEquals(hash, packed.hash());
+        packed.set(low, high);
+        assertEquals(hash, packed.hash());
+        assertEquals(PackedPosition.newGame(14, 6), packed);
+    }
+
+    @Test
+    public void whenConvertingToAndFromGameState_thenThePositionIsPreserved() {
+        PackedPosition packed = PackedPosition.newGame(14, 6);
+        packed.play(0);
+        packed.play(8);
+        MancalaGameState state = packed.toState();
+        assertEquals(packed, PackedPosition.fromState(state));
+        assertEquals(packed.getTurnPlayer(), state.getTurnPlayer());
+    }
+
+    @Test
+    public void givenMorePebblesThanFitInASlot_whenPacking_thenIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> PackedPosition.newGame(14, 11));
+        assertThrows(IllegalArgumentException.class, () -> PackedPosition.newGame(16, 6));
+    }
+
+    private int pickLegalPit(PackedPosition packed, Random random) {
+        List<Integer> legalPits = new ArrayList<>();
+        for (int pit = 0; pit < packed.getBoardSize(); pit++) {
+            if (packed.isLegal(pit)) {
+                legalPits.add(pit);
+            }
+        }
+        return legalPits.get(random.nextInt(legalPits.size()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.bol.games.mancala.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZobristHashTest {
+
+    @Test
+    public void givenTheOpeningPositions_whenHashingEveryHand_thenNoKeysCollide() {
+        MancalaGameEngine engine = new MancalaGameEngine(14, 6);
+        Set<Long> keys = new HashSet<>();
+        int hands = 0;
+        for (MancalaSuccessor first : engine.successors(engine.newGame())) {
+            for (MancalaSuccessor second : engine.successors(first.getPosition())) {
+                MancalaPosition position = second.getPosition();
+                long hash = ZobristHash.of(position.getBoard(), position.getTurnPlayer());
+                for (int pit = 0; pit < 14; pit++) {
+                    keys.add(ZobristHash.withMove(hash, pit));
+                    hands++;
+                }
+            }
+        }
+        assertEquals(hands, keys.size());
+    }
+}
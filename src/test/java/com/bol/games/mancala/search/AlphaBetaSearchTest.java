@@ -0,0 +1,98 @@
+package com.bol.games.mancala.search;
+
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.rules.PackedPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlphaBetaSearchTest {
+    private static final int UNSOLVED = Integer.MIN_VALUE;
+
+    @Test
+    public void givenSmallEndgames_whenSearching_thenTheScoreMatchesExhaustiveMinimax() {
+        Random random = new Random(11);
+        int solved = 0;
+        while (solved < 200) {
+            PackedPosition position = randomEndgame(random);
+            if (position.isFinished()) {
+                continue;
+            }
+            int expected = minimax(position.copy(), 40);
+            if (expected == UNSOLVED) {
+                continue;
+            }
+            SearchResult result = new AlphaBetaSearch(new TranspositionTable(1 << 14)).search(position, 40, 60_000);
+            assertEquals(expected, result.getEvaluation());
+            PackedPosition afterBestPit = position.copy();
+            assertTrue(afterBestPit.isLegal(result.getBestPit()));
+            solved++;
+        }
+    }
+
+    @Test
+    public void givenALastPebbleThatReachesTheMancala_whenSearching_thenTheExtraTurnIsTaken() {
+        PackedPosition position = PackedPosition.fromState(state(new int[]{0, 0, 0, 0, 0, 1, 0, 1, 0, 0, 0, 0, 5, 0}, 0));
+        SearchResult result = new AlphaBetaSearch(new TranspositionTable(1024)).search(position, 6, 1000);
+        assertEquals(5, result.getBestPit());
+        assertEquals(5, result.getPrincipalVariation()[0]);
+        assertTrue(result.getNodes() > 0);
+    }
+
+    @Test
+    public void givenOpeningPosition_whenSearchingWithADepthBudget_thenTheDepthIsReachedAndThePrincipalVariationIsPlayable() {
+        PackedPosition position = PackedPosition.newGame(14, 6);
+        SearchResult result = new AlphaBetaSearch(new TranspositionTable(1 << 16)).search(position, 8, 60_000);
+        assertEquals(8, result.getDepth());
+        PackedPosition line = position.copy();
+        for (int pit : result.getPrincipalVariation()) {
+            assertTrue(line.isLegal(pit));
+            line.play(pit);
+        }
+        assertEquals(result.getBestPit(), result.getPrincipalVariation()[0]);
+    }
+
+    private PackedPosition randomEndgame(Random random) {
+        int[] board = new int[14];
+        for (int pebble = 0; pebble < 9; pebble++) {
+            int pit = random.nextInt(13);
+            board[pit == 6 ? 0 : pit]++;
+        }
+        board[6] = random.nextInt(30);
+        board[13] = random.nextInt(30);
+        return PackedPosition.fromState(state(board, random.nextInt(2)));
+    }
+
+    private int minimax(PackedPosition position, int depth) {
+        if (position.isFinished()) {
+            return AlphaBetaSearch.finalScore(position);
+        }
+        if (depth == 0) {
+            return UNSOLVED;
+        }
+        int best = Integer.MIN_VALUE + 1;
+        long low = position.getLow();
+        long high = position.getHigh();
+        int player = position.getTurnPlayer();
+        for (int pit = 0; pit < 14; pit++) {
+            if (!position.isLegal(pit)) {
+                continue;
+            }
+            position.play(pit);
+            boolean samePlayer = position.getTurnPlayer() == player;
+            int score = minimax(position, depth - 1);
+            position.set(low, high);
+            if (score == UNSOLVED) {
+                return UNSOLVED;
+            }
+            best = Math.max(best, samePlayer ? score : -score);
+        }
+        return best;
+    }
+
+    private MancalaGameState state(int[] board, int turnPlayer) {
+        return MancalaGameState.builder().board(board).turnPlayer(turnPlayer).build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.bol.games.mancala.search;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.tablebase.EndgameTablebase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameAnalyzerTest {
+    private ForkJoinPool pool;
+    private GameAnalyzer gameAnalyzer;
+
+    @BeforeEach
+    public void before() {
+        pool = new ForkJoinPool(4);
+        gameAnalyzer = new GameAnalyzer(new TranspositionTable(1 << 16), EndgameTablebase.empty(), pool);
+    }
+
+    @AfterEach
+    public void after() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void givenARandomGame_whenAnalyzing_thenEveryHandIsReportedOnceOnTheCallingThread() throws InterruptedException {
+        List<PackedPosition> positions = new ArrayList<>();
+        int[] playedPits = randomGame(new Random(8), PackedPosition.newGame(14, 6), positions);
+        Thread caller = Thread.currentThread();
+        MoveAnalysis[] analyses = new MoveAnalysis[positions.size()];
+        gameAnalyzer.analyze(positions, playedPits, 6, 60_000, analysis -> {
+            assertSame(caller, Thread.currentThread());
+            assertNull(analyses[analysis.getMoveIndex()]);
+            analyses[analysis.getMoveIndex()] = analysis;
+        });
+        for (int move = 0; move < analyses.length; move++) {
+            MoveAnalysis analysis = analyses[move];
+            assertNotNull(analysis);
+            assertEquals(playedPits[move], analysis.getPlayedPit());
+            assertEquals(6, analysis.getDepth());
+            assertTrue(positions.get(move).isLegal(analysis.getBestPit()));
+            assertTrue(analysis.getEvaluationLoss() >= 0);
+            if (analysis.getBestPit() == analysis.getPlayedPit()) {
+                assertEquals(0, analysis.getEvaluationLoss());
+            }
+        }
+    }
+
+    @Test
+    public void givenSolvableEndgames_whenAnalyzing_thenBestAndPlayedEvaluationsAreExact() throws InterruptedException {
+        Random random = new Random(4);
+        for (int game = 0; game < 20; game++) {
+            List<PackedPosition> positions = new ArrayList<>();
+            int[] playedPits = randomGame(random, randomEndgame(random), positions);
+            List<MoveAnalysis> analyses = new ArrayList<>();
+            gameAnalyzer.analyze(positions, playedPits, 40, 60_000, analyses::add);
+            assertEquals(positions.size(), analyses.size());
+            for (MoveAnalysis analysis : analyses) {
+                PackedPosition position = positions.get(analysis.getMoveIndex());
+                PackedPosition child = position.copy();
+                child.play(analysis.getPlayedPit());
+                int childEvaluation = exactEvaluation(child);
+                int expectedPlayed = child.getTurnPlayer() == position.getTurnPlayer() ? childEvaluation : -childEvaluation;
+                assertEquals(exactEvaluation(position), analysis.getBestEvaluation());
+                assertEquals(expectedPlayed, analysis.getPlayedEvaluation());
+                assertEquals(analysis.getBestEvaluation() - expectedPlayed, analysis.getEvaluationLoss());
+            }
+        }
+    }
+
+    @Test
+    public void whenTheCallbackFails_thenTheAnalysisStopsWithItsException() {
+        List<PackedPosition> positions = new ArrayList<>();
+        int[] playedPits = randomGame(new Random(9), PackedPosition.newGame(14, 6), positions);
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> gameAnalyzer.analyze(positions, playedPits, 6, 60_000, analysis -> {
+            throw new IllegalStateException("client gone");
+        }));
+        assertEquals("client gone", thrown.getMessage());
+    }
+
+    private int exactEvaluation(PackedPosition position) {
+        return new AlphaBetaSearch(new TranspositionTable(1 << 14)).search(position, 40, 60_000).getEvaluation();
+    }
+
+    private PackedPosition randomEndgame(Random random) {
+        int[] board = new int[14];
+        for (int pebble = 0; pebble < 8; pebble++) {
+            int pit = random.nextInt(13);
+            board[pit == 6 ? 0 : pit]++;
+        }
+        board[6] = random.nextInt(30);
+        board[13] = random.nextInt(30);
+        return PackedPosition.of(board, random.nextInt(2));
+    }
+
+    private int[] randomGame(Random random, PackedPosition position, List<PackedPosition> positions) {
+        List<Integer> pits = new ArrayList<>();
+        while (!position.isFinished()) {
+            int pit = random.nextInt(14);
+            if (position.isLegal(pit)) {
+                positions.add(position.copy());
+                pits.add(pit);
+                position.play(pit);
+            }
+        }
+        return pits.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
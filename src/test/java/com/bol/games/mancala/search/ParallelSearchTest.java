@@ -0,0 +1,63 @@
+package com.bol.games.mancala.search;
+
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.rules.PackedPosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSearchTest {
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void before() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void after() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void givenSolvableEndgames_whenSearchingInParallel_thenEveryModeFindsTheSingleThreadedValue() {
+        Random random = new Random(3);
+        for (int game = 0; game < 100; game++) {
+            PackedPosition position = randomEndgame(random);
+            if (position.isFinished()) {
+                continue;
+            }
+            int expected = new AlphaBetaSearch(new TranspositionTable(1 << 14)).search(position, 40, 60_000).getEvaluation();
+            for (ParallelSearch.Mode mode : ParallelSearch.Mode.values()) {
+                SearchResult result = new ParallelSearch(new TranspositionTable(1 << 14), pool).search(position, mode, 40, 60_000);
+                assertEquals(expected, result.getEvaluation(), mode.name());
+                assertTrue(position.isLegal(result.getBestPit()), mode.name());
+            }
+        }
+    }
+
+    @Test
+    public void givenOpeningPosition_whenSearchingWithLazySmp_thenNodesOfAllThreadsAreCounted() {
+        PackedPosition opening = PackedPosition.newGame(14, 6);
+        SearchResult result = new ParallelSearch(new TranspositionTable(1 << 16), pool).search(opening, ParallelSearch.Mode.LAZY_SMP, 8, 60_000);
+        assertEquals(8, result.getDepth());
+        assertTrue(opening.isLegal(result.getBestPit()));
+        assertTrue(result.getNodes() > 0);
+    }
+
+    private PackedPosition randomEndgame(Random random) {
+        int[] board = new int[14];
+        for (int pebble = 0; pebble < 8; pebble++) {
+            int pit = random.nextInt(13);
+            board[pit == 6 ? 0 : pit]++;
+        }
+        board[6] = random.nextInt(30);
+        board[13] = random.nextInt(30);
+        return PackedPosition.fromState(MancalaGameState.builder().board(board).turnPlayer(random.nextInt(2)).build());
+    }
+}
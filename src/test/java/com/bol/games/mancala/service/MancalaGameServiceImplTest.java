@@ -1,11 +1,16 @@
 package com.bol.games.mancala.service;
 
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaBatchResult;
 import com.bol.games.mancala.model.MancalaGameState;
-import com.bol.games.mancala.rules.MancalaGame;
+import com.bol.games.mancala.model.MancalaLegalMove;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MoveValidation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,8 +19,7 @@ class MancalaGameServiceImplTest {
 
     @BeforeEach
     public void before() throws Exception {
-        MancalaGame  mancalaGame = new MancalaGame();
-        mancalaGameService = new MancalaGameServiceImpl(mancalaGame);
+        mancalaGameService = new MancalaGameServiceImpl(new MancalaGameEngine(14, 6));
     }
 
     @Test
@@ -45,6 +49,98 @@ class MancalaGameServiceImplTest {
         assertEquals(36, outState.getWinningPlayerScore());
     }
 
+    @Test
+    public void whenPlayingAnOpponentPit_thenTheStateIsReturnedWithTheRejectionReason() {
+        MancalaGameState outState = mancalaGameService.playHand(9, mancalaGameService.resetGame());
+        assertEquals(MoveValidation.OPPONENT_PIT, outState.getRejection());
+        assertEquals(MoveValidation.OPPONENT_PIT.getMessage(), outState.getMessage());
+        assertArrayEquals(getNewBoardArray(), outState.getBoard());
+    }
+
+    @Test
+    public void whenPlayingOnAMissingOrWrongSizedBoard_thenTheStateIsReturnedWithTheRejectionReason() {
+        MancalaGameState missingBoard = MancalaGameState.builder().turnPlayer(0).build();
+        assertEquals(MoveValidation.INVALID_BOARD, mancalaGameService.playHand(2, missingBoard).getRejection());
+        MancalaGameState shortBoard = MancalaGameState.builder().board(new int[]{6, 6, 0, 6, 6, 0}).turnPlayer(0).build();
+        MancalaGameState outState = mancalaGameService.playHand(2, shortBoard);
+        assertEquals(MoveValidation.INVALID_BOARD, outState.getRejection());
+        assertEquals(MoveValidation.INVALID_BOARD.getMessage(), outState.getMessage());
+        assertArrayEquals(new int[]{6, 6, 0, 6, 6, 0}, outState.getBoard());
+    }
+
+    @Test
+    public void whenPlayingABatch_thenEveryIntermediateStateMatchesPlayingTheHandsOneByOne() {
+        int[] positions = {2, 9, 0};
+        MancalaBatchResult result = mancalaGameService.playBatch(new MancalaBatchRequest(mancalaGameService.resetGame(), positions), true);
+        assertNull(result.getIllegalMoveIndex());
+        assertEquals(3, result.getAppliedMoves());
+        assertEquals(3, result.getIntermediateStates().size());
+        MancalaGameState expected = mancalaGameService.resetGame();
+        for (int hand = 0; hand < positions.length; hand++) {
+            expected = mancalaGameService.playHand(positions[hand], expected);
+            assertArrayEquals(expected.getBoard(), result.getIntermediateStates().get(hand).getBoard());
+            assertEquals(expected.getTurnPlayer(), result.getIntermediateStates().get(hand).getTurnPlayer());
+        }
+        assertArrayEquals(expected.getBoard(), result.getGameState().getBoard());
+    }
+
+    @Test
+    public void whenABatchContainsAnIllegalHand_thenItStopsThereAndReportsTheIndex() {
+        MancalaBatchResult result = mancalaGameService.playBatch(new MancalaBatchRequest(mancalaGameService.resetGame(), new int[]{2, 2, 9}), false);
+        assertEquals(1, result.getIllegalMoveIndex());
+        assertEquals(1, result.getAppliedMoves());
+        assertNull(result.getIntermediateStates());
+        assertNotNull(result.getGameState().getMessage());
+        assertEquals(MoveValidation.EMPTY_PIT, result.getGameState().getRejection());
+        assertArrayEquals(mancalaGameService.playHand(2, mancalaGameService.resetGame()).getBoard(), result.getGameState().getBoard());
+    }
+
+    @Test
+    public void givenNoGameState_whenPlayingABatch_thenItIsPlayedFromANewGame() {
+        MancalaBatchResult result = mancalaGameService.playBatch(new MancalaBatchRequest(null, new int[]{2, 9}), false);
+        assertEquals(2, result.getAppliedMoves());
+        assertNull(result.getIllegalMoveIndex());
+        MancalaGameState expected = mancalaGameService.playHand(9, mancalaGameService.playHand(2, mancalaGameService.resetGame()));
+        assertArrayEquals(expected.getBoard(), result.getGameState().getBoard());
+    }
+
+    @Test
+    public void givenAWrongSizedBoard_whenPlayingABatch_thenNoHandIsPlayedAndTheBoardIsRejected() {
+        MancalaGameState shortBoard = MancalaGameState.builder().board(new int[]{6, 6, 0, 6, 6, 0}).turnPlayer(0).build();
+        MancalaBatchResult result = mancalaGameService.playBatch(new MancalaBatchRequest(shortBoard, new int[]{2}), false);
+        assertEquals(0, result.getAppliedMoves());
+        assertEquals(0, result.getIllegalMoveIndex());
+        assertEquals(MoveValidation.INVALID_BOARD, result.getGameState().getRejection());
+    }
+
+    @Test
+    public void whenListingLegalMovesOfANewBoard_thenEveryPitOfPlayerOneIsReturnedWithItsResult() {
+        List<MancalaLegalMove> legalMoves = mancalaGameService.legalMoves(mancalaGameService.resetGame());
+        assertEquals(6, legalMoves.size());
+        for (int pit = 0; pit < 6; pit++) {
+            MancalaLegalMove legalMove = legalMoves.get(pit);
+            assertEquals(pit, legalMove.getPit());
+            assertArrayEquals(mancalaGameService.playHand(pit, mancalaGameService.resetGame()).getBoard(), legalMove.getGameState().getBoard());
+            assertEquals(pit == 0, legalMove.isExtraTurn());
+            assertFalse(legalMove.isCapture());
+        }
+        assertEquals(0, legalMoves.get(0).getGameState().getTurnPlayer());
+        assertEquals(1, legalMoves.get(1).getGameState().getTurnPlayer());
+    }
+
+    @Test
+    public void givenAMissingOrWrongSizedBoard_whenListingLegalMoves_thenNoneAreReturned() {
+        assertTrue(mancalaGameService.legalMoves(MancalaGameState.builder().turnPlayer(0).build()).isEmpty());
+        MancalaGameState shortBoard = MancalaGameState.builder().board(new int[]{6, 6, 0, 6, 6, 0}).turnPlayer(0).build();
+        assertTrue(mancalaGameService.legalMoves(shortBoard).isEmpty());
+    }
+
+    @Test
+    public void givenAFinishedGame_whenListingLegalMoves_thenNoneAreReturned() {
+        MancalaGameState finished = mancalaGameService.playHand(12, generateStateOneHandOfPlayerTwoBeforeGameEnd());
+        assertTrue(mancalaGameService.legalMoves(finished).isEmpty());
+    }
+
     private MancalaGameState generateStateOneHandOfPlayerTwoBeforeGameEnd() {
         return MancalaGameState.builder()
                 .board(getBoardForLastHandOfPlayerTwo())
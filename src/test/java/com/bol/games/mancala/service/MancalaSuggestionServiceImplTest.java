@@ -0,0 +1,81 @@
+package com.bol.games.mancala.service;
+
+import com.bol.games.mancala.model.MancalaBatchRequest;
+import com.bol.games.mancala.model.MancalaGameAnalysis;
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.model.MancalaMoveSuggestion;
+import com.bol.games.mancala.model.MancalaPositionEvaluation;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MoveValidation;
+import com.bol.games.mancala.search.ParallelSearch;
+import com.bol.games.mancala.search.TranspositionTable;
+import com.bol.games.mancala.tablebase.EndgameTablebase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MancalaSuggestionServiceImplTest {
+    private ForkJoinPool pool;
+    private MancalaSuggestionServiceImpl suggestionService;
+
+    @BeforeEach
+    public void before() {
+        pool = new ForkJoinPool(2);
+        suggestionService = new MancalaSuggestionServiceImpl(new MancalaGameEngine(14, 6), new TranspositionTable(1 << 12),
+                EndgameTablebase.empty(), pool, ParallelSearch.Mode.LAZY_SMP, 32, 60_000, 4, 4, 4);
+    }
+
+    @AfterEach
+    public void after() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void givenAMissingOrWrongSizedBoard_whenSuggesting_thenTheBoardIsRefused() {
+        MancalaMoveSuggestion suggestion = suggestionService.suggestMove(MancalaGameState.builder().turnPlayer(0).build(), 2, null);
+        assertEquals(-1, suggestion.getBestPit());
+        assertEquals(MoveValidation.INVALID_BOARD.getMessage(), suggestion.getMessage());
+        MancalaGameState shortBoard = MancalaGameState.builder().board(new int[]{4, 4, 0, 4, 4, 0}).turnPlayer(0).build();
+        assertEquals(MoveValidation.INVALID_BOARD.getMessage(), suggestionService.suggestMove(shortBoard, 2, null).getMessage());
+    }
+
+    @Test
+    public void givenAWrongSizedBoard_whenEvaluating_thenTheBoardIsRefused() {
+        MancalaGameState shortBoard = MancalaGameState.builder().board(new int[]{4, 4, 0, 4, 4, 0}).turnPlayer(0).build();
+        MancalaPositionEvaluation evaluation = suggestionService.evaluatePosition(shortBoard);
+        assertEquals(MoveValidation.INVALID_BOARD.getMessage(), evaluation.getMessage());
+        assertNull(evaluation.getSource());
+    }
+
+    @Test
+    public void givenNoGameState_whenAnalyzing_thenTheHandsArePlayedFromANewGame() {
+        MancalaGameAnalysis analysis = suggestionService.analyzeGame(new MancalaBatchRequest(null, new int[]{2, 9}), 2);
+        assertEquals(2, analysis.getAnalyzedMoves());
+        assertEquals(2, analysis.getMoves().size());
+        assertEquals("", analysis.getMessage());
+    }
+
+    @Test
+    public void givenAMissingOrWrongSizedBoard_whenAnalyzing_thenTheBoardIsRefused() {
+        MancalaGameState missingBoard = MancalaGameState.builder().turnPlayer(0).build();
+        MancalaGameAnalysis analysis = suggestionService.analyzeGame(new MancalaBatchRequest(missingBoard, new int[]{2}), 2);
+        assertEquals(MoveValidation.INVALID_BOARD.getMessage(), analysis.getMessage());
+        assertEquals(0, analysis.getAnalyzedMoves());
+        MancalaGameState shortBoard = MancalaGameState.builder().board(new int[]{4, 4, 0, 4, 4, 0}).turnPlayer(0).build();
+        analysis = suggestionService.analyzeGame(new MancalaBatchRequest(shortBoard, new int[]{0}), 2);
+        assertEquals(MoveValidation.INVALID_BOARD.getMessage(), analysis.getMessage());
+    }
+
+    @Test
+    public void givenMorePebblesThanASearchHolds_whenAnalyzing_thenTheBoardIsRefused() {
+        int[] board = {20, 20, 20, 20, 20, 20, 0, 6, 6, 6, 6, 6, 6, 0};
+        MancalaGameState state = MancalaGameState.builder().board(board).turnPlayer(0).build();
+        MancalaGameAnalysis analysis = suggestionService.analyzeGame(new MancalaBatchRequest(state, new int[]{0}), 2);
+        assertEquals(0, analysis.getAnalyzedMoves());
+        assertTrue(analysis.getMessage().contains(String.valueOf(127)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.bol.games.mancala.service;
+
+import com.bol.games.mancala.metrics.MancalaMetrics;
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MoveValidation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveResultCacheTest {
+    private SimpleMeterRegistry registry;
+    private MoveResultCache moveResultCache;
+    private MancalaGameServiceImpl mancalaGameService;
+
+    @BeforeEach
+    public void before() {
+        registry = new SimpleMeterRegistry();
+        moveResultCache = new MoveResultCache(2, registry);
+        mancalaGameService = new MancalaGameServiceImpl(new MancalaGameEngine(14, 6), MancalaMetrics.disabled(), moveResultCache);
+    }
+
+    @Test
+    public void whenPlayingTheSameHandTwice_thenTheSecondIsAHitWithItsOwnBoard() {
+        MancalaGameState first = mancalaGameService.playHand(2, mancalaGameService.resetGame());
+        MancalaGameState second = mancalaGameService.playHand(2, mancalaGameService.resetGame());
+        assertEquals(first, second);
+        assertNotSame(first.getBoard(), second.getBoard());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", MoveResultCache.NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", MoveResultCache.NAME).tag("result", "miss").functionCounter().count());
+
+        second.getBoard()[0] = 99;
+        assertArrayEquals(first.getBoard(), mancalaGameService.playHand(2, mancalaGameService.resetGame()).getBoard());
+    }
+
+    @Test
+    public void whenTheClientChangesItsBoardAfterAMiss_thenTheCachedParentIsUnaffected() {
+        MancalaGameState state = mancalaGameService.resetGame();
+        MancalaGameState played = mancalaGameService.playHand(2, state);
+        state.getBoard()[5] = 0;
+        MancalaGameState changedParent = mancalaGameService.playHand(2, state);
+        assertNotEquals(played.getBoard()[5], changedParent.getBoard()[5]);
+    }
+
+    @Test
+    public void whenAKeyCollides_thenTheEntryIsNotReturnedForAnotherBoard() {
+        MancalaGameState state = mancalaGameService.resetGame();
+        long key = moveResultCache.key(state.getBoard(), 0, 2);
+        MancalaGameEngine engine = new MancalaGameEngine(14, 6);
+        moveResultCache.put(key, state.getBoard(), 0, 2, engine.play(engine.newGame(), 2));
+        int[] otherBoard = state.getBoard().clone();
+        otherBoard[0] = 5;
+        assertNull(moveResultCache.get(key, otherBoard, 0, 2));
+        assertNull(moveResultCache.get(key, state.getBoard(), 0, 3));
+        assertNotNull(moveResultCache.get(key, state.getBoard(), 0, 2));
+    }
+
+    @Test
+    public void whenRejectingHands_thenNothingIsCached() {
+        MancalaGameState rejected = mancalaGameService.playHand(9, mancalaGameService.resetGame());
+        assertEquals(MoveValidation.OPPONENT_PIT, rejected.getRejection());
+        assertEquals(0, moveResultCache.size());
+    }
+
+    @Test
+    public void whenMoreHandsArePlayedThanFit_thenEntriesAreEvicted() {
+        for (int pit = 0; pit < 6; pit++) {
+            mancalaGameService.playHand(pit, mancalaGameService.resetGame());
+        }
+        assertTrue(moveResultCache.size() <= 2);
+        assertTrue(registry.get("cache.evictions").tag("cache", MoveResultCache.NAME).functionCounter().count() >= 4);
+    }
+}
@@ -0,0 +1,191 @@
+package com.bol.games.mancala.session;
+
+import com.bol.games.mancala.rules.MancalaGameEngine;
+import com.bol.games.mancala.rules.MoveValidation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSessionStoreTest {
+    private MutableClock clock;
+    private GameSessionStore store;
+
+    @BeforeEach
+    public void before() {
+        clock = new MutableClock();
+        store = new GameSessionStore(new MancalaGameEngine(14, 6), Duration.ofMinutes(30), 3, clock);
+    }
+
+    @Test
+    public void whenPlayingAtTheExpectedMoveNumber_thenTheMoveNumberAdvances() {
+        GameSession created = store.create();
+        GameSession played = store.play(created.getGameId(), 2, 0);
+        assertEquals(1, played.getMoveNumber());
+        assertEquals(0, store.get(created.getGameId()).getPosition().getPebbles(2));
+    }
+
+    @Test
+    public void whenPlayingAtAnOldMoveNumber_thenStaleMoveException() {
+        GameSession created = store.create();
+        store.play(created.getGameId(), 2, 0);
+        assertThrows(StaleMoveException.class, () -> store.play(created.getGameId(), 3, 0));
+    }
+
+    @Test
+    public void whenPlayingAnIllegalHand_thenTheGameIsUnchanged() {
+        GameSession created = store.create();
+        IllegalMoveException rejected = assertThrows(IllegalMoveException.class, () -> store.play(created.getGameId(), 6, 0));
+        assertEquals(MoveValidation.MANCALA_PIT, rejected.getRejection());
+        assertSame(created, store.get(created.getGameId()));
+    }
+
+    @Test
+    public void givenManyThreadsPlayingTheSameMove_whenRacing_thenExactlyOneWins() throws Exception {
+        GameSession created = store.create();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int attempt = 0; attempt < 64; attempt++) {
+                Callable<Boolean> play = () -> {
+                    start.await();
+                    try {
+                        store.play(created.getGameId(), 2, 0);
+                        return true;
+                    } catch (StaleMoveException ex) {
+                        return false;
+                    }
+                };
+                attempts.add(executor.submit(play));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> attempt : attempts) {
+                winners += attempt.get() ? 1 : 0;
+            }
+            assertEquals(1, winners);
+            assertEquals(1, store.get(created.getGameId()).getMoveNumber());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenAnIdleGame_whenTheTtlPasses_thenTheGameIsEvicted() {
+        GameSession idle = store.create();
+        clock.advance(Duration.ofMinutes(20));
+        GameSession active = store.create();
+        clock.advance(Duration.ofMinutes(15));
+        store.evictIdleGames();
+        assertThrows(GameNotFoundException.class, () -> store.get(idle.getGameId()));
+        assertNotNull(store.get(active.getGameId()));
+    }
+
+    @Test
+    public void givenTheStoreIsFull_whenCreatingAGame_thenIdleGamesMakeRoomOrTheGameIsRefused() {
+        store.create();
+        store.create();
+        store.create();
+        assertThrows(SessionLimitExceededException.class, () -> store.create());
+        clock.advance(Duration.ofHours(1));
+        assertNotNull(store.create());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void givenAFailingJournal_whenPlaying_thenTheHandIsRolledBackAndNotPublished() {
+        GameSession created = store.create();
+        List<Integer> playedPits = new ArrayList<>();
+        store.addListener(new RecordingListener(playedPits));
+        store.setJournal(new GameSessionJournal() {
+            @Override
+            public void created(GameSession session) {
+            }
+
+            @Override
+            public void played(GameSession session, int pit) {
+                throw new IllegalStateException("disk full");
+            }
+
+            @Override
+            public void removed(GameSession session, long timeMillis) {
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> store.play(created.getGameId(), 2, 0));
+        assertSame(created, store.get(created.getGameId()));
+        assertTrue(playedPits.isEmpty());
+    }
+
+    @Test
+    public void givenAFailingListener_whenPlaying_thenTheOtherListenersStillHearOfTheHand() {
+        GameSession created = store.create();
+        List<Integer> playedPits = new ArrayList<>();
+        store.addListener(new RecordingListener(new ArrayList<>()) {
+            @Override
+            public void onPlayed(GameSession session, int pit) {
+                throw new IllegalStateException("listener bug");
+            }
+        });
+        store.addListener(new RecordingListener(playedPits));
+        assertEquals(1, store.play(created.getGameId(), 2, 0).getMoveNumber());
+        assertEquals(List.of(2), playedPits);
+    }
+
+    private static class RecordingListener implements GameSessionListener {
+        private final List<Integer> playedPits;
+
+        RecordingListener(List<Integer> playedPits) {
+            this.playedPits = playedPits;
+        }
+
+        @Override
+        public void onCreated(GameSession session) {
+        }
+
+        @Override
+        public void onPlayed(GameSession session, int pit) {
+            playedPits.add(pit);
+        }
+
+        @Override
+        public void onRemoved(GameSession session, long timeMillis) {
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2022-03-17T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
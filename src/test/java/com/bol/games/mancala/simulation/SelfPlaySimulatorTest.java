@@ -0,0 +1,91 @@
+package com.bol.games.mancala.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelfPlaySimulatorTest {
+
+    @Test
+    public void whenSimulatingOnAllCores_thenEveryGameIsCountedOnce() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        SimulationReport report = new SelfPlaySimulator(14, 6, SimulationStrategy::random, SimulationStrategy::random)
+                .run(20_000, 4, Duration.ofMillis(5), writer, 7);
+
+        assertEquals(20_000, report.getGames());
+        assertEquals(report.getGames(), report.getPlayerOneWins() + report.getPlayerTwoWins() + report.getDraws());
+        long histogramGames = 0;
+        long histogramHands = 0;
+        for (int length = 0; length <= report.getMaxGameLength(); length++) {
+            histogramGames += report.getGamesOfLength(length);
+            histogramHands += (long) length * report.getGamesOfLength(length);
+        }
+        assertEquals(report.getGames(), histogramGames);
+        assertEquals(report.getHands(), histogramHands);
+        assertTrue(report.getExtraTurns() > 0 && report.getCaptures() > 0);
+        assertTrue(report.getGameLengthPercentile(50) <= report.getGameLengthPercentile(99));
+        assertTrue(writer.lastReceived);
+        assertSame(report, writer.reports.get(writer.reports.size() - 1));
+    }
+
+    @Test
+    public void givenOneThreadAndTheSameSeed_whenSimulatingTwice_thenTheSameGamesArePlayed() throws Exception {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(12, 4, SimulationStrategy::greedy, SimulationStrategy::random);
+        SimulationReport first = simulator.run(2_000, 1, Duration.ofMinutes(1), new RecordingWriter(), 42);
+        SimulationReport second = simulator.run(2_000, 1, Duration.ofMinutes(1), new RecordingWriter(), 42);
+
+        assertEquals(first.getPlayerOneWins(), second.getPlayerOneWins());
+        assertEquals(first.getHands(), second.getHands());
+        assertEquals(first.getCaptures(), second.getCaptures());
+    }
+
+    @Test
+    public void givenAGreedyPlayerAgainstARandomOne_whenSimulating_thenTheGreedyPlayerWinsMostGames() throws Exception {
+        SimulationReport report = new SelfPlaySimulator(14, 4, SimulationStrategy::random, SimulationStrategy::greedy)
+                .run(2_000, 2, Duration.ofMinutes(1), new RecordingWriter(), 1);
+
+        assertTrue(report.getPlayerTwoWinRate() > 0.8);
+    }
+
+    @Test
+    public void givenAMonteCarloPlayerAgainstARandomOne_whenSimulating_thenTheMonteCarloPlayerWinsMostGames() throws Exception {
+        SimulationReport report = new SelfPlaySimulator(14, 4, SimulationStrategy.named("mcts:200"), SimulationStrategy::random)
+                .run(200, 2, Duration.ofMinutes(1), new RecordingWriter(), 5);
+        assertTrue(report.getPlayerOneWinRate() > 0.8);
+    }
+
+    @Test
+    public void givenAVariantThatDoesNotFitAPackedPosition_whenSimulatingWithASearch_thenItIsRejected() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(14, 12, SimulationStrategy.named("search:2"), SimulationStrategy::random);
+        RecordingWriter writer = new RecordingWriter();
+        assertThrows(IllegalArgumentException.class, () -> simulator.run(10, 2, Duration.ofMinutes(1), writer, 1));
+        assertTrue(writer.reports.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> SimulationStrategy.named("minimax"));
+    }
+
+    @Test
+    public void givenABoardTooLargeForAPackedPosition_whenSimulating_thenItIsPlayedOnTheIntArrayEngine() throws Exception {
+        SimulationReport report = new SelfPlaySimulator(30, 6, SimulationStrategy::random, SimulationStrategy::greedy)
+                .run(1_000, 2, Duration.ofMinutes(1), new RecordingWriter(), 3);
+
+        assertEquals(1_000, report.getGames());
+        assertEquals(report.getGames(), report.getPlayerOneWins() + report.getPlayerTwoWins() + report.getDraws());
+        assertTrue(report.getExtraTurns() > 0 && report.getCaptures() > 0);
+        assertTrue(report.getPlayerTwoWinRate() > 0.8);
+    }
+
+    private static class RecordingWriter implements SimulationReportWriter {
+        private final List<SimulationReport> reports = new CopyOnWriteArrayList<>();
+        private volatile boolean lastReceived;
+
+        @Override
+        public void write(SimulationReport report, boolean last) {
+            reports.add(report);
+            lastReceived |= last;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.bol.games.mancala.tablebase;
+
+import com.bol.games.mancala.rules.PackedPosition;
+import com.bol.games.mancala.search.AlphaBetaSearch;
+import com.bol.games.mancala.search.SearchResult;
+import com.bol.games.mancala.search.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndgameTablebaseTest {
+    private static final int MAX_SEEDS = 7;
+
+    @Test
+    public void whenRankingAndUnranking_thenEveryIndexIsReachedExactlyOnce() {
+        PositionRanking ranking = new PositionRanking(12, MAX_SEEDS);
+        int[] pitSeeds = new int[12];
+        for (long rank = 0; rank < ranking.size(); rank++) {
+            int seeds = ranking.unrank(rank, pitSeeds);
+            assertTrue(seeds <= MAX_SEEDS);
+            assertEquals(rank, ranking.rank(pitSeeds));
+        }
+        assertEquals(50388, ranking.size());
+    }
+
+    @Test
+    public void givenAGeneratedTablebase_whenLookingUpPositions_thenValuesMatchExhaustiveSearch() throws Exception {
+        Path file = Files.createTempFile("kalah", ".tb");
+        try {
+            new EndgameTablebaseGenerator(14, MAX_SEEDS).generate(file, ForkJoinPool.commonPool());
+            try (EndgameTablebase tablebase = EndgameTablebase.open(file)) {
+                Random random = new Random(17);
+                for (int sample = 0; sample < 500; sample++) {
+                    PackedPosition position = randomEndgame(random);
+                    assertTrue(tablebase.covers(position));
+                    assertEquals(exhaustiveScore(position.copy()), tablebase.score(position));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void givenATablebase_whenSearching_thenTheSearchStopsAtCoveredPositions() throws Exception {
+        Path file = Files.createTempFile("kalah", ".tb");
+        try {
+            new EndgameTablebaseGenerator(14, MAX_SEEDS).generate(file, ForkJoinPool.commonPool());
+            try (EndgameTablebase tablebase = EndgameTablebase.open(file)) {
+                PackedPosition position = PackedPosition.of(new int[]{1, 0, 2, 0, 0, 1, 20, 0, 3, 0, 1, 0, 0, 22}, 0);
+                SearchResult withTablebase = new AlphaBetaSearch(new TranspositionTable(1024), tablebase).search(position, 30, 10_000);
+                SearchResult withoutTablebase = new AlphaBetaSearch(new TranspositionTable(1024)).search(position, 30, 10_000);
+                assertEquals(withoutTablebase.getEvaluation(), withTablebase.getEvaluation());
+                assertTrue(withTablebase.getNodes() < withoutTablebase.getNodes());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private PackedPosition randomEndgame(Random random) {
+        int[] board = new int[14];
+        int seeds = random.nextInt(MAX_SEEDS + 1);
+        for (int pebble = 0; pebble < seeds; pebble++) {
+            int pit = random.nextInt(12);
+            board[pit < 6 ? pit : pit + 1]++;
+        }
+        board[6] = random.nextInt(40);
+        board[13] = random.nextInt(40);
+        return PackedPosition.of(board, random.nextInt(2));
+    }
+
+    private int exhaustiveScore(PackedPosition position) {
+        if (position.isFinished()) {
+            int difference = position.getPlayerOneTotalPebbles() - position.getPlayerTwoTotalPebbles();
+            return position.getTurnPlayer() == 0 ? difference : -difference;
+        }
+        int best = Integer.MIN_VALUE;
+        long low = position.getLow();
+        long high = position.getHigh();
+        int player = position.getTurnPlayer();
+        for (int pit = 0; pit < 14; pit++) {
+            if (position.isLegal(pit)) {
+                position.play(pit);
+                int score = exhaustiveScore(position);
+                best = Math.max(best, position.getTurnPlayer() == player ? score : -score);
+                position.set(low, high);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,111 @@
+package com.bol.games.mancala.tournament;
+
+import com.bol.games.mancala.simulation.SimulationStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentRunnerTest {
+
+    @Test
+    public void givenARoundRobin_whenPlayingOneCycle_thenEveryPairMeetsOnceWithBothColors() throws Exception {
+        TournamentRunner runner = new TournamentRunner(12, 4, entrants("random", "greedy", "mcts:50", "random#2", "greedy#2"));
+        Set<String> pairs = new HashSet<>();
+        for (int round = 0; round < 5; round++) {
+            boolean[] playing = new boolean[5];
+            for (int[] pairing : runner.circlePairings(round)) {
+                assertFalse(playing[pairing[0]] || playing[pairing[1]]);
+                playing[pairing[0]] = true;
+                playing[pairing[1]] = true;
+                assertTrue(pairs.add(Math.min(pairing[0], pairing[1]) + "-" + Math.max(pairing[0], pairing[1])));
+            }
+        }
+        assertEquals(10, pairs.size());
+
+        List<TournamentStanding> standings = runner.run(TournamentRunner.Format.ROUND_ROBIN, 1, 3, 4, 7, null, null);
+        assertEquals(5, standings.size());
+        standings.forEach(standing -> assertEquals(4 * 2 * 3, standing.getGames()));
+        assertEquals(10 * 2 * 3, standings.stream().mapToDouble(TournamentStanding::getPoints).sum(), 1e-9);
+    }
+
+    @Test
+    public void givenTheSameSeed_whenPlayingOnOneOrFourThreads_thenTheResultsAreTheSame() throws Exception {
+        TournamentRunner runner = new TournamentRunner(12, 4, entrants("random", "greedy", "mcts:30"));
+        List<TournamentStanding> single = runner.run(TournamentRunner.Format.ROUND_ROBIN, 2, 10, 1, 3, null, null);
+        List<TournamentStanding> parallel = runner.run(TournamentRunner.Format.ROUND_ROBIN, 2, 10, 4, 3, null, null);
+        assertEquals(single.toString(), parallel.toString());
+    }
+
+    @Test
+    public void givenACheckpoint_whenATournamentIsInterrupted_thenTheRestartFinishesWithTheSameResults(@TempDir Path directory) throws Exception {
+        TournamentRunner runner = new TournamentRunner(12, 4, entrants("random", "greedy", "mcts:30", "random#2"));
+        List<TournamentStanding> uninterrupted = runner.run(TournamentRunner.Format.SWISS, 3, 5, 2, 11, null, null);
+
+        Path checkpoint = directory.resolve("tournament.txt");
+        assertThrows(IllegalStateException.class, () -> runner.run(TournamentRunner.Format.SWISS, 3, 5, 2, 11, checkpoint,
+                (rounds, standings) -> {
+                    throw new IllegalStateException("stopped after round " + rounds);
+                }));
+        List<Integer> resumedRounds = new ArrayList<>();
+        List<TournamentStanding> resumed = runner.run(TournamentRunner.Format.SWISS, 3, 5, 2, 11, checkpoint,
+                (rounds, standings) -> resumedRounds.add(rounds));
+        assertEquals(List.of(2, 3), resumedRounds);
+        assertEquals(uninterrupted.toString(), resumed.toString());
+
+        assertThrows(IllegalStateException.class, () -> runner.run(TournamentRunner.Format.SWISS, 4, 5, 2, 11, checkpoint, null));
+    }
+
+    @Test
+    public void givenSwissRounds_whenEveryoneCanStillMeetSomeoneNew_thenNoPairIsRepeated() throws Exception {
+        TournamentRunner runner = new TournamentRunner(12, 4, entrants("random", "greedy", "mcts:30", "random#2", "greedy#2", "mcts:10"));
+        TournamentResults results = new TournamentResults(List.of("a", "b", "c", "d", "e", "f"));
+        for (int round = 0; round < 3; round++) {
+            for (int[] pairing : runner.swissPairings(results)) {
+                assertEquals(0, results.getGames(pairing[0], pairing[1]));
+                results.recordGame(pairing[0], pairing[1], pairing[0] < pairing[1] ? 2 : 0);
+            }
+        }
+    }
+
+    @Test
+    public void givenResults_whenRating_thenTheStrongerEntrantIsAheadAndMoreGamesNarrowTheInterval() {
+        TournamentResults few = new TournamentResults(List.of("strong", "weak"));
+        TournamentResults many = new TournamentResults(List.of("strong", "weak"));
+        for (int game = 0; game < 100; game++) {
+            int strongHalfPoints = game % 4 == 0 ? 0 : 2;
+            if (game < 20) {
+                few.recordGame(0, 1, strongHalfPoints);
+            }
+            many.recordGame(0, 1, strongHalfPoints);
+        }
+        List<TournamentStanding> fewStandings = EloRatings.compute(few);
+        List<TournamentStanding> manyStandings = EloRatings.compute(many);
+        assertEquals("strong", manyStandings.get(0).getName());
+        assertEquals(2 * EloRatings.MEAN_RATING, manyStandings.get(0).getElo() + manyStandings.get(1).getElo(), 1e-6);
+        assertTrue(manyStandings.get(0).getEloError() < fewStandings.get(0).getEloError());
+
+        TournamentResults even = new TournamentResults(List.of("a", "b"));
+        even.recordGame(0, 1, 2);
+        even.recordGame(0, 1, 0);
+        even.recordGame(0, 1, 1);
+        EloRatings.compute(even).forEach(standing -> assertEquals(EloRatings.MEAN_RATING, standing.getElo(), 1e-6));
+    }
+
+    private Map<String, Supplier<SimulationStrategy>> entrants(String... names) {
+        Map<String, Supplier<SimulationStrategy>> entrants = new LinkedHashMap<>();
+        for (String name : names) {
+            entrants.put(name, SimulationStrategy.named(name.split("#")[0]));
+        }
+        return entrants;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bol.games.mancala.wire;
+
+import com.bol.games.mancala.model.MancalaGameState;
+import com.bol.games.mancala.rules.MoveValidation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MancalaBinaryCodecTest {
+
+    @Test
+    public void givenARunningGame_whenEncodingAndDecoding_thenTheStateSurvives() {
+        MancalaGameState state = state(new int[]{6, 6, 0, 7, 7, 7, 1, 7, 6, 6, 6, 6, 6, 0}, 1, false, -1, 0);
+        MancalaGameState decoded = MancalaBinaryCodec.decode(MancalaBinaryCodec.encode(state));
+        assertEquals(state, decoded);
+    }
+
+    @Test
+    public void givenAFinishedGameWithLargePits_whenEncodingAndDecoding_thenTheWinnerAndScoreSurvive() {
+        int[] board = new int[30];
+        board[14] = 200;
+        board[29] = 100_000;
+        MancalaGameState state = state(board, 0, true, 1, 100_000);
+        MancalaGameState decoded = MancalaBinaryCodec.decode(MancalaBinaryCodec.encode(state));
+        assertArrayEquals(board, decoded.getBoard());
+        assertTrue(decoded.isFinished());
+        assertEquals(1, decoded.getWinningPlayer());
+        assertEquals(100_000, decoded.getWinningPlayerScore());
+    }
+
+    @Test
+    public void givenARejectedHand_whenEncodingAndDecoding_thenTheReasonSurvives() {
+        MancalaGameState state = state(new int[]{4, 4, 0, 4, 4, 0}, 0, false, -1, 0);
+        state.setRejection(MoveValidation.OPPONENT_PIT);
+        MancalaGameState decoded = MancalaBinaryCodec.decode(MancalaBinaryCodec.encode(state));
+        assertEquals(MoveValidation.OPPONENT_PIT, decoded.getRejection());
+        assertEquals(MoveValidation.OPPONENT_PIT.getMessage(), decoded.getMessage());
+    }
+
+    @Test
+    public void givenTheDefaultBoard_whenEncoding_thenItIsAFractionOfTheJsonSize() throws Exception {
+        int[] board = {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0};
+        MancalaGameState state = state(board, 0, false, -1, 0);
+        byte[] binary = MancalaBinaryCodec.encode(state);
+        byte[] json = new ObjectMapper().writeValueAsBytes(state);
+        assertEquals(16, binary.length);
+        assertTrue(binary.length * 5 < json.length, binary.length + " vs " + json.length);
+    }
+
+    @Test
+    public void givenMalformedInput_whenDecoding_thenItIsRejected() {
+        byte[] encoded = MancalaBinaryCodec.encode(state(new int[]{4, 4, 0, 4, 4, 0}, 0, false, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> MancalaBinaryCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> MancalaBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> MancalaBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> MancalaBinaryCodec.decode(new byte[]{(byte) 0x80, 0}));
+        assertThrows(IllegalArgumentException.class, () -> MancalaBinaryCodec.decode(new byte[]{0, (byte) 0xFF, (byte) 0xFF, 0x7F}));
+    }
+
+    private static MancalaGameState state(int[] board, int turnPlayer, boolean finished, int winner, int score) {
+        return MancalaGameState.builder()
+                .board(board)
+                .turnPlayer(turnPlayer)
+                .isFinished(finished)
+                .winningPlayer(winner)
+                .winningPlayerScore(score)
+                .message("")
+                .build();
+    }
+}